@@ -0,0 +1,87 @@
+package com.emporio.pet.benchmarks;
+
+import com.emporio.pet.config.SchedulingConfig;
+import com.emporio.pet.services.scheduling.BookedInterval;
+import com.emporio.pet.services.scheduling.DayBitmap;
+import com.emporio.pet.services.scheduling.EmployeeAssignmentStrategy;
+import com.emporio.pet.services.scheduling.EmployeeLoad;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latência da decisão de designação automática (agregação da carga + escolha) conforme o quadro de funcionários cresce.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AssignmentStrategyBenchmark {
+
+    private static final LocalDate DAY = LocalDate.of(2030, 1, 7);
+    private static final DayBitmap WORKDAY = DayBitmap.open(8 * 60, 18 * 60).occupy(12 * 60, 13 * 60);
+    private static final int BUFFER_MINUTES = 15;
+    private static final int SLOT_START = 16 * 60;
+    private static final int SLOT_END = SLOT_START + 30;
+
+    @Param({"5", "20", "80", "320"})
+    public int employees;
+
+    @Param({"least-booked", "round-robin", "best-fit"})
+    public String strategy;
+
+    private EmployeeAssignmentStrategy assignmentStrategy;
+    private List<Long> employeeIds;
+    private List<BookedInterval> intervals;
+    private List<EmployeeLoad> candidates;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        assignmentStrategy = new SchedulingConfig().employeeAssignmentStrategy(strategy);
+        employeeIds = new ArrayList<>();
+        for (long id = 1; id <= employees; id++) {
+            employeeIds.add(id);
+        }
+        intervals = ScheduleFixtures.bookedDay(DAY, employeeIds, 6, new Random(42));
+        candidates = freeCandidates();
+    }
+
+    @Benchmark
+    public EmployeeLoad aggregateAndSelect() {
+        return assignmentStrategy.select(freeCandidates(), SLOT_START, SLOT_END);
+    }
+
+    @Benchmark
+    public EmployeeLoad selectOnly() {
+        return assignmentStrategy.select(candidates, SLOT_START, SLOT_END);
+    }
+
+    private List<EmployeeLoad> freeCandidates() {
+        Map<Long, EmployeeLoad> loads = EmployeeLoad.aggregate(employeeIds, intervals, DAY, employeeId -> WORKDAY, BUFFER_MINUTES);
+        List<EmployeeLoad> free = new ArrayList<>(loads.size());
+        for (EmployeeLoad load : loads.values()) {
+            if (load.getFreeTime().isFree(SLOT_START, SLOT_END)) {
+                free.add(load);
+            }
+        }
+        return free;
+    }
+}
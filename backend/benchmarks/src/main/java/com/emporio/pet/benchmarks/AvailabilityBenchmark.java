@@ -0,0 +1,165 @@
+package com.emporio.pet.benchmarks;
+
+import com.emporio.pet.entities.Employee;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.emporio.pet.entities.Services;
+import com.emporio.pet.repositories.AppointmentRepository;
+import com.emporio.pet.repositories.CustomerRepository;
+import com.emporio.pet.repositories.EmployeeRepository;
+import com.emporio.pet.repositories.PetRepository;
+import com.emporio.pet.repositories.ServiceRepository;
+import com.emporio.pet.repositories.WorkingHoursRuleRepository;
+import com.emporio.pet.services.AppointmentService;
+import com.emporio.pet.services.WorkingCalendarService;
+import com.emporio.pet.services.scheduling.BookedInterval;
+import com.emporio.pet.services.scheduling.BookingLocks;
+import com.emporio.pet.services.scheduling.EmployeeScheduleCache;
+import com.emporio.pet.services.scheduling.LeastBookedAssignmentStrategy;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caminhos de agenda do AppointmentService executados sem Spring, com repositórios em memória:
+ * disponibilidade de um dia, de 30 dias e a designação automática de funcionário para um horário.
+ * {@code cache=cold} força a releitura do "banco" a cada chamada (TTL zero).
+ * Os métodos {@code *Json} incluem a serialização, comparando a resposta em LocalDateTime com o formato compacto;
+ * rode com {@code -prof gc} para ver a alocação por requisição.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AvailabilityBenchmark {
+
+    private static final int DAYS = 30;
+
+    @Param({"SMALL_SHOP", "NEIGHBORHOOD", "CHAIN", "FRANCHISE"})
+    public FixtureScale scale;
+
+    @Param({"warm", "cold"})
+    public String cache;
+
+    private final ObjectMapper objectMapper = JsonMapper.builder()
+            .addModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+
+    private AppointmentService appointmentService;
+    private MethodHandle findAvailableEmployeeForSlot;
+    private Services service;
+    private LocalDate firstDay;
+    private LocalDateTime slot;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        firstDay = LocalDate.now().plusDays(1);
+        DomainFixtures fixtures = DomainFixtures.build(scale, firstDay, DAYS, 42);
+        service = fixtures.services.get(1);
+
+        Map<Long, List<BookedInterval>> intervalsByEmployee = new HashMap<>();
+        for (BookedInterval interval : fixtures.bookedIntervals()) {
+            intervalsByEmployee.computeIfAbsent(interval.getEmployeeId(), id -> new ArrayList<>()).add(interval);
+        }
+
+        AppointmentRepository appointmentRepository = RepositoryStubs.stub(AppointmentRepository.class, Map.of(
+                "findBookedIntervals", args -> findBookedIntervals(intervalsByEmployee, (Collection<?>) args[0],
+                        (LocalDateTime) args[1], (LocalDateTime) args[2])));
+        ServiceRepository serviceRepository = RepositoryStubs.stub(ServiceRepository.class, Map.of(
+                "findByIdWithQualifiedEmployees", args -> Optional.of(service)));
+        EmployeeRepository employeeRepository = RepositoryStubs.stub(EmployeeRepository.class, Map.of());
+        PetRepository petRepository = RepositoryStubs.stub(PetRepository.class, Map.of());
+        CustomerRepository customerRepository = RepositoryStubs.stub(CustomerRepository.class, Map.of());
+        WorkingHoursRuleRepository ruleRepository = RepositoryStubs.stub(WorkingHoursRuleRepository.class, Map.of(
+                "findAll", args -> List.of()));
+        WorkingCalendarService workingCalendar = new WorkingCalendarService(ruleRepository, employeeRepository,
+                "08:00", "18:00", "12:00", "13:00", 15, 100_000);
+
+        long ttlSeconds = "warm".equals(cache) ? 3600 : 0;
+        EmployeeScheduleCache scheduleCache = new EmployeeScheduleCache(appointmentRepository, new SimpleMeterRegistry(),
+                100_000, ttlSeconds);
+        appointmentService = new AppointmentService(appointmentRepository, serviceRepository, employeeRepository, null,
+                petRepository, customerRepository, scheduleCache, new BookingLocks(16, 1000), new LeastBookedAssignmentStrategy(),
+                workingCalendar, null, null, null);
+
+        // Horário livre para ao menos um funcionário, no meio da lista do primeiro dia
+        List<LocalDateTime> times = appointmentService.findAvailableTimes(service.getId(), firstDay, null);
+        slot = times.isEmpty() ? firstDay.atTime(17, 0) : times.get(times.size() / 2);
+
+        findAvailableEmployeeForSlot = MethodHandles.privateLookupIn(AppointmentService.class, MethodHandles.lookup())
+                .findVirtual(AppointmentService.class, "findAvailableEmployeeForSlot",
+                        MethodType.methodType(Employee.class, Services.class, LocalDateTime.class));
+    }
+
+    @Benchmark
+    public List<LocalDateTime> availableTimesOneDay() {
+        return appointmentService.findAvailableTimes(service.getId(), firstDay, null);
+    }
+
+    @Benchmark
+    public Map<LocalDate, List<LocalDateTime>> availableTimesThirtyDays() {
+        return appointmentService.findAvailableTimesInRange(service.getId(), firstDay, firstDay.plusDays(DAYS - 1), null);
+    }
+
+    @Benchmark
+    public Map<LocalDate, int[]> availableMinutesThirtyDays() {
+        return appointmentService.findAvailableMinutesInRange(service.getId(), firstDay, firstDay.plusDays(DAYS - 1), null);
+    }
+
+    @Benchmark
+    public byte[] thirtyDaysAsDateTimesJson() throws Exception {
+        return objectMapper.writeValueAsBytes(availableTimesThirtyDays());
+    }
+
+    @Benchmark
+    public byte[] thirtyDaysCompactJson() throws Exception {
+        return objectMapper.writeValueAsBytes(appointmentService.findCompactAvailability(service.getId(), firstDay,
+                firstDay.plusDays(DAYS - 1), null));
+    }
+
+    @Benchmark
+    public Employee availableEmployeeForSlot() throws Throwable {
+        return (Employee) findAvailableEmployeeForSlot.invoke(appointmentService, service, slot);
+    }
+
+    private static List<BookedInterval> findBookedIntervals(Map<Long, List<BookedInterval>> intervalsByEmployee,
+                                                            Collection<?> employeeIds, LocalDateTime start, LocalDateTime end) {
+        List<BookedInterval> result = new ArrayList<>();
+        for (Object employeeId : employeeIds) {
+            for (BookedInterval interval : intervalsByEmployee.getOrDefault((Long) employeeId, List.of())) {
+                if (interval.getStart().isBefore(end) && interval.getEnd().isAfter(start)) {
+                    result.add(interval);
+                }
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,33 @@
+package com.emporio.pet.benchmarks;
+
+import java.util.Random;
+
+/**
+ * Nomes, CPFs e telefones sintéticos com a distribuição de nomes comuns no Brasil (muitos Silva, Maria, José).
+ */
+final class CustomerNames {
+
+    private static final String[] FIRST_NAMES = {"Maria", "José", "Ana", "João", "Antônio", "Francisca", "Carlos", "Paulo",
+            "Adriana", "Lucas", "Juliana", "Márcia", "Fernanda", "Rafael", "Letícia", "Gabriel", "Beatriz", "Thiago",
+            "Camila", "Bruno", "Larissa", "Eduardo", "Patrícia", "Rodrigo", "Aline", "Felipe", "Vanessa", "Gustavo"};
+    private static final String[] SURNAMES = {"Silva", "Santos", "Oliveira", "Souza", "Rodrigues", "Ferreira", "Alves",
+            "Pereira", "Lima", "Gomes", "Costa", "Ribeiro", "Martins", "Carvalho", "Araújo", "Melo", "Barbosa", "Cardoso",
+            "Rocha", "Dias", "Nascimento", "Andrade", "Moreira", "Nunes", "Marques", "Machado", "Mendes", "Freitas",
+            "Vieira", "Monteiro", "Cavalcanti", "Figueiredo", "Albuquerque", "Brandão", "Queiroz", "Teixeira"};
+
+    private CustomerNames() {
+    }
+
+    static String name(Random random) {
+        return FIRST_NAMES[random.nextInt(FIRST_NAMES.length)] + " "
+                + SURNAMES[random.nextInt(SURNAMES.length)] + " " + SURNAMES[random.nextInt(SURNAMES.length)];
+    }
+
+    static String cpf(Random random) {
+        return String.format("%011d", Math.floorMod(random.nextLong(), 100_000_000_000L));
+    }
+
+    static String phone(Random random) {
+        return "119" + String.format("%08d", random.nextInt(100_000_000));
+    }
+}
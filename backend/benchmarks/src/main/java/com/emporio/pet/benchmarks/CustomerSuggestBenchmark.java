@@ -0,0 +1,79 @@
+package com.emporio.pet.benchmarks;
+
+import com.emporio.pet.services.search.CustomerSuggestIndex;
+import com.emporio.pet.services.search.CustomerSuggestIndex.Suggestion;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Autocompletar de clientes ({@code GET /customers/suggest}) sobre o {@link CustomerSuggestIndex} com 500 mil
+ * clientes carregados e 500 alterados desde a carga (ainda na camada de alterações), e o custo de uma alteração.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+@State(Scope.Benchmark)
+public class CustomerSuggestBenchmark {
+
+    private static final int LIMIT = 10;
+    private static final int CHANGED = 500;
+
+    /**
+     * O que o operador digita: uma letra, começo de nome, sobrenome, nome e inicial do sobrenome, começo de telefone.
+     */
+    @Param({"m", "mar", "silva", "leticia q", "1192"})
+    public String term;
+
+    @Param({"500000"})
+    public int customers;
+
+    private CustomerSuggestIndex index;
+    private Random random;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        random = new Random(42);
+        List<Suggestion> rows = new ArrayList<>(customers);
+        for (long id = 1; id <= customers; id++) {
+            rows.add(new Suggestion(id, CustomerNames.name(random), CustomerNames.cpf(random), CustomerNames.phone(random)));
+        }
+        index = new CustomerSuggestIndex();
+        index.load(() -> rows);
+        for (int i = 0; i < CHANGED; i++) {
+            index.put(new Suggestion((long) random.nextInt(customers) + 1, CustomerNames.name(random),
+                    CustomerNames.cpf(random), CustomerNames.phone(random)));
+        }
+    }
+
+    @Benchmark
+    public List<Suggestion> suggest() {
+        return index.suggest(term, LIMIT);
+    }
+
+    /**
+     * Cadastro de um cliente novo; inclui, a cada fusão da camada de alterações, a reconstrução da base.
+     */
+    @Benchmark
+    public int put() {
+        index.put(new Suggestion((long) customers + ++next, "Cliente Novo " + next, CustomerNames.cpf(random), CustomerNames.phone(random)));
+        return index.size();
+    }
+}
@@ -0,0 +1,82 @@
+package com.emporio.pet.benchmarks;
+
+import com.emporio.pet.entities.Appointment;
+import com.emporio.pet.entities.Invoice;
+import com.emporio.pet.entities.enums.InvoiceStatus;
+import com.emporio.pet.services.DashboardService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Agregação no estilo dos KPIs do dashboard: contagens de hoje/ontem e faturamento pago do mês/mês anterior,
+ * com a variação percentual de cada par calculada por {@link DashboardService#calculatePercentageChange}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DashboardAggregationBenchmark {
+
+    @Param({"SMALL_SHOP", "NEIGHBORHOOD", "CHAIN", "FRANCHISE"})
+    public FixtureScale scale;
+
+    private List<Appointment> appointments;
+    private List<Invoice> invoices;
+    private LocalDate today;
+    private Instant startOfMonth;
+    private Instant startOfLastMonth;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        today = LocalDate.now();
+        DomainFixtures fixtures = DomainFixtures.build(scale, today.minusDays(1), 2, 42);
+        appointments = fixtures.appointments;
+        invoices = fixtures.invoices;
+        startOfMonth = DomainFixtures.startOfMonth(today);
+        startOfLastMonth = DomainFixtures.startOfMonth(today.minusMonths(1));
+    }
+
+    @Benchmark
+    public double[] kpis() {
+        int appointmentsToday = 0;
+        int appointmentsYesterday = 0;
+        LocalDate yesterday = today.minusDays(1);
+        for (Appointment appointment : appointments) {
+            LocalDate day = appointment.getStartDateTime().toLocalDate();
+            if (day.equals(today)) appointmentsToday++;
+            else if (day.equals(yesterday)) appointmentsYesterday++;
+        }
+
+        BigDecimal revenueThisMonth = BigDecimal.ZERO;
+        BigDecimal revenueLastMonth = BigDecimal.ZERO;
+        for (Invoice invoice : invoices) {
+            if (invoice.getStatus() != InvoiceStatus.PAID) continue;
+            Instant timestamp = invoice.getTimestamp();
+            if (!timestamp.isBefore(startOfMonth)) revenueThisMonth = revenueThisMonth.add(invoice.getTotalAmount());
+            else if (!timestamp.isBefore(startOfLastMonth)) revenueLastMonth = revenueLastMonth.add(invoice.getTotalAmount());
+        }
+
+        return new double[]{
+                DashboardService.calculatePercentageChange(appointmentsYesterday, appointmentsToday),
+                DashboardService.calculatePercentageChange(revenueLastMonth, revenueThisMonth)
+        };
+    }
+}
@@ -0,0 +1,146 @@
+package com.emporio.pet.benchmarks;
+
+import com.emporio.pet.entities.Appointment;
+import com.emporio.pet.entities.Breed;
+import com.emporio.pet.entities.Customer;
+import com.emporio.pet.entities.Employee;
+import com.emporio.pet.entities.Invoice;
+import com.emporio.pet.entities.Pet;
+import com.emporio.pet.entities.Role;
+import com.emporio.pet.entities.Services;
+import com.emporio.pet.entities.User;
+import com.emporio.pet.entities.enums.AppointmentStatus;
+import com.emporio.pet.entities.enums.InvoiceStatus;
+import com.emporio.pet.entities.enums.Species;
+import com.emporio.pet.entities.enums.UserStatus;
+import com.emporio.pet.services.scheduling.BookedInterval;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Grafo de entidades sintético (serviços, funcionários, clientes, pets, agendamentos e faturas) montado em memória,
+ * sem banco e sem Spring, no tamanho indicado por {@link FixtureScale}.
+ */
+final class DomainFixtures {
+
+    private static final int[] DURATIONS = {20, 30, 60, 90};
+
+    final List<Services> services = new ArrayList<>();
+    final List<Employee> employees = new ArrayList<>();
+    final List<Customer> customers = new ArrayList<>();
+    final List<Appointment> appointments = new ArrayList<>();
+    final List<Invoice> invoices = new ArrayList<>();
+
+    private DomainFixtures() {
+    }
+
+    /**
+     * Monta a massa com agendamentos em {@code days} dias a partir de {@code firstDay} e faturas pagas
+     * espalhadas pelos últimos dois meses.
+     */
+    static DomainFixtures build(FixtureScale scale, LocalDate firstDay, int days, long seed) {
+        Random random = new Random(seed);
+        DomainFixtures fixtures = new DomainFixtures();
+        Role clientRole = new Role(1L, "ROLE_CLIENT");
+        Role employeeRole = new Role(2L, "ROLE_EMPLOYEE");
+        Breed breed = new Breed(1L, "SRD", Species.CACHORRO);
+
+        for (int i = 0; i < DURATIONS.length; i++) {
+            fixtures.services.add(new Services((long) i + 1, "Serviço " + (i + 1), "Descrição do serviço " + (i + 1),
+                    BigDecimal.valueOf(50 + 25L * i), DURATIONS[i]));
+        }
+
+        long userId = 1;
+        for (int i = 0; i < scale.getEmployees(); i++) {
+            Employee employee = new Employee();
+            fillUser(employee, userId++, "Funcionário " + i, employeeRole);
+            employee.setJobTitle("Tosador");
+            for (Services service : fixtures.services) {
+                employee.getSkilledServices().add(service);
+                service.getQualifiedEmployees().add(employee);
+            }
+            fixtures.employees.add(employee);
+        }
+
+        long petId = 1;
+        for (int i = 0; i < scale.getCustomers(); i++) {
+            Customer customer = new Customer();
+            fillUser(customer, userId++, "Cliente " + i, clientRole);
+            customer.setCpf(String.format("%011d", i));
+            int pets = 1 + random.nextInt(2);
+            for (int p = 0; p < pets; p++) {
+                customer.getPets().add(new Pet(petId++, "Pet " + i + "-" + p, LocalDate.of(2020, 1, 1), null, customer, breed));
+            }
+            fixtures.customers.add(customer);
+        }
+
+        long appointmentId = 1;
+        for (int d = 0; d < days; d++) {
+            LocalDate day = firstDay.plusDays(d);
+            for (Employee employee : fixtures.employees) {
+                LocalDateTime cursor = day.atTime(8, 0);
+                for (int a = 0; a < scale.getAppointmentsPerEmployeeDay(); a++) {
+                    Services service = fixtures.services.get(random.nextInt(fixtures.services.size()));
+                    cursor = cursor.plusMinutes(15L * random.nextInt(3));
+                    LocalDateTime end = cursor.plusMinutes(service.getEstimatedDurationInMinutes());
+                    if (end.isAfter(day.atTime(18, 0))) {
+                        break;
+                    }
+                    Customer customer = fixtures.customers.get(random.nextInt(fixtures.customers.size()));
+                    Pet pet = customer.getPets().get(0);
+                    fixtures.appointments.add(new Appointment(appointmentId++, cursor, end, AppointmentStatus.SCHEDULED,
+                            service.getPrice(), pet, service, employee, null));
+                    cursor = end.plusMinutes(15);
+                }
+            }
+        }
+
+        Instant now = Instant.now();
+        int invoiceCount = Math.max(1, scale.getCustomers() / 2);
+        for (int i = 0; i < invoiceCount; i++) {
+            Customer customer = fixtures.customers.get(random.nextInt(fixtures.customers.size()));
+            Invoice invoice = new Invoice((long) i + 1, customer, now.minusSeconds(random.nextInt(60 * 24 * 3600)),
+                    BigDecimal.ZERO, InvoiceStatus.PAID);
+            int lines = 1 + random.nextInt(3);
+            BigDecimal total = BigDecimal.ZERO;
+            for (int l = 0; l < lines && !fixtures.appointments.isEmpty(); l++) {
+                Appointment appointment = fixtures.appointments.get(random.nextInt(fixtures.appointments.size()));
+                invoice.getAppointments().add(appointment);
+                total = total.add(appointment.getChargedAmount());
+            }
+            invoice.setTotalAmount(total);
+            fixtures.invoices.add(invoice);
+        }
+        return fixtures;
+    }
+
+    List<BookedInterval> bookedIntervals() {
+        List<BookedInterval> intervals = new ArrayList<>(appointments.size());
+        for (Appointment appointment : appointments) {
+            intervals.add(new BookedInterval(appointment.getId(), appointment.getEmployee().getId(),
+                    appointment.getStartDateTime(), appointment.getEndDateTime()));
+        }
+        return intervals;
+    }
+
+    private static void fillUser(User user, long id, String name, Role role) {
+        user.setId(id);
+        user.setName(name);
+        user.setEmail("user" + id + "@example.com");
+        user.setPhone("(71) 90000-0000");
+        user.setBirthDate(LocalDate.of(1990, 1, 1));
+        user.setUserStatus(UserStatus.NON_BLOCKED);
+        user.addRole(role);
+    }
+
+    static Instant startOfMonth(LocalDate date) {
+        return date.withDayOfMonth(1).atStartOfDay(ZoneId.systemDefault()).toInstant();
+    }
+}
@@ -0,0 +1,68 @@
+package com.emporio.pet.benchmarks;
+
+import com.emporio.pet.dto.AppointmentDTO;
+import com.emporio.pet.dto.InvoiceDTO;
+import com.emporio.pet.entities.Appointment;
+import com.emporio.pet.entities.Invoice;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Custo de montar as páginas de resposta (20 itens) de agendamentos e de faturas a partir das entidades.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DtoBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+
+    @Param({"SMALL_SHOP", "FRANCHISE"})
+    public FixtureScale scale;
+
+    private List<Appointment> appointmentPage;
+    private List<Invoice> invoicePage;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        DomainFixtures fixtures = DomainFixtures.build(scale, LocalDate.now(), 1, 42);
+        appointmentPage = new ArrayList<>(fixtures.appointments.subList(0, Math.min(PAGE_SIZE, fixtures.appointments.size())));
+        invoicePage = new ArrayList<>(fixtures.invoices.subList(0, Math.min(PAGE_SIZE, fixtures.invoices.size())));
+    }
+
+    @Benchmark
+    public List<AppointmentDTO> appointmentPage() {
+        List<AppointmentDTO> page = new ArrayList<>(appointmentPage.size());
+        for (Appointment appointment : appointmentPage) {
+            page.add(new AppointmentDTO(appointment));
+        }
+        return page;
+    }
+
+    @Benchmark
+    public List<InvoiceDTO> invoicePage() {
+        List<InvoiceDTO> page = new ArrayList<>(invoicePage.size());
+        for (Invoice invoice : invoicePage) {
+            page.add(new InvoiceDTO(invoice));
+        }
+        return page;
+    }
+}
@@ -0,0 +1,34 @@
+package com.emporio.pet.benchmarks;
+
+/**
+ * Tamanhos das massas sintéticas, de um pet shop pequeno até uma franquia.
+ */
+public enum FixtureScale {
+
+    SMALL_SHOP(3, 6, 150),
+    NEIGHBORHOOD(10, 8, 800),
+    CHAIN(40, 8, 5_000),
+    FRANCHISE(200, 10, 40_000);
+
+    private final int employees;
+    private final int appointmentsPerEmployeeDay;
+    private final int customers;
+
+    FixtureScale(int employees, int appointmentsPerEmployeeDay, int customers) {
+        this.employees = employees;
+        this.appointmentsPerEmployeeDay = appointmentsPerEmployeeDay;
+        this.customers = customers;
+    }
+
+    public int getEmployees() {
+        return employees;
+    }
+
+    public int getAppointmentsPerEmployeeDay() {
+        return appointmentsPerEmployeeDay;
+    }
+
+    public int getCustomers() {
+        return customers;
+    }
+}
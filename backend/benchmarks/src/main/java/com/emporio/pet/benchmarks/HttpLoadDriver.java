@@ -0,0 +1,203 @@
+package com.emporio.pet.benchmarks;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Gerador de carga HTTP em malha fechada contra a aplicação em execução (perfil H2).
+ * Cada cliente é uma virtual thread que repete a requisição do cenário até o fim da medição;
+ * só as respostas recebidas dentro da janela de medição contam. Ao final imprime vazão, p50/p99/máximo
+ * e erros, e opcionalmente grava o resumo em JSON.
+ * <p>
+ * Uso: {@code java -cp target/benchmarks.jar com.emporio.pet.benchmarks.HttpLoadDriver
+ * --scenario=availability --clients=500 --warmup=10 --duration=30 --json=platform.json}
+ */
+public class HttpLoadDriver {
+
+    private static final Pattern TOKEN = Pattern.compile("\"token\"\\s*:\\s*\"([^\"]+)\"");
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parse(args);
+        String baseUrl = options.getOrDefault("url", "http://localhost:8080");
+        String scenario = options.getOrDefault("scenario", "availability");
+        int clients = Integer.parseInt(options.getOrDefault("clients", "500"));
+        int warmupSeconds = Integer.parseInt(options.getOrDefault("warmup", "10"));
+        int durationSeconds = Integer.parseInt(options.getOrDefault("duration", "30"));
+        String email = options.getOrDefault("email", "maria@gmail.com");
+        String password = options.getOrDefault("password", "12345678");
+        long serviceId = Long.parseLong(options.getOrDefault("service-id", "2"));
+
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+
+        HttpRequest login = HttpRequest.newBuilder(URI.create(baseUrl + "/auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"email\":\"" + email + "\",\"password\":\"" + password + "\"}"))
+                .timeout(Duration.ofSeconds(60))
+                .build();
+
+        HttpRequest request = switch (scenario) {
+            case "login" -> login;
+            case "availability" -> {
+                String token = extractToken(client.send(login, HttpResponse.BodyHandlers.ofString()).body());
+                String date = LocalDate.now().plusDays(7).toString();
+                yield HttpRequest.newBuilder(URI.create(baseUrl + "/appointments/availability?serviceId=" + serviceId + "&date=" + date))
+                        .header("Authorization", "Bearer " + token)
+                        .timeout(Duration.ofSeconds(60))
+                        .GET()
+                        .build();
+            }
+            default -> throw new IllegalArgumentException("Cenário desconhecido: " + scenario + " (use availability ou login)");
+        };
+
+        System.out.printf("Cenário %s, %d clientes, aquecimento %ds, medição %ds%n", scenario, clients, warmupSeconds, durationSeconds);
+        run(client, request, clients, warmupSeconds, null);
+        Result result = run(client, request, clients, durationSeconds, scenario);
+        System.out.println(result.summary());
+        if (options.containsKey("json")) {
+            Files.writeString(Path.of(options.get("json")), result.toJson());
+        }
+    }
+
+    private static Result run(HttpClient client, HttpRequest request, int clients, int seconds, String scenario) throws InterruptedException {
+        AtomicBoolean running = new AtomicBoolean(true);
+        long deadline = System.nanoTime() + seconds * 1_000_000_000L;
+        CountDownLatch done = new CountDownLatch(clients);
+        Recorder[] recorders = new Recorder[clients];
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < clients; i++) {
+                Recorder recorder = recorders[i] = new Recorder();
+                executor.submit(() -> {
+                    try {
+                        while (running.get()) {
+                            long start = System.nanoTime();
+                            boolean ok;
+                            try {
+                                HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                                ok = response.statusCode() < 400;
+                            } catch (IOException e) {
+                                ok = false;
+                            }
+                            long end = System.nanoTime();
+                            // Respostas que chegam depois do fim da janela não entram na medição
+                            if (end - deadline <= 0) {
+                                recorder.record(end - start, ok);
+                            }
+                        }
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    } finally {
+                        done.countDown();
+                    }
+                });
+            }
+            Thread.sleep(seconds * 1000L);
+            running.set(false);
+            done.await();
+            return Result.of(scenario, clients, seconds * 1_000_000_000L, recorders);
+        }
+    }
+
+    private static String extractToken(String body) {
+        Matcher matcher = TOKEN.matcher(body);
+        if (!matcher.find()) {
+            throw new IllegalStateException("Login falhou: " + body);
+        }
+        return matcher.group(1);
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Opção inválida: " + arg + " (formato --nome=valor)");
+            }
+            options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+        }
+        return options;
+    }
+
+    /**
+     * Latências de um único cliente; sem sincronização porque só a própria virtual thread escreve.
+     */
+    private static final class Recorder {
+
+        private long[] latencies = new long[1024];
+        private int count;
+        private int errors;
+
+        void record(long nanos, boolean ok) {
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = nanos;
+            if (!ok) {
+                errors++;
+            }
+        }
+    }
+
+    private record Result(String scenario, int clients, long elapsedNanos, long requests, long errors,
+                          double p50Millis, double p99Millis, double maxMillis) {
+
+        static Result of(String scenario, int clients, long elapsedNanos, Recorder[] recorders) {
+            int total = 0;
+            long errors = 0;
+            for (Recorder recorder : recorders) {
+                total += recorder.count;
+                errors += recorder.errors;
+            }
+            long[] all = new long[total];
+            int offset = 0;
+            for (Recorder recorder : recorders) {
+                System.arraycopy(recorder.latencies, 0, all, offset, recorder.count);
+                offset += recorder.count;
+            }
+            Arrays.sort(all);
+            return new Result(scenario, clients, elapsedNanos, total, errors,
+                    percentile(all, 0.50), percentile(all, 0.99), total == 0 ? 0 : all[total - 1] / 1e6);
+        }
+
+        private static double percentile(long[] sorted, double quantile) {
+            if (sorted.length == 0) return 0;
+            int index = (int) Math.ceil(quantile * sorted.length) - 1;
+            return sorted[Math.max(0, index)] / 1e6;
+        }
+
+        double throughput() {
+            return requests / (elapsedNanos / 1e9);
+        }
+
+        String summary() {
+            return String.format(Locale.ROOT, "requisições=%d erros=%d vazão=%.1f req/s p50=%.1f ms p99=%.1f ms máx=%.1f ms",
+                    requests, errors, throughput(), p50Millis, p99Millis, maxMillis);
+        }
+
+        String toJson() {
+            return String.format(Locale.ROOT,
+                    "{\"scenario\":\"%s\",\"clients\":%d,\"requests\":%d,\"errors\":%d,\"throughput\":%.1f,\"p50Ms\":%.2f,\"p99Ms\":%.2f,\"maxMs\":%.2f}%n",
+                    scenario, clients, requests, errors, throughput(), p50Millis, p99Millis, maxMillis);
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.emporio.pet.benchmarks;
+
+import com.emporio.pet.services.scheduling.BookedInterval;
+import com.emporio.pet.services.scheduling.DayBitmap;
+import com.emporio.pet.services.scheduling.IntervalIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Verificação de sobreposição e cálculo de horários livres com o índice de intervalos, comparados à varredura linear
+ * por funcionário (abordagem anterior), de 5 funcionários × 10 agendamentos/dia até 200 × 60.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class IntervalIndexBenchmark {
+
+    private static final LocalDate DAY = LocalDate.of(2030, 1, 7);
+    private static final DayBitmap WORKDAY = DayBitmap.open(8 * 60, 18 * 60).occupy(12 * 60, 13 * 60);
+    private static final int BUFFER_MINUTES = 15;
+    private static final int QUERIES = 64;
+
+    @Param({"5", "50", "200"})
+    public int employees;
+
+    @Param({"10", "30", "60"})
+    public int appointmentsPerDay;
+
+    private List<Long> employeeIds;
+    private List<BookedInterval> intervals;
+    private Map<Long, IntervalIndex> indexes;
+    private LocalDateTime[] queryStarts;
+    private LocalDateTime[] queryEnds;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        employeeIds = new ArrayList<>();
+        for (long id = 1; id <= employees; id++) {
+            employeeIds.add(id);
+        }
+        intervals = ScheduleFixtures.denseDay(DAY, employeeIds, appointmentsPerDay, random);
+        indexes = IntervalIndex.byEmployee(intervals, BUFFER_MINUTES);
+        queryStarts = new LocalDateTime[QUERIES];
+        queryEnds = new LocalDateTime[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            queryStarts[i] = DAY.atTime(8, 0).plusMinutes(15L * random.nextInt(40));
+            queryEnds[i] = queryStarts[i].plusMinutes(30);
+        }
+    }
+
+    @Benchmark
+    public void overlapIndexed(Blackhole blackhole) {
+        for (int q = 0; q < QUERIES; q++) {
+            for (Long employeeId : employeeIds) {
+                blackhole.consume(indexes.get(employeeId).overlaps(queryStarts[q], queryEnds[q]));
+            }
+        }
+    }
+
+    @Benchmark
+    public void overlapLinearScan(Blackhole blackhole) {
+        for (int q = 0; q < QUERIES; q++) {
+            LocalDateTime start = queryStarts[q];
+            LocalDateTime end = queryEnds[q];
+            for (Long employeeId : employeeIds) {
+                blackhole.consume(intervals.stream()
+                        .filter(interval -> interval.getEmployeeId().equals(employeeId))
+                        .anyMatch(interval -> start.isBefore(interval.getEnd().plusMinutes(BUFFER_MINUTES)) && end.isAfter(interval.getStart())));
+            }
+        }
+    }
+
+    @Benchmark
+    public void freeTimeIndexed(Blackhole blackhole) {
+        Map<Long, IntervalIndex> built = IntervalIndex.byEmployee(intervals, BUFFER_MINUTES);
+        for (Long employeeId : employeeIds) {
+            blackhole.consume(built.get(employeeId).freeTime(DAY, WORKDAY));
+        }
+    }
+
+    @Benchmark
+    public void freeTimeOccupyScan(Blackhole blackhole) {
+        for (Long employeeId : employeeIds) {
+            DayBitmap free = WORKDAY.copy();
+            for (BookedInterval interval : intervals) {
+                if (interval.getEmployeeId().equals(employeeId)) {
+                    free.occupy(DayBitmap.minuteOfDay(DAY, interval.getStart()),
+                            DayBitmap.minuteOfDay(DAY, interval.getEnd().plusMinutes(BUFFER_MINUTES)));
+                }
+            }
+            blackhole.consume(free);
+        }
+    }
+}
@@ -0,0 +1,199 @@
+package com.emporio.pet.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Uma página (20 faturas) da busca de faturas em um H2 em memória com o mesmo esquema e índices de {@code tb_invoice}.
+ * {@code offsetPage} reproduz o SQL de {@code InvoiceRepository.findFiltered}: predicados {@code (? IS NULL OR ...)},
+ * OFFSET e a consulta de contagem a cada página. {@code keysetPage} reproduz {@code InvoiceService.search}:
+ * só os filtros informados e a posição (timestamp, id) da página anterior, sem contagem.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@State(Scope.Benchmark)
+public class InvoiceSearchBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+    private static final int CUSTOMERS = 20_000;
+    private static final long SPAN_SECONDS = 3L * 365 * 24 * 3600;
+
+    private static final String COLUMNS = "SELECT i.id, i.customer_id, i.status, i.timestamp, i.total_amount, c.cpf, u.name ";
+
+    private static final String OFFSET_FROM = "FROM tb_invoice i JOIN tb_customer c ON c.user_id = i.customer_id JOIN tb_user u ON u.id = c.user_id ";
+
+    private static final String KEYSET_FROM = "FROM tb_invoice i LEFT JOIN tb_customer c ON c.user_id = i.customer_id LEFT JOIN tb_user u ON u.id = c.user_id ";
+
+    private static final String OFFSET_FILTERS = "WHERE (? IS NULL OR i.customer_id = ?) " +
+            "AND (? IS NULL OR i.status = ?) ";
+
+    public enum Filter { NONE, STATUS, CUSTOMER }
+
+    @Param({"100000", "1000000"})
+    public int invoices;
+
+    @Param({"NONE", "STATUS", "CUSTOMER"})
+    public Filter filter;
+
+    /**
+     * Página pedida: 0 é a primeira; 50 equivale a rolar mil faturas.
+     */
+    @Param({"0", "50"})
+    public int page;
+
+    private Connection connection;
+    private PreparedStatement offsetQuery;
+    private PreparedStatement countQuery;
+    private PreparedStatement keysetQuery;
+    private Long customerId;
+    private String status;
+    private Timestamp afterTimestamp;
+    private long afterId;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        // Sem OPTIMIZE_REUSE_RESULTS o H2 devolveria o resultado anterior, já que os parâmetros se repetem a cada chamada.
+        connection = DriverManager.getConnection("jdbc:h2:mem:invoice_search_" + invoices + ";DB_CLOSE_DELAY=-1;OPTIMIZE_REUSE_RESULTS=FALSE");
+        try (Statement ddl = connection.createStatement()) {
+            ddl.execute("CREATE TABLE tb_user (id BIGINT PRIMARY KEY, name VARCHAR(255))");
+            ddl.execute("CREATE TABLE tb_customer (user_id BIGINT PRIMARY KEY REFERENCES tb_user(id), cpf VARCHAR(255))");
+            ddl.execute("CREATE TABLE tb_invoice (id BIGINT PRIMARY KEY, customer_id BIGINT NOT NULL, " +
+                    "timestamp TIMESTAMP(6) WITH TIME ZONE NOT NULL, total_amount NUMERIC(38,2) NOT NULL, status VARCHAR(255) NOT NULL)");
+            ddl.execute("INSERT INTO tb_user SELECT X, 'Cliente ' || X FROM SYSTEM_RANGE(1, " + CUSTOMERS + ")");
+            ddl.execute("INSERT INTO tb_customer SELECT X, LPAD(CAST(X * 7919 AS VARCHAR), 11, '0') FROM SYSTEM_RANGE(1, " + CUSTOMERS + ")");
+            // Faturas em ordem cronológica, espalhadas por três anos; ~10% aguardando pagamento e ~5% canceladas.
+            // O cliente 1 (um hotel para pets, por exemplo) concentra 2% das faturas para que o filtro por cliente tenha páginas profundas.
+            ddl.execute("INSERT INTO tb_invoice SELECT X, CASE WHEN MOD(X, 50) = 0 THEN 1 ELSE MOD(X * 31, " + CUSTOMERS + ") + 1 END, " +
+                    "DATEADD(SECOND, X * " + (SPAN_SECONDS / invoices) + ", TIMESTAMP WITH TIME ZONE '2022-01-01 00:00:00Z'), " +
+                    "50 + MOD(X, 400), CASE WHEN MOD(X, 20) < 2 THEN 'AWAITING_PAYMENT' WHEN MOD(X, 20) = 2 THEN 'CANCELED' ELSE 'PAID' END " +
+                    "FROM SYSTEM_RANGE(1, " + invoices + ")");
+            ddl.execute("CREATE INDEX idx_invoice_timestamp_id ON tb_invoice (timestamp, id)");
+            ddl.execute("CREATE INDEX idx_invoice_status_timestamp_id ON tb_invoice (status, timestamp, id)");
+            ddl.execute("CREATE INDEX idx_invoice_customer_timestamp_id ON tb_invoice (customer_id, timestamp, id)");
+            // Como no hbm2ddl, a FK vem depois dos índices; o H2 então reaproveita o índice composto em vez de criar um próprio.
+            ddl.execute("ALTER TABLE tb_invoice ADD FOREIGN KEY (customer_id) REFERENCES tb_customer(user_id)");
+            ddl.execute("ANALYZE");
+        }
+
+        customerId = filter == Filter.CUSTOMER ? 1L : null;
+        status = filter == Filter.STATUS ? "AWAITING_PAYMENT" : null;
+
+        offsetQuery = connection.prepareStatement(COLUMNS + OFFSET_FROM + OFFSET_FILTERS +
+                "ORDER BY i.timestamp DESC, i.id DESC OFFSET ? ROWS FETCH FIRST ? ROWS ONLY");
+        countQuery = connection.prepareStatement("SELECT COUNT(i.id) FROM tb_invoice i " + OFFSET_FILTERS);
+
+        List<String> predicates = new ArrayList<>();
+        List<String> order = new ArrayList<>();
+        if (customerId != null) {
+            predicates.add("i.customer_id = ?");
+            order.add("i.customer_id DESC");
+        }
+        if (status != null) {
+            predicates.add("i.status = ?");
+            order.add("i.status DESC");
+        }
+        if (page > 0) predicates.add("i.timestamp <= ? AND (i.timestamp < ? OR i.id < ?)");
+        order.add("i.timestamp DESC");
+        order.add("i.id DESC");
+        String where = predicates.isEmpty() ? "" : "WHERE " + String.join(" AND ", predicates) + " ";
+        keysetQuery = connection.prepareStatement(COLUMNS + KEYSET_FROM + where + "ORDER BY " + String.join(", ", order) + " FETCH FIRST ? ROWS ONLY");
+
+        if (page > 0) {
+            // Cursor que o cliente teria recebido ao fim da página anterior.
+            bindOffsetFilters(offsetQuery);
+            offsetQuery.setInt(5, page * PAGE_SIZE - 1);
+            offsetQuery.setInt(6, 1);
+            try (ResultSet rs = offsetQuery.executeQuery()) {
+                if (!rs.next()) {
+                    throw new IllegalStateException("Massa pequena demais para a página " + page);
+                }
+                afterId = rs.getLong(1);
+                afterTimestamp = rs.getTimestamp(4);
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP ALL OBJECTS");
+        }
+        connection.close();
+    }
+
+    @Benchmark
+    public long offsetPage() throws SQLException {
+        bindOffsetFilters(offsetQuery);
+        offsetQuery.setInt(5, page * PAGE_SIZE);
+        offsetQuery.setInt(6, PAGE_SIZE);
+        long checksum = readPage(offsetQuery);
+
+        bindOffsetFilters(countQuery);
+        try (ResultSet rs = countQuery.executeQuery()) {
+            rs.next();
+            return checksum + rs.getLong(1);
+        }
+    }
+
+    @Benchmark
+    public long keysetPage() throws SQLException {
+        int index = 1;
+        if (customerId != null) keysetQuery.setLong(index++, customerId);
+        if (status != null) keysetQuery.setString(index++, status);
+        if (page > 0) {
+            keysetQuery.setTimestamp(index++, afterTimestamp);
+            keysetQuery.setTimestamp(index++, afterTimestamp);
+            keysetQuery.setLong(index++, afterId);
+        }
+        keysetQuery.setInt(index, PAGE_SIZE + 1);
+        return readPage(keysetQuery);
+    }
+
+    private void bindOffsetFilters(PreparedStatement statement) throws SQLException {
+        if (customerId == null) {
+            statement.setNull(1, Types.BIGINT);
+            statement.setNull(2, Types.BIGINT);
+        } else {
+            statement.setLong(1, customerId);
+            statement.setLong(2, customerId);
+        }
+        statement.setString(3, status);
+        statement.setString(4, status);
+    }
+
+    private static long readPage(PreparedStatement statement) throws SQLException {
+        long checksum = 0;
+        try (ResultSet rs = statement.executeQuery()) {
+            while (rs.next()) {
+                checksum += rs.getLong(1) + rs.getLong(2) + rs.getString(7).length();
+            }
+        }
+        return checksum;
+    }
+}
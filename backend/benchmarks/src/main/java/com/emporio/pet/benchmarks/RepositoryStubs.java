@@ -0,0 +1,36 @@
+package com.emporio.pet.benchmarks;
+
+import java.lang.reflect.Proxy;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Implementações em memória de interfaces de repositório para executar os serviços sem Spring e sem banco.
+ * Apenas os métodos informados respondem; qualquer outro lança UnsupportedOperationException.
+ */
+final class RepositoryStubs {
+
+    private RepositoryStubs() {
+    }
+
+    static <T> T stub(Class<T> repositoryType, Map<String, Function<Object[], Object>> answers) {
+        Object proxy = Proxy.newProxyInstance(repositoryType.getClassLoader(), new Class<?>[]{repositoryType},
+                (self, method, args) -> {
+                    switch (method.getName()) {
+                        case "toString":
+                            return repositoryType.getSimpleName() + "Stub";
+                        case "hashCode":
+                            return System.identityHashCode(self);
+                        case "equals":
+                            return self == args[0];
+                        default:
+                            Function<Object[], Object> answer = answers.get(method.getName());
+                            if (answer == null) {
+                                throw new UnsupportedOperationException(repositoryType.getSimpleName() + "." + method.getName());
+                            }
+                            return answer.apply(args);
+                    }
+                });
+        return repositoryType.cast(proxy);
+    }
+}
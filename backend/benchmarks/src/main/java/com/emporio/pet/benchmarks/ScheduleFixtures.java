@@ -0,0 +1,63 @@
+package com.emporio.pet.benchmarks;
+
+import com.emporio.pet.services.scheduling.BookedInterval;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Geração determinística de agendas sintéticas para os benchmarks.
+ */
+final class ScheduleFixtures {
+
+    private static final int[] DURATIONS = {20, 30, 60, 90};
+
+    private ScheduleFixtures() {
+    }
+
+    /**
+     * Gera até {@code perEmployee} agendamentos sem sobreposição para cada funcionário no dia, dentro do expediente.
+     */
+    static List<BookedInterval> bookedDay(LocalDate day, Collection<Long> employeeIds, int perEmployee, Random random) {
+        List<BookedInterval> intervals = new ArrayList<>();
+        long appointmentId = 1;
+        for (Long employeeId : employeeIds) {
+            LocalDateTime cursor = day.atTime(8, 0);
+            LocalDateTime closing = day.atTime(18, 0);
+            for (int i = 0; i < perEmployee; i++) {
+                cursor = cursor.plusMinutes(15L * random.nextInt(4));
+                LocalDateTime end = cursor.plusMinutes(DURATIONS[random.nextInt(DURATIONS.length)]);
+                if (end.isAfter(closing)) {
+                    break;
+                }
+                intervals.add(new BookedInterval(appointmentId++, employeeId, cursor, end));
+                cursor = end.plusMinutes(15);
+            }
+        }
+        intervals.sort(Comparator.comparing(BookedInterval::getStart));
+        return intervals;
+    }
+
+    /**
+     * Gera exatamente {@code perEmployee} agendamentos por funcionário dentro do expediente, podendo se sobrepor
+     * (atendimentos paralelos), para medir estruturas de índice com muitos intervalos por dia.
+     */
+    static List<BookedInterval> denseDay(LocalDate day, Collection<Long> employeeIds, int perEmployee, Random random) {
+        List<BookedInterval> intervals = new ArrayList<>();
+        long appointmentId = 1;
+        for (Long employeeId : employeeIds) {
+            for (int i = 0; i < perEmployee; i++) {
+                LocalDateTime start = day.atTime(8, 0).plusMinutes(5L * random.nextInt(108));
+                LocalDateTime end = start.plusMinutes(DURATIONS[random.nextInt(DURATIONS.length)]);
+                intervals.add(new BookedInterval(appointmentId++, employeeId, start, end));
+            }
+        }
+        intervals.sort(Comparator.comparing(BookedInterval::getStart));
+        return intervals;
+    }
+}
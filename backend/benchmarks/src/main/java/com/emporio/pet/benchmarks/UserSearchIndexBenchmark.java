@@ -0,0 +1,115 @@
+package com.emporio.pet.benchmarks;
+
+import com.emporio.pet.entities.enums.UserStatus;
+import com.emporio.pet.services.search.InMemoryUserSearchIndex;
+import com.emporio.pet.services.search.SearchText;
+import com.emporio.pet.services.search.UserSearchEntry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Busca de clientes por trecho de nome, CPF ou telefone no {@link InMemoryUserSearchIndex}, comparada à varredura
+ * de todas as chaves com {@code contains} (o que um {@code LIKE '%termo%'} sem índice faz): a primeira página
+ * de 20 resultados, na mesma ordem, e o total de correspondências.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+@State(Scope.Benchmark)
+public class UserSearchIndexBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+    private static final Set<String> CLIENT = Set.of("ROLE_CLIENT");
+
+    /**
+     * Termos típicos do balcão: prefixo comum, sobrenome frequente, nome completo raro, trecho de CPF e
+     * um termo curto (menos de 3 caracteres varre tudo também no índice).
+     */
+    @Param({"mar", "silva", "leticia queiroz", "4821", "an"})
+    public String term;
+
+    @Param({"500000"})
+    public int customers;
+
+    private InMemoryUserSearchIndex index;
+    private String[] keys;
+    private String normalizedTerm;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        index = new InMemoryUserSearchIndex(null, new SimpleMeterRegistry());
+        keys = new String[customers];
+        for (int i = 0; i < customers; i++) {
+            keys[i] = SearchText.key(CustomerNames.name(random), CustomerNames.cpf(random), CustomerNames.phone(random));
+            index.put(new UserSearchEntry((long) i + 1, keys[i], UserStatus.NON_BLOCKED, CLIENT));
+        }
+        normalizedTerm = SearchText.term(term);
+    }
+
+    @Benchmark
+    public Page<Long> index() {
+        return index.search(term, "ROLE_CLIENT", null, PageRequest.of(0, PAGE_SIZE));
+    }
+
+    @Benchmark
+    public Page<Long> scan() {
+        PriorityQueue<long[]> best = new PriorityQueue<>(PAGE_SIZE + 1, (a, b) -> compare(b, a));
+        int total = 0;
+        for (int i = 0; i < keys.length; i++) {
+            String key = keys[i];
+            if (!key.contains(normalizedTerm)) {
+                continue;
+            }
+            total++;
+            long rank = key.startsWith(normalizedTerm) ? 0 : key.contains(" " + normalizedTerm) ? 1 : 2;
+            long[] match = {rank, key.length(), i + 1};
+            if (best.size() < PAGE_SIZE) {
+                best.add(match);
+            } else if (compare(match, best.peek()) < 0) {
+                best.poll();
+                best.add(match);
+            }
+        }
+        List<long[]> matches = new ArrayList<>(best);
+        matches.sort(UserSearchIndexBenchmark::compare);
+        List<Long> ids = new ArrayList<>(matches.size());
+        for (long[] match : matches) {
+            ids.add(match[2]);
+        }
+        return new PageImpl<>(ids, PageRequest.of(0, PAGE_SIZE), total);
+    }
+
+    private static int compare(long[] a, long[] b) {
+        for (int i = 0; i < a.length; i++) {
+            int c = Long.compare(a[i], b[i]);
+            if (c != 0) {
+                return c;
+            }
+        }
+        return 0;
+    }
+}
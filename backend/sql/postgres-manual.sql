@@ -0,0 +1,80 @@
+-- Alterações de esquema a aplicar manualmente no PostgreSQL.
+--
+-- O perfil dev usa spring.jpa.hibernate.ddl-auto=none, então tabelas, colunas e índices novos das entidades
+-- não são criados sozinhos (no H2 o hbm2ddl cuida deles). Rode este script antes de subir a versão que
+-- os utiliza, com um usuário que possa criar e alterar tabelas. Sem as tabelas, as tarefas executadas na
+-- inicialização falham e a aplicação não sobe:
+--
+--     psql -h localhost -p 5433 -U postgres -d emporioPet -f backend/sql/postgres-manual.sql
+--
+-- Todos os comandos são idempotentes.
+
+-- Expediente da loja e dos funcionários (WorkingHoursRule), consultado pela agenda ao calcular disponibilidade.
+CREATE TABLE IF NOT EXISTS tb_working_hours (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    employee_id BIGINT REFERENCES tb_employee (id),
+    day_of_week VARCHAR(255) CHECK (day_of_week IN ('MONDAY', 'TUESDAY', 'WEDNESDAY', 'THURSDAY', 'FRIDAY', 'SATURDAY', 'SUNDAY')),
+    specific_date DATE,
+    open_time TIME(6),
+    close_time TIME(6),
+    lunch_start TIME(6),
+    lunch_end TIME(6),
+    closed BOOLEAN NOT NULL,
+    PRIMARY KEY (id)
+);
+
+-- Caixa de saída de e-mails (OutboundEmail): a recuperação de senha grava aqui e o despachante envia.
+CREATE TABLE IF NOT EXISTS tb_email_outbox (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    recipient VARCHAR(255) NOT NULL,
+    subject VARCHAR(255) NOT NULL,
+    body VARCHAR(4000) NOT NULL,
+    status VARCHAR(255) NOT NULL CHECK (status IN ('PENDING', 'SENT', 'FAILED')),
+    attempts INTEGER NOT NULL,
+    next_attempt_at TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    created_at TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    sent_at TIMESTAMP(6) WITH TIME ZONE,
+    last_error VARCHAR(500),
+    PRIMARY KEY (id)
+);
+CREATE INDEX IF NOT EXISTS idx_email_outbox_status_next ON tb_email_outbox (status, next_attempt_at);
+
+-- Indicadores diários do painel (DailyMetrics), conferidos e completados na inicialização.
+CREATE TABLE IF NOT EXISTS tb_daily_metrics (
+    metric_date DATE NOT NULL,
+    appointments BIGINT NOT NULL,
+    new_customers BIGINT NOT NULL,
+    paid_revenue NUMERIC(19, 2) NOT NULL,
+    PRIMARY KEY (metric_date)
+);
+
+-- Histórico de atividades do painel (ActivityEvent), preenchido na inicialização quando vazio.
+CREATE TABLE IF NOT EXISTS tb_activity_event (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    type VARCHAR(255) NOT NULL CHECK (type IN ('NEW_CUSTOMER', 'APPOINTMENT', 'INVOICE_PAID', 'NEW_PET', 'NEW_EMPLOYEE')),
+    title VARCHAR(255) NOT NULL,
+    description VARCHAR(500) NOT NULL,
+    occurred_at TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    PRIMARY KEY (id)
+);
+CREATE INDEX IF NOT EXISTS idx_activity_event_occurred ON tb_activity_event (occurred_at, id);
+
+-- Busca de usuários (search.users.index=database ou auto no PostgreSQL).
+-- A coluna é obrigatória: a aplicação preenche as linhas existentes na inicialização.
+ALTER TABLE tb_user ADD COLUMN IF NOT EXISTS search_key VARCHAR(400);
+
+-- Índice GIN de trigramas que atende ao LIKE '%termo%' da busca de usuários e da busca de faturas por cliente.
+-- Sem ele a busca funciona, mas varre tb_user. CREATE EXTENSION exige permissão de superusuário ou do dono
+-- do banco.
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+CREATE INDEX IF NOT EXISTS idx_user_search_key_trgm ON tb_user USING gin (search_key gin_trgm_ops);
+
+-- Paginação por cursor das listagens de agendamentos (GET /appointments?cursor= e /appointments/my?cursor=),
+-- declarados em Appointment.
+CREATE INDEX IF NOT EXISTS idx_appointment_start_id ON tb_appointment (start_date_time, id);
+CREATE INDEX IF NOT EXISTS idx_appointment_pet_start_id ON tb_appointment (pet_id, start_date_time, id);
+
+-- Paginação por cursor da busca de faturas (GET /invoices?cursor=), declarados em Invoice.
+CREATE INDEX IF NOT EXISTS idx_invoice_timestamp_id ON tb_invoice (timestamp, id);
+CREATE INDEX IF NOT EXISTS idx_invoice_status_timestamp_id ON tb_invoice (status, timestamp, id);
+CREATE INDEX IF NOT EXISTS idx_invoice_customer_timestamp_id ON tb_invoice (customer_id, timestamp, id);
@@ -0,0 +1,15 @@
+package com.emporio.pet.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Habilita métodos @Async e tarefas @Scheduled. Os executores são os do Spring Boot: pools de threads
+ * por padrão, virtual threads quando o perfil "virtual" está ativo.
+ */
+@Configuration
+@EnableAsync
+@EnableScheduling
+public class AsyncConfig {
+}
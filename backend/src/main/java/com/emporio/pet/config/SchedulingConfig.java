@@ -0,0 +1,26 @@
+package com.emporio.pet.config;
+
+import com.emporio.pet.services.scheduling.BestFitAssignmentStrategy;
+import com.emporio.pet.services.scheduling.EmployeeAssignmentStrategy;
+import com.emporio.pet.services.scheduling.LeastBookedAssignmentStrategy;
+import com.emporio.pet.services.scheduling.RoundRobinAssignmentStrategy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class SchedulingConfig {
+
+    /**
+     * Estratégia de designação automática de funcionários: least-booked, round-robin ou best-fit.
+     */
+    @Bean
+    public EmployeeAssignmentStrategy employeeAssignmentStrategy(@Value("${scheduling.assignment.strategy}") String strategy) {
+        return switch (strategy) {
+            case "least-booked" -> new LeastBookedAssignmentStrategy();
+            case "round-robin" -> new RoundRobinAssignmentStrategy();
+            case "best-fit" -> new BestFitAssignmentStrategy();
+            default -> throw new IllegalArgumentException("Estratégia de designação desconhecida: " + strategy);
+        };
+    }
+}
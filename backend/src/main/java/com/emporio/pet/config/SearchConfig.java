@@ -0,0 +1,32 @@
+package com.emporio.pet.config;
+
+import com.emporio.pet.repositories.UserRepository;
+import com.emporio.pet.services.search.DatabaseUserSearchIndex;
+import com.emporio.pet.services.search.InMemoryUserSearchIndex;
+import com.emporio.pet.services.search.UserSearchIndex;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class SearchConfig {
+
+    /**
+     * Índice da busca de usuários: database (índice de trigramas no PostgreSQL), memory (n-gramas em memória)
+     * ou auto, que usa database no PostgreSQL e memory nos demais bancos. No PostgreSQL, aplique antes
+     * sql/postgres-manual.sql.
+     */
+    @Bean
+    public UserSearchIndex userSearchIndex(@Value("${search.users.index}") String mode,
+                                           @Value("${spring.datasource.url}") String datasourceUrl,
+                                           UserRepository userRepository, MeterRegistry meterRegistry) {
+        boolean postgres = datasourceUrl.startsWith("jdbc:postgresql:");
+        String resolved = mode.equals("auto") ? (postgres ? "database" : "memory") : mode;
+        return switch (resolved) {
+            case "database" -> new DatabaseUserSearchIndex(userRepository);
+            case "memory" -> new InMemoryUserSearchIndex(userRepository, meterRegistry);
+            default -> throw new IllegalArgumentException("Índice de busca de usuários desconhecido: " + mode);
+        };
+    }
+}
@@ -3,6 +3,8 @@ package com.emporio.pet.controllers;
 import com.emporio.pet.dto.AppointmentDTO;
 import com.emporio.pet.dto.AppointmentInsertDTO;
 import com.emporio.pet.dto.AppointmentStatusUpdateDTO;
+import com.emporio.pet.dto.AvailabilityDTO;
+import com.emporio.pet.dto.CursorPageDTO;
 import com.emporio.pet.entities.enums.AppointmentStatus;
 import com.emporio.pet.services.AppointmentService;
 import jakarta.validation.Valid;
@@ -18,6 +20,7 @@ import java.net.URI;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/appointments")
@@ -29,7 +32,7 @@ public class AppointmentController {
         this.appointmentService = appointmentService;
     }
 
-    @GetMapping("/availability")
+    @GetMapping(value = "/availability", params = "date")
     public ResponseEntity<List<LocalDateTime>> findAvailability(
             @RequestParam Long serviceId,
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
@@ -39,6 +42,36 @@ public class AppointmentController {
         return ResponseEntity.ok(availableTimes);
     }
 
+    @GetMapping(value = "/availability", params = {"from", "to"})
+    public ResponseEntity<Map<LocalDate, List<LocalDateTime>>> findAvailabilityRange(
+            @RequestParam Long serviceId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) Long employeeId) {
+
+        Map<LocalDate, List<LocalDateTime>> availableTimes = appointmentService.findAvailableTimesInRange(serviceId, from, to, employeeId);
+        return ResponseEntity.ok(availableTimes);
+    }
+
+    @GetMapping(value = "/availability", params = {"from", "to", "format=compact"})
+    public ResponseEntity<List<AvailabilityDTO>> findCompactAvailabilityRange(
+            @RequestParam Long serviceId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) Long employeeId) {
+
+        return ResponseEntity.ok(appointmentService.findCompactAvailability(serviceId, from, to, employeeId));
+    }
+
+    @GetMapping(value = "/availability", params = {"date", "format=compact"})
+    public ResponseEntity<List<AvailabilityDTO>> findCompactAvailability(
+            @RequestParam Long serviceId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @RequestParam(required = false) Long employeeId) {
+
+        return ResponseEntity.ok(appointmentService.findCompactAvailability(serviceId, date, date, employeeId));
+    }
+
     @PostMapping
     public ResponseEntity<AppointmentDTO> create(@Valid @RequestBody AppointmentInsertDTO dto) {
         AppointmentDTO newDto = appointmentService.create(dto);
@@ -60,6 +93,18 @@ public class AppointmentController {
         return ResponseEntity.ok(page);
     }
 
+    @GetMapping(value = "/my", params = "cursor")
+    @PreAuthorize("hasAnyRole('CLIENT', 'ADMIN')")
+    public ResponseEntity<CursorPageDTO<AppointmentDTO>> findMyAppointmentsByCursor(
+            @RequestParam(value = "cursor") String cursor,
+            @RequestParam(value = "size", defaultValue = "20") int size,
+            @RequestParam(value = "includeTotal", defaultValue = "false") boolean includeTotal,
+            @RequestParam(value = "minDate", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate minDate,
+            @RequestParam(value = "maxDate", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate maxDate,
+            @RequestParam(value = "status", required = false) AppointmentStatus status) {
+        return ResponseEntity.ok(appointmentService.findMyAppointments(cursor, size, minDate, maxDate, status, includeTotal));
+    }
+
     @GetMapping
     @PreAuthorize("hasAnyRole('EMPLOYEE', 'ADMIN')")
     public ResponseEntity<Page<AppointmentDTO>> findAppointmentsByDate(
@@ -73,6 +118,22 @@ public class AppointmentController {
         return ResponseEntity.ok(page);
     }
 
+    /**
+     * Paginação por cursor: a primeira página usa {@code cursor=} vazio e as seguintes o {@code nextCursor} recebido.
+     */
+    @GetMapping(params = "cursor")
+    @PreAuthorize("hasAnyRole('EMPLOYEE', 'ADMIN')")
+    public ResponseEntity<CursorPageDTO<AppointmentDTO>> findAppointmentsByCursor(
+            @RequestParam(value = "cursor") String cursor,
+            @RequestParam(value = "size", defaultValue = "20") int size,
+            @RequestParam(value = "includeTotal", defaultValue = "false") boolean includeTotal,
+            @RequestParam(value = "minDate", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate minDate,
+            @RequestParam(value = "maxDate", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate maxDate,
+            @RequestParam(value = "employeeId", required = false) Long employeeId,
+            @RequestParam(value = "status", required = false) AppointmentStatus status) {
+        return ResponseEntity.ok(appointmentService.findAppointmentsByDate(minDate, maxDate, employeeId, status, cursor, size, includeTotal));
+    }
+
     @PatchMapping("/{id}/status")
     @PreAuthorize("hasAnyRole('ROLE_EMPLOYEE', 'ROLE_ADMIN')")
     public ResponseEntity<AppointmentDTO> updateStatus(@PathVariable Long id, @Valid @RequestBody AppointmentStatusUpdateDTO dto) {
@@ -2,6 +2,7 @@ package com.emporio.pet.controllers;
 
 import com.emporio.pet.dto.*;
 import com.emporio.pet.services.AuthService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -25,8 +26,8 @@ public class AuthController {
 
 
     @PostMapping("/forgot-password")
-    public ResponseEntity<MessageDTO> forgotPassword(@RequestBody @Valid ForgotPasswordDTO body) {
-        return ResponseEntity.ok(authService.createRecoverToken(body.getEmail()));
+    public ResponseEntity<MessageDTO> forgotPassword(@RequestBody @Valid ForgotPasswordDTO body, HttpServletRequest request) {
+        return ResponseEntity.ok(authService.createRecoverToken(body.getEmail(), request.getRemoteAddr()));
     }
 
     @PostMapping("/new-password")
@@ -2,8 +2,10 @@ package com.emporio.pet.controllers;
 
 import com.emporio.pet.dto.CustomerDTO;
 import com.emporio.pet.dto.CustomerInsertDTO;
+import com.emporio.pet.dto.CustomerSuggestionDTO;
 import com.emporio.pet.dto.CustomerUpdateDTO;
 import com.emporio.pet.services.CustomerService;
+import com.emporio.pet.services.CustomerSuggestService;
 import jakarta.validation.Valid;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -11,15 +13,18 @@ import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import java.net.URI;
+import java.util.List;
 
 @RestController
 @RequestMapping(value = "/customers")
 public class CustomerController {
 
     private final CustomerService customerService;
+    private final CustomerSuggestService customerSuggestService;
 
-    public CustomerController(CustomerService customerService) {
+    public CustomerController(CustomerService customerService, CustomerSuggestService customerSuggestService) {
         this.customerService = customerService;
+        this.customerSuggestService = customerSuggestService;
     }
 
     @PostMapping
@@ -38,4 +43,11 @@ public class CustomerController {
         CustomerDTO updatedDto = customerService.update(id, dto);
         return ResponseEntity.ok(updatedDto);
     }
-}
\ No newline at end of file
+
+    @PreAuthorize("hasAnyRole('ADMIN', 'EMPLOYEE')")
+    @GetMapping("/suggest")
+    public ResponseEntity<List<CustomerSuggestionDTO>> suggest(@RequestParam(name = "q") String query,
+                                                               @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(customerSuggestService.suggest(query, limit));
+    }
+}
@@ -1,11 +1,15 @@
 package com.emporio.pet.controllers;
 
+import com.emporio.pet.dto.CursorPageDTO;
 import com.emporio.pet.dto.DashboardDTO;
+import com.emporio.pet.dto.RecentActivityDTO;
+import com.emporio.pet.services.ActivityLogService;
 import com.emporio.pet.services.DashboardService;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 @RestController
@@ -13,9 +17,11 @@ import org.springframework.web.bind.annotation.RestController;
 public class DashboardController {
 
     private final DashboardService dashboardService;
+    private final ActivityLogService activityLogService;
 
-    public DashboardController(DashboardService dashboardService) {
+    public DashboardController(DashboardService dashboardService, ActivityLogService activityLogService) {
         this.dashboardService = dashboardService;
+        this.activityLogService = activityLogService;
     }
 
     @GetMapping
@@ -24,4 +30,12 @@ public class DashboardController {
         DashboardDTO dto = dashboardService.getDashboardData();
         return ResponseEntity.ok(dto);
     }
+
+    @GetMapping("/activities")
+    @PreAuthorize("hasAnyRole('ADMIN', 'EMPLOYEE')")
+    public ResponseEntity<CursorPageDTO<RecentActivityDTO>> getActivityHistory(
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", defaultValue = "20") int size) {
+        return ResponseEntity.ok(activityLogService.findHistory(cursor, size));
+    }
 }
\ No newline at end of file
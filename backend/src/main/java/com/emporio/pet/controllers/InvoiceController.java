@@ -1,5 +1,6 @@
 package com.emporio.pet.controllers;
 
+import com.emporio.pet.dto.CursorPageDTO;
 import com.emporio.pet.dto.InvoiceCreateDTO;
 import com.emporio.pet.dto.InvoiceDTO;
 import com.emporio.pet.entities.enums.InvoiceStatus;
@@ -46,6 +47,23 @@ public class InvoiceController {
         return ResponseEntity.ok(page);
     }
 
+    /**
+     * Paginação por cursor: a primeira página usa {@code cursor=} vazio e as seguintes o {@code nextCursor} recebido.
+     */
+    @GetMapping(params = "cursor")
+    @PreAuthorize("hasAnyRole('EMPLOYEE', 'ADMIN', 'CLIENT')")
+    public ResponseEntity<CursorPageDTO<InvoiceDTO>> search(
+            @RequestParam(value = "cursor") String cursor,
+            @RequestParam(value = "size", defaultValue = "20") int size,
+            @RequestParam(value = "includeTotal", defaultValue = "false") boolean includeTotal,
+            @RequestParam(value = "searchTerm", required = false) String searchTerm,
+            @RequestParam(value = "customerId", required = false) Long customerId,
+            @RequestParam(value = "minDate", required = false) Instant minDate,
+            @RequestParam(value = "maxDate", required = false) Instant maxDate,
+            @RequestParam(value = "status", required = false) InvoiceStatus status) {
+        return ResponseEntity.ok(invoiceService.search(cursor, size, searchTerm, customerId, minDate, maxDate, status, includeTotal));
+    }
+
     @PostMapping
     @PreAuthorize("hasAnyRole('EMPLOYEE', 'ADMIN')")
     public ResponseEntity<InvoiceDTO> create(@Valid @RequestBody InvoiceCreateDTO dto) {
@@ -0,0 +1,30 @@
+package com.emporio.pet.controllers;
+
+import com.emporio.pet.services.LiveEventBus;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@RequestMapping(value = "/events")
+public class LiveEventController {
+
+    private final LiveEventBus liveEventBus;
+
+    public LiveEventController(LiveEventBus liveEventBus) {
+        this.liveEventBus = liveEventBus;
+    }
+
+    /**
+     * Stream SSE com os deltas do quadro de agendamentos e do dashboard. Como o EventSource do navegador
+     * não envia cabeçalhos, o token também é aceito no parâmetro {@code access_token}.
+     */
+    @GetMapping("/stream")
+    @PreAuthorize("hasAnyRole('ADMIN', 'EMPLOYEE')")
+    public SseEmitter stream(@RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        return liveEventBus.subscribe(lastEventId);
+    }
+}
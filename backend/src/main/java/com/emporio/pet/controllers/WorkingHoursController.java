@@ -0,0 +1,50 @@
+package com.emporio.pet.controllers;
+
+import com.emporio.pet.dto.WorkingHoursRuleDTO;
+import com.emporio.pet.services.WorkingCalendarService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.net.URI;
+import java.util.List;
+
+@RestController
+@RequestMapping(value = "/working-hours")
+public class WorkingHoursController {
+
+    private final WorkingCalendarService workingCalendarService;
+
+    public WorkingHoursController(WorkingCalendarService workingCalendarService) {
+        this.workingCalendarService = workingCalendarService;
+    }
+
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping
+    public ResponseEntity<List<WorkingHoursRuleDTO>> findAll() {
+        return ResponseEntity.ok(workingCalendarService.findAll());
+    }
+
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping
+    public ResponseEntity<WorkingHoursRuleDTO> insert(@RequestBody WorkingHoursRuleDTO dto) {
+        dto = workingCalendarService.insert(dto);
+        URI uri = ServletUriComponentsBuilder.fromCurrentRequest().path("/{id}")
+                .buildAndExpand(dto.getId()).toUri();
+        return ResponseEntity.created(uri).body(dto);
+    }
+
+    @PreAuthorize("hasRole('ADMIN')")
+    @PutMapping(value = "/{id}")
+    public ResponseEntity<WorkingHoursRuleDTO> update(@PathVariable Long id, @RequestBody WorkingHoursRuleDTO dto) {
+        return ResponseEntity.ok(workingCalendarService.update(id, dto));
+    }
+
+    @PreAuthorize("hasRole('ADMIN')")
+    @DeleteMapping(value = "/{id}")
+    public ResponseEntity<Void> delete(@PathVariable Long id) {
+        workingCalendarService.delete(id);
+        return ResponseEntity.noContent().build();
+    }
+}
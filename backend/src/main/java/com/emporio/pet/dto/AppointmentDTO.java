@@ -14,7 +14,7 @@ public class AppointmentDTO {
     private AppointmentStatus status;
     private PetDTO pet;
     private ServicesDTO service;
-    private EmployeeDTO employee;
+    private EmployeeSummaryDTO employee;
     private ReviewDTO review;
     private Long invoiceId;
     private InvoiceStatus invoiceStatus;
@@ -26,7 +26,7 @@ public class AppointmentDTO {
         this.status = entity.getStatus();
         this.pet = new PetDTO(entity.getPet());
         this.service = new ServicesDTO(entity.getService());
-        this.employee = new EmployeeDTO(entity.getEmployee());
+        this.employee = new EmployeeSummaryDTO(entity.getEmployee());
 
         if (entity.getReview() != null) {
             this.review = new ReviewDTO(entity.getReview());
@@ -67,7 +67,7 @@ public class AppointmentDTO {
         return service;
     }
 
-    public EmployeeDTO getEmployee() {
+    public EmployeeSummaryDTO getEmployee() {
         return employee;
     }
 
@@ -0,0 +1,29 @@
+package com.emporio.pet.dto;
+
+import java.time.LocalDate;
+
+/**
+ * Disponibilidade compacta de um dia: a data e os inícios possíveis em minutos desde a meia-noite
+ * (ex.: 480 = 08:00).
+ */
+public class AvailabilityDTO {
+
+    private LocalDate date;
+    private int[] minutes;
+
+    public AvailabilityDTO() {
+    }
+
+    public AvailabilityDTO(LocalDate date, int[] minutes) {
+        this.date = date;
+        this.minutes = minutes;
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public int[] getMinutes() {
+        return minutes;
+    }
+}
@@ -0,0 +1,35 @@
+package com.emporio.pet.dto;
+
+public class CustomerSuggestionDTO {
+
+    private Long id;
+    private String name;
+    private String cpf;
+    private String phone;
+
+    public CustomerSuggestionDTO() {
+    }
+
+    public CustomerSuggestionDTO(Long id, String name, String cpf, String phone) {
+        this.id = id;
+        this.name = name;
+        this.cpf = cpf;
+        this.phone = phone;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getCpf() {
+        return cpf;
+    }
+
+    public String getPhone() {
+        return phone;
+    }
+}
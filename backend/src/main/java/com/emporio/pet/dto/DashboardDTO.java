@@ -1,6 +1,7 @@
 package com.emporio.pet.dto;
 
 import java.math.BigDecimal;
+import java.time.Instant;
 import java.util.List;
 
 public class DashboardDTO {
@@ -16,6 +17,8 @@ public class DashboardDTO {
 
     private List<RecentActivityDTO> recentActivities;
 
+    private Instant generatedAt;
+
     public int getAgendamentosHoje() {
         return agendamentosHoje;
     }
@@ -71,4 +74,12 @@ public class DashboardDTO {
     public void setRecentActivities(List<RecentActivityDTO> recentActivities) {
         this.recentActivities = recentActivities;
     }
+
+    public Instant getGeneratedAt() {
+        return generatedAt;
+    }
+
+    public void setGeneratedAt(Instant generatedAt) {
+        this.generatedAt = generatedAt;
+    }
 }
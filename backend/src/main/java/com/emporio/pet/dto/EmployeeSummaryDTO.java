@@ -0,0 +1,34 @@
+package com.emporio.pet.dto;
+
+import com.emporio.pet.entities.Employee;
+
+/**
+ * Funcionário resumido exibido em cada agendamento, sem perfis nem serviços.
+ */
+public class EmployeeSummaryDTO {
+
+    private Long id;
+    private String name;
+    private String jobTitle;
+
+    public EmployeeSummaryDTO() {
+    }
+
+    public EmployeeSummaryDTO(Employee entity) {
+        this.id = entity.getId();
+        this.name = entity.getName();
+        this.jobTitle = entity.getJobTitle();
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getJobTitle() {
+        return jobTitle;
+    }
+}
@@ -0,0 +1,80 @@
+package com.emporio.pet.dto;
+
+import com.emporio.pet.entities.enums.LiveEventType;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+
+/**
+ * Delta enviado pelo stream de eventos ao vivo. {@code RESYNC} indica que eventos foram perdidos
+ * e que o cliente deve recarregar os dados pela API normal.
+ */
+public class LiveEventDTO {
+
+    private long id;
+    private LiveEventType type;
+    private Long entityId;
+    private String status;
+    private LocalDateTime startDateTime;
+    private Instant occurredAt;
+
+    public LiveEventDTO() {
+    }
+
+    public LiveEventDTO(long id, LiveEventType type, Long entityId, String status, LocalDateTime startDateTime, Instant occurredAt) {
+        this.id = id;
+        this.type = type;
+        this.entityId = entityId;
+        this.status = status;
+        this.startDateTime = startDateTime;
+        this.occurredAt = occurredAt;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public void setId(long id) {
+        this.id = id;
+    }
+
+    public LiveEventType getType() {
+        return type;
+    }
+
+    public void setType(LiveEventType type) {
+        this.type = type;
+    }
+
+    public Long getEntityId() {
+        return entityId;
+    }
+
+    public void setEntityId(Long entityId) {
+        this.entityId = entityId;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public LocalDateTime getStartDateTime() {
+        return startDateTime;
+    }
+
+    public void setStartDateTime(LocalDateTime startDateTime) {
+        this.startDateTime = startDateTime;
+    }
+
+    public Instant getOccurredAt() {
+        return occurredAt;
+    }
+
+    public void setOccurredAt(Instant occurredAt) {
+        this.occurredAt = occurredAt;
+    }
+}
@@ -1,5 +1,7 @@
 package com.emporio.pet.dto;
 
+import com.emporio.pet.entities.ActivityEvent;
+
 import java.time.Instant;
 
 public class RecentActivityDTO {
@@ -9,6 +11,16 @@ public class RecentActivityDTO {
     private String description;
     private Instant timestamp;
 
+    public RecentActivityDTO() {
+    }
+
+    public RecentActivityDTO(ActivityEvent event) {
+        this.type = event.getType().name();
+        this.title = event.getTitle();
+        this.description = event.getDescription();
+        this.timestamp = event.getOccurredAt();
+    }
+
     public String getType() {
         return type;
     }
@@ -0,0 +1,64 @@
+package com.emporio.pet.dto;
+
+import com.emporio.pet.entities.enums.AppointmentStatus;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * Linha achatada de uma consulta de atividades recentes (projeção), sem carregar entidades.
+ */
+public class RecentActivityRow {
+
+    private final Long id;
+    private final String name;
+    private final String detail;
+    private final String status;
+    private final Instant timestamp;
+
+    public RecentActivityRow(String name, Instant timestamp) {
+        this(null, name, null, null, timestamp);
+    }
+
+    public RecentActivityRow(String name, String detail, Instant timestamp) {
+        this(null, name, detail, null, timestamp);
+    }
+
+    public RecentActivityRow(Long id, String name, Instant timestamp) {
+        this(id, name, null, null, timestamp);
+    }
+
+    public RecentActivityRow(AppointmentStatus status, String name, String detail, LocalDateTime startDateTime) {
+        this(null, name, detail, status == null ? null : status.toString(),
+                startDateTime == null ? null : startDateTime.atZone(ZoneId.systemDefault()).toInstant());
+    }
+
+    private RecentActivityRow(Long id, String name, String detail, String status, Instant timestamp) {
+        this.id = id;
+        this.name = name;
+        this.detail = detail;
+        this.status = status;
+        this.timestamp = timestamp;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getDetail() {
+        return detail;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public Instant getTimestamp() {
+        return timestamp;
+    }
+}
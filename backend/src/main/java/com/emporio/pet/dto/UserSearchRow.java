@@ -0,0 +1,64 @@
+package com.emporio.pet.dto;
+
+import com.emporio.pet.entities.enums.UserStatus;
+
+/**
+ * Linha achatada (projeção) usada pela busca de usuários: os campos que compõem a chave de busca,
+ * ou a chave já calculada com status e um dos perfis.
+ */
+public class UserSearchRow {
+
+    private final Long id;
+    private final String name;
+    private final String phone;
+    private final String cpf;
+    private final String searchKey;
+    private final UserStatus status;
+    private final String authority;
+
+    public UserSearchRow(Long id, String name, String phone, String cpf) {
+        this(id, name, phone, cpf, null, null, null);
+    }
+
+    public UserSearchRow(Long id, String searchKey, UserStatus status, String authority) {
+        this(id, null, null, null, searchKey, status, authority);
+    }
+
+    private UserSearchRow(Long id, String name, String phone, String cpf, String searchKey, UserStatus status, String authority) {
+        this.id = id;
+        this.name = name;
+        this.phone = phone;
+        this.cpf = cpf;
+        this.searchKey = searchKey;
+        this.status = status;
+        this.authority = authority;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getPhone() {
+        return phone;
+    }
+
+    public String getCpf() {
+        return cpf;
+    }
+
+    public String getSearchKey() {
+        return searchKey;
+    }
+
+    public UserStatus getStatus() {
+        return status;
+    }
+
+    public String getAuthority() {
+        return authority;
+    }
+}
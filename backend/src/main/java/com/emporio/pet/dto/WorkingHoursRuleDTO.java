@@ -0,0 +1,54 @@
+package com.emporio.pet.dto;
+
+import com.emporio.pet.entities.WorkingHoursRule;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+public class WorkingHoursRuleDTO {
+
+    private Long id;
+    private Long employeeId;
+    private DayOfWeek dayOfWeek;
+    private LocalDate specificDate;
+    private LocalTime openTime;
+    private LocalTime closeTime;
+    private LocalTime lunchStart;
+    private LocalTime lunchEnd;
+    private boolean closed;
+
+    public WorkingHoursRuleDTO() {
+    }
+
+    public WorkingHoursRuleDTO(WorkingHoursRule entity) {
+        this.id = entity.getId();
+        this.employeeId = (entity.getEmployee() != null) ? entity.getEmployee().getId() : null;
+        this.dayOfWeek = entity.getDayOfWeek();
+        this.specificDate = entity.getSpecificDate();
+        this.openTime = entity.getOpenTime();
+        this.closeTime = entity.getCloseTime();
+        this.lunchStart = entity.getLunchStart();
+        this.lunchEnd = entity.getLunchEnd();
+        this.closed = entity.isClosed();
+    }
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    public Long getEmployeeId() { return employeeId; }
+    public void setEmployeeId(Long employeeId) { this.employeeId = employeeId; }
+    public DayOfWeek getDayOfWeek() { return dayOfWeek; }
+    public void setDayOfWeek(DayOfWeek dayOfWeek) { this.dayOfWeek = dayOfWeek; }
+    public LocalDate getSpecificDate() { return specificDate; }
+    public void setSpecificDate(LocalDate specificDate) { this.specificDate = specificDate; }
+    public LocalTime getOpenTime() { return openTime; }
+    public void setOpenTime(LocalTime openTime) { this.openTime = openTime; }
+    public LocalTime getCloseTime() { return closeTime; }
+    public void setCloseTime(LocalTime closeTime) { this.closeTime = closeTime; }
+    public LocalTime getLunchStart() { return lunchStart; }
+    public void setLunchStart(LocalTime lunchStart) { this.lunchStart = lunchStart; }
+    public LocalTime getLunchEnd() { return lunchEnd; }
+    public void setLunchEnd(LocalTime lunchEnd) { this.lunchEnd = lunchEnd; }
+    public boolean isClosed() { return closed; }
+    public void setClosed(boolean closed) { this.closed = closed; }
+}
@@ -0,0 +1,61 @@
+package com.emporio.pet.entities;
+
+import com.emporio.pet.entities.enums.ActivityType;
+import jakarta.persistence.*;
+import java.time.Instant;
+
+/**
+ * Registro imutável de uma atividade do sistema (cadastro, agendamento, pagamento), gravado na mesma
+ * transação da alteração. Alimenta o feed do dashboard e o histórico de atividades.
+ */
+@Entity
+@Table(name = "tb_activity_event", indexes = @Index(name = "idx_activity_event_occurred", columnList = "occurredAt, id"))
+public class ActivityEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, updatable = false)
+    private ActivityType type;
+
+    @Column(nullable = false, updatable = false)
+    private String title;
+
+    @Column(nullable = false, updatable = false, length = 500)
+    private String description;
+
+    @Column(nullable = false, updatable = false)
+    private Instant occurredAt;
+
+    public ActivityEvent() {
+    }
+
+    public ActivityEvent(ActivityType type, String title, String description, Instant occurredAt) {
+        this.type = type;
+        this.title = title;
+        this.description = description;
+        this.occurredAt = occurredAt;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public ActivityType getType() {
+        return type;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public Instant getOccurredAt() {
+        return occurredAt;
+    }
+}
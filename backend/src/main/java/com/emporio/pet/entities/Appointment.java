@@ -7,7 +7,20 @@ import java.time.LocalDateTime;
 import java.util.Objects;
 
 @Entity
-@Table(name = "tb_appointment")
+@Table(name = "tb_appointment", indexes = {
+        @Index(name = "idx_appointment_start_id", columnList = "startDateTime, id"),
+        @Index(name = "idx_appointment_pet_start_id", columnList = "pet_id, startDateTime, id")
+})
+@NamedEntityGraph(name = "Appointment.listing", attributeNodes = {
+        @NamedAttributeNode(value = "pet", subgraph = "pet"),
+        @NamedAttributeNode("service"),
+        @NamedAttributeNode("employee"),
+        @NamedAttributeNode("invoice"),
+        @NamedAttributeNode("review")
+}, subgraphs = @NamedSubgraph(name = "pet", attributeNodes = {
+        @NamedAttributeNode("owner"),
+        @NamedAttributeNode("breed")
+}))
 public class Appointment {
 
     @Id
@@ -1,5 +1,6 @@
 package com.emporio.pet.entities;
 
+import com.emporio.pet.services.search.SearchText;
 import jakarta.persistence.*;
 import java.util.ArrayList;
 import java.util.List;
@@ -33,4 +34,9 @@ public class Customer extends User {
         return pets;
     }
 
+    @Override
+    public String buildSearchKey() {
+        return SearchText.key(getName(), cpf, getPhone());
+    }
+
 }
\ No newline at end of file
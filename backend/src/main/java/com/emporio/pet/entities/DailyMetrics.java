@@ -0,0 +1,88 @@
+package com.emporio.pet.entities;
+
+import jakarta.persistence.*;
+import org.springframework.data.domain.Persistable;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Totais consolidados de um dia para o dashboard: agendamentos (não cancelados) com início no dia,
+ * clientes cadastrados no dia e valor das faturas pagas emitidas no dia.
+ * O id (a data) é atribuído pela aplicação: uma linha criada em memória é sempre inserida, nunca mesclada,
+ * para que a criação concorrente do mesmo dia falhe na chave primária em vez de sobrescrever os totais.
+ */
+@Entity
+@Table(name = "tb_daily_metrics")
+public class DailyMetrics implements Persistable<LocalDate> {
+
+    @Id
+    @Column(name = "metric_date")
+    private LocalDate metricDate;
+
+    @Column(nullable = false)
+    private long appointments;
+
+    @Column(nullable = false)
+    private long newCustomers;
+
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal paidRevenue = BigDecimal.ZERO;
+
+    @Transient
+    private boolean isNew = true;
+
+    public DailyMetrics() {
+    }
+
+    public DailyMetrics(LocalDate metricDate, long appointments, long newCustomers, BigDecimal paidRevenue) {
+        this.metricDate = metricDate;
+        this.appointments = appointments;
+        this.newCustomers = newCustomers;
+        this.paidRevenue = paidRevenue;
+    }
+
+    public LocalDate getMetricDate() {
+        return metricDate;
+    }
+
+    @Override
+    public LocalDate getId() {
+        return metricDate;
+    }
+
+    @Override
+    public boolean isNew() {
+        return isNew;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.isNew = false;
+    }
+
+    public long getAppointments() {
+        return appointments;
+    }
+
+    public void setAppointments(long appointments) {
+        this.appointments = appointments;
+    }
+
+    public long getNewCustomers() {
+        return newCustomers;
+    }
+
+    public void setNewCustomers(long newCustomers) {
+        this.newCustomers = newCustomers;
+    }
+
+    public BigDecimal getPaidRevenue() {
+        return paidRevenue;
+    }
+
+    public void setPaidRevenue(BigDecimal paidRevenue) {
+        this.paidRevenue = paidRevenue;
+    }
+}
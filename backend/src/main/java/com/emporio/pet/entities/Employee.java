@@ -1,6 +1,8 @@
 package com.emporio.pet.entities;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.BatchSize;
+
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
@@ -8,6 +10,10 @@ import java.util.Set;
 
 @Entity
 @Table(name = "tb_employee")
+@NamedEntityGraph(name = "Employee.profile", attributeNodes = {
+        @NamedAttributeNode("roles"),
+        @NamedAttributeNode("skilledServices")
+})
 @PrimaryKeyJoinColumn(name = "user_id")
 public class Employee extends User {
 
@@ -16,7 +22,9 @@ public class Employee extends User {
     @OneToMany(mappedBy = "employee")
     private List<Appointment> appointments = new ArrayList<>();
 
-    @ManyToMany(fetch = FetchType.EAGER)
+    // Sob demanda: o grafo "Employee.profile" traz os serviços onde o perfil completo é exibido
+    @ManyToMany
+    @BatchSize(size = 50)
     @JoinTable(name = "tb_employee_service",
             joinColumns = @JoinColumn(name = "employee_id"),
             inverseJoinColumns = @JoinColumn(name = "service_id"))
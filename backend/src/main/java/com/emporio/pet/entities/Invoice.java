@@ -10,7 +10,11 @@ import java.util.List;
 import java.util.Objects;
 
 @Entity
-@Table(name = "tb_invoice")
+@Table(name = "tb_invoice", indexes = {
+        @Index(name = "idx_invoice_timestamp_id", columnList = "timestamp, id"),
+        @Index(name = "idx_invoice_status_timestamp_id", columnList = "status, timestamp, id"),
+        @Index(name = "idx_invoice_customer_timestamp_id", columnList = "customer_id, timestamp, id")
+})
 public class Invoice {
 
     @Id
@@ -1,7 +1,9 @@
 package com.emporio.pet.entities;
 
 import com.emporio.pet.entities.enums.UserStatus;
+import com.emporio.pet.services.search.SearchText;
 import jakarta.persistence.*;
+import org.hibernate.annotations.BatchSize;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
@@ -14,6 +16,7 @@ import java.util.Set;
 
 @Entity
 @Table(name = "tb_user")
+@NamedEntityGraph(name = "User.authentication", attributeNodes = @NamedAttributeNode("roles"))
 @Inheritance(strategy = InheritanceType.JOINED)
 public abstract class User implements UserDetails {
 
@@ -42,7 +45,13 @@ public abstract class User implements UserDetails {
     @Column(columnDefinition = "TIMESTAMP WITHOUT TIME ZONE")
     private Instant creationTimestamp;
 
-    @ManyToMany(fetch = FetchType.EAGER)
+    // Nome sem acentos e em maiúsculas seguido dos documentos só com dígitos; mantida a cada insert/update
+    @Column(length = 400)
+    private String searchKey;
+
+    // Sob demanda: o grafo "User.authentication" traz os perfis na autenticação; em listagens, o lote evita N+1
+    @ManyToMany
+    @BatchSize(size = 50)
     @JoinTable(name = "tb_user_role",
             joinColumns = @JoinColumn(name = "user_id"),
             inverseJoinColumns = @JoinColumn(name = "role_id"))
@@ -124,7 +133,25 @@ public abstract class User implements UserDetails {
     @PrePersist
     public void prePersist() {
         creationTimestamp = Instant.now();
+        searchKey = buildSearchKey();
+    }
+
+    @PreUpdate
+    public void preUpdate() {
+        searchKey = buildSearchKey();
+    }
+
+    public String getSearchKey() {
+        return searchKey;
+    }
+
+    /**
+     * Chave de busca calculada a partir do estado atual; subclasses acrescentam seus documentos.
+     */
+    public String buildSearchKey() {
+        return SearchText.key(name, phone);
     }
+
     public Instant getCreationTimestamp() {
         return creationTimestamp;
     }
@@ -0,0 +1,9 @@
+package com.emporio.pet.entities.enums;
+
+public enum ActivityType {
+    NEW_CUSTOMER,
+    APPOINTMENT,
+    INVOICE_PAID,
+    NEW_PET,
+    NEW_EMPLOYEE
+}
@@ -0,0 +1,7 @@
+package com.emporio.pet.entities.enums;
+
+public enum EmailStatus {
+    PENDING,
+    SENT,
+    FAILED
+}
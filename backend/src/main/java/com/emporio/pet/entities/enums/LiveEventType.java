@@ -0,0 +1,10 @@
+package com.emporio.pet.entities.enums;
+
+public enum LiveEventType {
+    APPOINTMENT_CREATED,
+    APPOINTMENT_STATUS_CHANGED,
+    APPOINTMENT_CANCELED,
+    INVOICE_PAID,
+    CUSTOMER_REGISTERED,
+    RESYNC
+}
@@ -0,0 +1,27 @@
+package com.emporio.pet.repositories;
+
+import com.emporio.pet.entities.ActivityEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+
+@Repository
+public interface ActivityEventRepository extends JpaRepository<ActivityEvent, Long> {
+
+    /**
+     * Atividades mais recentes, pelo índice (occurredAt, id).
+     */
+    @Query("SELECT e FROM ActivityEvent e ORDER BY e.occurredAt DESC, e.id DESC")
+    List<ActivityEvent> findLatest(Pageable pageable);
+
+    /**
+     * Atividades anteriores à posição (occurredAt, id) do cursor, na mesma ordem de {@link #findLatest}.
+     */
+    @Query("SELECT e FROM ActivityEvent e WHERE e.occurredAt < :occurredAt OR (e.occurredAt = :occurredAt AND e.id < :id) " +
+            "ORDER BY e.occurredAt DESC, e.id DESC")
+    List<ActivityEvent> findBefore(Instant occurredAt, Long id, Pageable pageable);
+}
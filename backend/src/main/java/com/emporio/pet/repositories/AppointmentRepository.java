@@ -1,18 +1,22 @@
 package com.emporio.pet.repositories;
 
+import com.emporio.pet.dto.RecentActivityRow;
 import com.emporio.pet.entities.Appointment;
 import com.emporio.pet.entities.Customer;
 import com.emporio.pet.entities.Employee;
 import com.emporio.pet.entities.Pet;
 import com.emporio.pet.entities.enums.AppointmentStatus;
+import com.emporio.pet.services.scheduling.BookedInterval;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -35,6 +39,24 @@ public interface AppointmentRepository extends JpaRepository<Appointment, Long>
             List<AppointmentStatus> statusesToExclude
     );
 
+    /**
+     * Busca, em uma única consulta, os intervalos ocupados de vários funcionários em uma janela de tempo,
+     * ordenados pelo início. Retorna apenas a projeção necessária para o cálculo de disponibilidade.
+     */
+    @Query("SELECT new com.emporio.pet.services.scheduling.BookedInterval(obj.id, obj.employee.id, obj.startDateTime, obj.endDateTime) " +
+            "FROM Appointment obj WHERE " +
+            "obj.employee.id IN :employeeIds " +
+            "AND obj.startDateTime < :end " +
+            "AND obj.endDateTime > :start " +
+            "AND obj.status NOT IN :statusesToExclude " +
+            "ORDER BY obj.startDateTime ASC")
+    List<BookedInterval> findBookedIntervals(
+            @Param("employeeIds") Collection<Long> employeeIds,
+            @Param("start") LocalDateTime start,
+            @Param("end") LocalDateTime end,
+            @Param("statusesToExclude") List<AppointmentStatus> statusesToExclude
+    );
+
     /**
      * Conta o número de agendamentos dentro de um intervalo de tempo.
      */
@@ -43,18 +65,15 @@ public interface AppointmentRepository extends JpaRepository<Appointment, Long>
 
     /**
      * Busca agendamentos com base em filtros (funcionário, status, intervalo de datas),
-     * incluindo dados de pet, dono, serviço e review.
+     * incluindo pet, dono, raça, serviço, funcionário, fatura e review (grafo "Appointment.listing").
      */
+    @EntityGraph("Appointment.listing")
     @Query(value = "SELECT a FROM Appointment a " +
-            "JOIN FETCH a.pet p " +
-            "JOIN FETCH p.owner " +
-            "JOIN FETCH a.service s " +
-            "LEFT JOIN FETCH a.review r " +
             "WHERE (:employeeId IS NULL OR a.employee.id = :employeeId) AND " +
             "(:status IS NULL OR a.status = :status) AND " +
             "(:minDate IS NULL OR a.startDateTime >= :minDate) AND " +
             "(:maxDate IS NULL OR a.startDateTime <= :maxDate) " +
-            "ORDER BY a.startDateTime DESC",
+            "ORDER BY a.startDateTime DESC, a.id DESC",
             countQuery = "SELECT COUNT(a) FROM Appointment a WHERE " +
                     "(:employeeId IS NULL OR a.employee.id = :employeeId) AND " +
                     "(:status IS NULL OR a.status = :status) AND " +
@@ -71,15 +90,13 @@ public interface AppointmentRepository extends JpaRepository<Appointment, Long>
     /**
      * Busca agendamentos por uma lista de pets e intervalo de datas.
      */
+    @EntityGraph("Appointment.listing")
     @Query(value = "SELECT a FROM Appointment a " +
-            "JOIN FETCH a.pet p " +
-            "JOIN FETCH a.service " +
-            "LEFT JOIN FETCH a.invoice " +
             "WHERE a.pet IN :pets " +
             "AND (:minDate IS NULL OR a.startDateTime >= :minDate) " +
             "AND (:maxDate IS NULL OR a.startDateTime <= :maxDate) " +
             "AND (:status IS NULL OR a.status = :status) " +
-            "ORDER BY a.startDateTime DESC",
+            "ORDER BY a.startDateTime DESC, a.id DESC",
             countQuery = "SELECT COUNT(a) FROM Appointment a WHERE a.pet IN :pets " +
                     "AND (:minDate IS NULL OR a.startDateTime >= :minDate) " +
                     "AND (:maxDate IS NULL OR a.startDateTime <= :maxDate) " +
@@ -93,9 +110,113 @@ public interface AppointmentRepository extends JpaRepository<Appointment, Long>
     );
 
 
+    /**
+     * Primeira página de {@link #findAppointmentsByFilter} na paginação por chave (startDateTime, id).
+     * Sem OFFSET nem contagem.
+     */
+    @EntityGraph("Appointment.listing")
+    @Query("SELECT a FROM Appointment a " +
+            "WHERE (:employeeId IS NULL OR a.employee.id = :employeeId) AND " +
+            "(:status IS NULL OR a.status = :status) AND " +
+            "(:minDate IS NULL OR a.startDateTime >= :minDate) AND " +
+            "(:maxDate IS NULL OR a.startDateTime <= :maxDate) " +
+            "ORDER BY a.startDateTime DESC, a.id DESC")
+    List<Appointment> findAppointmentsByFilterFirstPage(
+            @Param("minDate") LocalDateTime minDate,
+            @Param("maxDate") LocalDateTime maxDate,
+            @Param("employeeId") Long employeeId,
+            @Param("status") AppointmentStatus status,
+            Pageable pageable
+    );
+
+    /**
+     * Itens de {@link #findAppointmentsByFilter} seguintes ao cursor (afterStart, afterId). O {@code <=} limita
+     * a faixa lida do índice (startDateTime, id); o restante da condição descarta o que veio antes do cursor.
+     */
+    @EntityGraph("Appointment.listing")
+    @Query("SELECT a FROM Appointment a " +
+            "WHERE (:employeeId IS NULL OR a.employee.id = :employeeId) AND " +
+            "(:status IS NULL OR a.status = :status) AND " +
+            "(:minDate IS NULL OR a.startDateTime >= :minDate) AND " +
+            "(:maxDate IS NULL OR a.startDateTime <= :maxDate) AND " +
+            "a.startDateTime <= :afterStart AND (a.startDateTime < :afterStart OR a.id < :afterId) " +
+            "ORDER BY a.startDateTime DESC, a.id DESC")
+    List<Appointment> findAppointmentsByFilterAfter(
+            @Param("minDate") LocalDateTime minDate,
+            @Param("maxDate") LocalDateTime maxDate,
+            @Param("employeeId") Long employeeId,
+            @Param("status") AppointmentStatus status,
+            @Param("afterStart") LocalDateTime afterStart,
+            @Param("afterId") Long afterId,
+            Pageable pageable
+    );
+
+    @Query("SELECT COUNT(a) FROM Appointment a WHERE " +
+            "(:employeeId IS NULL OR a.employee.id = :employeeId) AND " +
+            "(:status IS NULL OR a.status = :status) AND " +
+            "(:minDate IS NULL OR a.startDateTime >= :minDate) AND " +
+            "(:maxDate IS NULL OR a.startDateTime <= :maxDate)")
+    long countAppointmentsByFilter(
+            @Param("minDate") LocalDateTime minDate,
+            @Param("maxDate") LocalDateTime maxDate,
+            @Param("employeeId") Long employeeId,
+            @Param("status") AppointmentStatus status
+    );
+
+    /**
+     * Primeira página de {@link #findAppointmentsByPetsAndDateRange} na paginação por chave (startDateTime, id).
+     */
+    @EntityGraph("Appointment.listing")
+    @Query("SELECT a FROM Appointment a " +
+            "WHERE a.pet IN :pets " +
+            "AND (:minDate IS NULL OR a.startDateTime >= :minDate) " +
+            "AND (:maxDate IS NULL OR a.startDateTime <= :maxDate) " +
+            "AND (:status IS NULL OR a.status = :status) " +
+            "ORDER BY a.startDateTime DESC, a.id DESC")
+    List<Appointment> findAppointmentsByPetsFirstPage(
+            @Param("pets") List<Pet> pets,
+            @Param("minDate") LocalDateTime minDate,
+            @Param("maxDate") LocalDateTime maxDate,
+            @Param("status") AppointmentStatus status,
+            Pageable pageable
+    );
+
+    /**
+     * Itens de {@link #findAppointmentsByPetsAndDateRange} seguintes ao cursor (afterStart, afterId).
+     */
+    @EntityGraph("Appointment.listing")
+    @Query("SELECT a FROM Appointment a " +
+            "WHERE a.pet IN :pets " +
+            "AND (:minDate IS NULL OR a.startDateTime >= :minDate) " +
+            "AND (:maxDate IS NULL OR a.startDateTime <= :maxDate) " +
+            "AND (:status IS NULL OR a.status = :status) " +
+            "AND a.startDateTime <= :afterStart AND (a.startDateTime < :afterStart OR a.id < :afterId) " +
+            "ORDER BY a.startDateTime DESC, a.id DESC")
+    List<Appointment> findAppointmentsByPetsAfter(
+            @Param("pets") List<Pet> pets,
+            @Param("minDate") LocalDateTime minDate,
+            @Param("maxDate") LocalDateTime maxDate,
+            @Param("status") AppointmentStatus status,
+            @Param("afterStart") LocalDateTime afterStart,
+            @Param("afterId") Long afterId,
+            Pageable pageable
+    );
+
+    @Query("SELECT COUNT(a) FROM Appointment a WHERE a.pet IN :pets " +
+            "AND (:minDate IS NULL OR a.startDateTime >= :minDate) " +
+            "AND (:maxDate IS NULL OR a.startDateTime <= :maxDate) " +
+            "AND (:status IS NULL OR a.status = :status)")
+    long countAppointmentsByPets(
+            @Param("pets") List<Pet> pets,
+            @Param("minDate") LocalDateTime minDate,
+            @Param("maxDate") LocalDateTime maxDate,
+            @Param("status") AppointmentStatus status
+    );
+
     /**
      * Busca agendamentos concluídos de um cliente que ainda não possuem fatura.
      */
+    @EntityGraph("Appointment.listing")
     @Query("SELECT a FROM Appointment a WHERE a.pet.owner.id = :customerId " +
             "AND a.status = 'COMPLETED' " +
             "AND a.invoice IS NULL " +
@@ -104,14 +225,17 @@ public interface AppointmentRepository extends JpaRepository<Appointment, Long>
 
 
     /**
-     * Retorna os 5 agendamentos mais recentes.
+     * Retorna os agendamentos mais recentes como projeção (status, serviço, pet e início).
      */
-    List<Appointment> findTop5ByOrderByStartDateTimeDesc();
+    @Query("SELECT new com.emporio.pet.dto.RecentActivityRow(a.status, s.name, p.name, a.startDateTime) " +
+            "FROM Appointment a JOIN a.service s JOIN a.pet p ORDER BY a.startDateTime DESC")
+    List<RecentActivityRow> findRecentActivity(Pageable pageable);
 
     /**
      * Retorna próximos agendamentos de uma lista de pets, com status específicos,
      * ordenados pela data mais próxima.
      */
+    @EntityGraph("Appointment.listing")
     List<Appointment> findByPetInAndStartDateTimeAfterAndStatusInOrderByStartDateTimeAsc(
             List<Pet> pets,
             LocalDateTime now,
@@ -1,12 +1,16 @@
 package com.emporio.pet.repositories;
 
 import com.emporio.pet.entities.Customer;
+import com.emporio.pet.dto.RecentActivityRow;
+import com.emporio.pet.dto.UserSearchRow;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -24,6 +28,13 @@ public interface CustomerRepository extends JpaRepository<Customer, Long> {
     @Query("SELECT c FROM Customer c LEFT JOIN FETCH c.pets p LEFT JOIN FETCH p.breed WHERE c.id = :id")
     Optional<Customer> findByIdWithPets(@Param("id") Long id);
 
+    /**
+     * Clientes dos ids informados com perfis, pets e raças já carregados, em uma única consulta.
+     */
+    @Query("SELECT DISTINCT c FROM Customer c LEFT JOIN FETCH c.roles LEFT JOIN FETCH c.pets p LEFT JOIN FETCH p.breed " +
+            "WHERE c.id IN :ids")
+    List<Customer> findAllWithPetsByIdIn(@Param("ids") Collection<Long> ids);
+
     /**
      * Conta quantos clientes foram criados em um intervalo de tempo.
      */
@@ -35,7 +46,15 @@ public interface CustomerRepository extends JpaRepository<Customer, Long> {
     // ============================
 
     /**
-     * Retorna os 5 clientes mais recentes.
+     * Retorna os clientes mais recentes como projeção (nome e data de cadastro).
+     */
+    @Query("SELECT new com.emporio.pet.dto.RecentActivityRow(c.name, c.creationTimestamp) " +
+            "FROM Customer c ORDER BY c.creationTimestamp DESC")
+    List<RecentActivityRow> findRecentActivity(Pageable pageable);
+
+    /**
+     * Nome, telefone e CPF de todos os clientes, para o índice do autocompletar.
      */
-    List<Customer> findTop5ByOrderByCreationTimestampDesc();
+    @Query("SELECT new com.emporio.pet.dto.UserSearchRow(c.id, c.name, c.phone, c.cpf) FROM Customer c")
+    List<UserSearchRow> findSuggestRows();
 }
@@ -0,0 +1,61 @@
+package com.emporio.pet.repositories;
+
+import com.emporio.pet.entities.DailyMetrics;
+import com.emporio.pet.entities.enums.AppointmentStatus;
+import com.emporio.pet.entities.enums.InvoiceStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface DailyMetricsRepository extends JpaRepository<DailyMetrics, LocalDate> {
+
+    List<DailyMetrics> findByMetricDateBetween(LocalDate from, LocalDate to);
+
+    /**
+     * Soma os deltas informados à linha do dia, sem ler antes. Retorna 0 se a linha ainda não existir.
+     */
+    @Modifying
+    @Query("UPDATE DailyMetrics m SET m.appointments = m.appointments + :appointments, " +
+            "m.newCustomers = m.newCustomers + :newCustomers, m.paidRevenue = m.paidRevenue + :paidRevenue " +
+            "WHERE m.metricDate = :day")
+    int increment(@Param("day") LocalDate day, @Param("appointments") long appointments,
+                  @Param("newCustomers") long newCustomers, @Param("paidRevenue") BigDecimal paidRevenue);
+
+    // ============================
+    // Recontagem a partir das tabelas de origem
+    // ============================
+
+    /**
+     * Conta, por dia de início, os agendamentos que não estão no status informado (cancelados).
+     */
+    @Query("SELECT CAST(a.startDateTime AS LocalDate) AS day, COUNT(a) AS total FROM Appointment a " +
+            "WHERE a.startDateTime >= :from AND a.startDateTime < :to AND a.status <> :excluded " +
+            "GROUP BY CAST(a.startDateTime AS LocalDate)")
+    List<DayCount> countAppointmentsByDay(LocalDateTime from, LocalDateTime to, AppointmentStatus excluded);
+
+    @Query("SELECT c.creationTimestamp FROM Customer c WHERE c.creationTimestamp >= :from AND c.creationTimestamp < :to")
+    List<Instant> findCustomerCreationTimestamps(Instant from, Instant to);
+
+    @Query("SELECT i.timestamp AS timestamp, i.totalAmount AS totalAmount FROM Invoice i " +
+            "WHERE i.status = :status AND i.timestamp >= :from AND i.timestamp < :to")
+    List<InvoiceAmount> findInvoiceAmounts(InvoiceStatus status, Instant from, Instant to);
+
+    interface DayCount {
+        LocalDate getDay();
+        Long getTotal();
+    }
+
+    interface InvoiceAmount {
+        Instant getTimestamp();
+        BigDecimal getTotalAmount();
+    }
+}
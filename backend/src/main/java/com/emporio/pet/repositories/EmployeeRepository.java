@@ -1,9 +1,14 @@
 package com.emporio.pet.repositories;
 
+import com.emporio.pet.dto.RecentActivityRow;
 import com.emporio.pet.entities.Employee;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -12,8 +17,28 @@ public interface EmployeeRepository extends JpaRepository<Employee, Long> {
     /**
      * Busca um funcionário com seus serviços associados já carregados.
      */
-    @Query("SELECT e FROM Employee e LEFT JOIN FETCH e.skilledServices WHERE e.id = :id")
-    Optional<Employee> findByIdWithServices(Long id);
+    @EntityGraph("Employee.profile")
+    @Query("SELECT e FROM Employee e WHERE e.id = :id")
+    Optional<Employee> findByIdWithServices(@Param("id") Long id);
 
-    List<Employee> findTop5ByOrderByCreationTimestampDesc();
+    /**
+     * Funcionários dos ids informados com perfis e serviços já carregados, em uma única consulta.
+     */
+    @EntityGraph("Employee.profile")
+    @Query("SELECT e FROM Employee e WHERE e.id IN :ids")
+    List<Employee> findAllWithServicesByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Retorna os funcionários mais recentes como projeção (nome, cargo e data de cadastro).
+     */
+    @Query("SELECT new com.emporio.pet.dto.RecentActivityRow(e.name, e.jobTitle, e.creationTimestamp) " +
+            "FROM Employee e ORDER BY e.creationTimestamp DESC")
+    List<RecentActivityRow> findRecentActivity(Pageable pageable);
+
+    /**
+     * Bloqueia (SELECT ... FOR UPDATE) a linha do funcionário até o fim da transação.
+     * Serializa reservas concorrentes do mesmo funcionário entre diferentes instâncias da aplicação.
+     */
+    @Query(value = "SELECT user_id FROM tb_employee WHERE user_id = :id FOR UPDATE", nativeQuery = true)
+    Long lockForBooking(@Param("id") Long id);
 }
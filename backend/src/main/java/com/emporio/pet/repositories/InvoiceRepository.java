@@ -1,10 +1,12 @@
 package com.emporio.pet.repositories;
 
+import com.emporio.pet.dto.RecentActivityRow;
 import com.emporio.pet.entities.Invoice;
 import com.emporio.pet.entities.enums.InvoiceStatus;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -15,7 +17,7 @@ import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface InvoiceRepository extends JpaRepository<Invoice, Long> {
+public interface InvoiceRepository extends JpaRepository<Invoice, Long>, JpaSpecificationExecutor<Invoice> {
 
     /**
      * Soma o valor total de faturas pagas dentro de um intervalo de datas.
@@ -46,29 +48,6 @@ public interface InvoiceRepository extends JpaRepository<Invoice, Long> {
             @Param("status") InvoiceStatus status
     );
 
-    /**
-     * Busca faturas filtrando pelo nome do cliente, intervalo de datas e status.
-     */
-    @Query(value = "SELECT i FROM Invoice i JOIN i.customer c WHERE " +
-            "(:customerName IS NULL OR UPPER(c.name) LIKE UPPER(CONCAT('%', :customerName, '%'))) AND " +
-            "(:minDate IS NULL OR i.timestamp >= :minDate) AND " +
-            "(:maxDate IS NULL OR i.timestamp <= :maxDate) AND " +
-            "(:status IS NULL OR i.status = :status)",
-
-            countQuery = "SELECT COUNT(i) FROM Invoice i JOIN i.customer c WHERE " +
-                    "(:customerName IS NULL OR UPPER(c.name) LIKE UPPER(CONCAT('%', :customerName, '%'))) AND " +
-                    "(:minDate IS NULL OR i.timestamp >= :minDate) AND " +
-                    "(:maxDate IS NULL OR i.timestamp <= :maxDate) AND " +
-                    "(:status IS NULL OR i.status = :status)")
-    Page<Invoice> findFiltered(
-            Pageable pageable,
-            @Param("customerName") String customerName,
-            @Param("minDate") Instant minDate,
-            @Param("maxDate") Instant maxDate,
-            @Param("status") InvoiceStatus status
-    );
-
-
     /**
      * Busca fatura com cliente, pets, serviços e agendamentos já carregados.
      */
@@ -81,33 +60,9 @@ public interface InvoiceRepository extends JpaRepository<Invoice, Long> {
     Optional<Invoice> findByIdWithDetails(@Param("id") Long id);
 
     /**
-     * Retorna as últimas 5 faturas de um determinado status.
+     * Retorna as últimas faturas de um determinado status como projeção (id, cliente e data).
      */
-    List<Invoice> findTop5ByStatusOrderByTimestampDesc(InvoiceStatus status);
-
-    /**
-     * Busca faturas filtrando por nome OU CPF do cliente, intervalo de datas e status.
-     * Esta é uma consulta mista que lida com ambos os cenários.
-     */
-    @Query(value = "SELECT i FROM Invoice i JOIN i.customer c WHERE " +
-            "(:customerName IS NULL OR UPPER(c.name) LIKE UPPER(CONCAT('%', :customerName, '%'))) AND " +
-            "(:customerCpf IS NULL OR c.cpf LIKE CONCAT('%', :customerCpf, '%')) AND " +
-            "(:minDate IS NULL OR i.timestamp >= :minDate) AND " +
-            "(:maxDate IS NULL OR i.timestamp <= :maxDate) AND " +
-            "(:status IS NULL OR i.status = :status)",
-
-            countQuery = "SELECT COUNT(i) FROM Invoice i JOIN i.customer c WHERE " +
-                    "(:customerName IS NULL OR UPPER(c.name) LIKE UPPER(CONCAT('%', :customerName, '%'))) AND " +
-                    "(:customerCpf IS NULL OR c.cpf LIKE CONCAT('%', :customerCpf, '%')) AND " +
-                    "(:minDate IS NULL OR i.timestamp >= :minDate) AND " +
-                    "(:maxDate IS NULL OR i.timestamp <= :maxDate) AND " +
-                    "(:status IS NULL OR i.status = :status)")
-    Page<Invoice> findFiltered(
-            Pageable pageable,
-            @Param("customerName") String customerName,
-            @Param("customerCpf") String customerCpf,
-            @Param("minDate") Instant minDate,
-            @Param("maxDate") Instant maxDate,
-            @Param("status") InvoiceStatus status
-    );
+    @Query("SELECT new com.emporio.pet.dto.RecentActivityRow(i.id, c.name, i.timestamp) " +
+            "FROM Invoice i JOIN i.customer c WHERE i.status = :status ORDER BY i.timestamp DESC")
+    List<RecentActivityRow> findRecentActivity(InvoiceStatus status, Pageable pageable);
 }
@@ -0,0 +1,113 @@
+package com.emporio.pet.repositories;
+
+import com.emporio.pet.entities.Customer;
+import com.emporio.pet.entities.Invoice;
+import com.emporio.pet.entities.enums.InvoiceStatus;
+import jakarta.persistence.criteria.Fetch;
+import jakarta.persistence.criteria.From;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.Instant;
+
+/**
+ * Predicados da busca de faturas. Cada fábrica retorna null quando o filtro está ausente,
+ * de modo que o filtro simplesmente não aparece no SQL gerado.
+ */
+public final class InvoiceSpecifications {
+
+    private InvoiceSpecifications() {
+    }
+
+    /**
+     * Carrega o cliente na mesma consulta. Deve vir antes dos filtros para que eles reaproveitem o join;
+     * não pode ser usado em consultas de contagem.
+     */
+    public static Specification<Invoice> fetchCustomer() {
+        return (root, query, cb) -> {
+            customer(root, true);
+            return null;
+        };
+    }
+
+    public static Specification<Invoice> customerId(Long customerId) {
+        if (customerId == null) {
+            return null;
+        }
+        return (root, query, cb) -> cb.equal(root.get("customer").get("id"), customerId);
+    }
+
+    /**
+     * Clientes cuja chave de busca contém o termo já normalizado ({@code SearchText.term}); termo vazio não retorna nada.
+     * No PostgreSQL o LIKE é servido pelo índice de trigramas idx_user_search_key_trgm.
+     */
+    public static Specification<Invoice> customerSearchKeyContains(String normalizedTerm) {
+        if (normalizedTerm == null) {
+            return null;
+        }
+        if (normalizedTerm.isEmpty()) {
+            return (root, query, cb) -> cb.disjunction();
+        }
+        return (root, query, cb) -> cb.like(customer(root, false).get("searchKey"), "%" + normalizedTerm + "%");
+    }
+
+    public static Specification<Invoice> issuedFrom(Instant minDate) {
+        if (minDate == null) {
+            return null;
+        }
+        return (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("timestamp"), minDate);
+    }
+
+    public static Specification<Invoice> issuedUntil(Instant maxDate) {
+        if (maxDate == null) {
+            return null;
+        }
+        return (root, query, cb) -> cb.lessThanOrEqualTo(root.get("timestamp"), maxDate);
+    }
+
+    public static Specification<Invoice> hasStatus(InvoiceStatus status) {
+        if (status == null) {
+            return null;
+        }
+        return (root, query, cb) -> cb.equal(root.get("status"), status);
+    }
+
+    /**
+     * Posição de keyset na ordem (timestamp DESC, id DESC): faturas estritamente após o último item da página anterior.
+     * Escrito como {@code timestamp <= t AND (timestamp < t OR id < i)} para que o {@code <=} delimite a faixa do índice.
+     */
+    public static Specification<Invoice> before(Instant timestamp, Long id) {
+        if (timestamp == null || id == null) {
+            return null;
+        }
+        return (root, query, cb) -> cb.and(
+                cb.lessThanOrEqualTo(root.get("timestamp"), timestamp),
+                cb.or(cb.lessThan(root.get("timestamp"), timestamp), cb.lessThan(root.get("id"), id)));
+    }
+
+    /**
+     * Reaproveita o join com o cliente já criado na consulta, evitando joins duplicados entre filtros. O fetch de
+     * {@link #fetchCustomer()} não aparece em {@code getJoins()}, então os fetches também são procurados: no
+     * Hibernate o fetch é o próprio join e pode receber filtros. O join é LEFT (customer_id é NOT NULL, então
+     * o resultado é o mesmo) para que tb_invoice continue sendo a tabela condutora e o índice entregue as linhas
+     * já ordenadas; com INNER o H2 pode começar pelo cliente.
+     */
+    @SuppressWarnings("unchecked")
+    private static Join<Invoice, Customer> customer(From<?, Invoice> root, boolean fetch) {
+        for (Join<Invoice, ?> join : root.getJoins()) {
+            if (join.getAttribute().getName().equals("customer")) {
+                return (Join<Invoice, Customer>) join;
+            }
+        }
+        for (Fetch<Invoice, ?> existing : root.getFetches()) {
+            if (existing.getAttribute().getName().equals("customer") && existing instanceof Join<?, ?> join) {
+                return (Join<Invoice, Customer>) join;
+            }
+        }
+        if (fetch) {
+            return (Join<Invoice, Customer>) root.<Invoice, Customer>fetch("customer", JoinType.LEFT);
+        }
+        return root.join("customer", JoinType.LEFT);
+    }
+}
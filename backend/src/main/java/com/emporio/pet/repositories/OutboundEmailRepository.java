@@ -0,0 +1,25 @@
+package com.emporio.pet.repositories;
+
+import com.emporio.pet.entities.OutboundEmail;
+import com.emporio.pet.entities.enums.EmailStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+
+@Repository
+public interface OutboundEmailRepository extends JpaRepository<OutboundEmail, Long> {
+
+    @Query("SELECT obj FROM OutboundEmail obj WHERE obj.status = :status AND obj.nextAttemptAt <= :now ORDER BY obj.nextAttemptAt, obj.id")
+    List<OutboundEmail> findDue(EmailStatus status, Instant now, Pageable pageable);
+
+    long countByStatus(EmailStatus status);
+
+    @Modifying
+    @Query("DELETE FROM OutboundEmail obj WHERE obj.status = :status AND obj.sentAt < :before")
+    int deleteSentBefore(EmailStatus status, Instant before);
+}
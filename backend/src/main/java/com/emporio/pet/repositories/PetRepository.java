@@ -1,8 +1,11 @@
 package com.emporio.pet.repositories;
 
+import com.emporio.pet.dto.RecentActivityRow;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 
 import com.emporio.pet.entities.Pet;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -11,5 +14,10 @@ import java.util.List;
 public interface PetRepository extends JpaRepository<Pet, Long> {
     List<Pet> findByOwnerId(Long customerId);
 
-    List<Pet> findTop5ByOrderByIdDesc();
+    /**
+     * Retorna os pets mais recentes como projeção (nome do pet, do dono e data de cadastro do dono).
+     */
+    @Query("SELECT new com.emporio.pet.dto.RecentActivityRow(p.name, o.name, o.creationTimestamp) " +
+            "FROM Pet p JOIN p.owner o ORDER BY p.id DESC")
+    List<RecentActivityRow> findRecentActivity(Pageable pageable);
 }
\ No newline at end of file
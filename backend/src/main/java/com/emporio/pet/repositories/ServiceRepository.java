@@ -18,11 +18,24 @@ public interface ServiceRepository extends JpaRepository<Services, Long>, JpaSpe
             "(:active IS NULL OR s.active = :active)")
     List<Services> findAllFiltered(String name, Boolean active);
 
+    /**
+     * Serviço com os funcionários qualificados, sem perfis nem serviços deles: disponibilidade e reserva
+     * só leem o id e o bloqueio de cada funcionário.
+     */
+    @Query("SELECT s FROM Services s " +
+            "LEFT JOIN FETCH s.qualifiedEmployees " +
+            "WHERE s.id = :id")
+    Optional<Services> findByIdWithQualifiedEmployees(@Param("id") Long id);
+
+    /**
+     * Serviço com os funcionários qualificados e o perfil completo de cada um (perfis e serviços), para listá-los.
+     */
     @Query("SELECT s FROM Services s " +
             "LEFT JOIN FETCH s.qualifiedEmployees e " +
             "LEFT JOIN FETCH e.roles " +
+            "LEFT JOIN FETCH e.skilledServices " +
             "WHERE s.id = :id")
-    Optional<Services> findByIdWithQualifiedEmployees(@Param("id") Long id);
+    Optional<Services> findByIdWithQualifiedEmployeeProfiles(@Param("id") Long id);
 
     Optional<Services> findByNameIgnoreCase(String name);
 
@@ -1,5 +1,6 @@
 package com.emporio.pet.repositories;
 
+import com.emporio.pet.dto.UserSearchRow;
 import com.emporio.pet.entities.User;
 import com.emporio.pet.entities.enums.UserStatus;
 import org.springframework.data.domain.Page;
@@ -7,37 +8,62 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
 
-    @EntityGraph(attributePaths = {"roles"})
+    @EntityGraph("User.authentication")
     Optional<User> findByEmail(String email);
 
-    @Query("SELECT u FROM User u JOIN u.roles r WHERE " +
-            "(:name IS NULL OR UPPER(u.name) LIKE UPPER(CONCAT('%', :name, '%'))) AND " + // <-- MUDANÇA AQUI
-            "(:status IS NULL OR u.userStatus = :status) AND " +
-            "r.authority = :role")
-    Page<User> findByNameAndRole(
-            @Param("name") String name,
+    /**
+     * Página de ids dos usuários do perfil; os dados de cada subtipo são carregados depois, em lote, pelos ids.
+     */
+    @Query(value = "SELECT u.id FROM User u JOIN u.roles r WHERE r.authority = :role " +
+            "AND (:status IS NULL OR u.userStatus = :status)",
+            countQuery = "SELECT COUNT(u) FROM User u JOIN u.roles r WHERE r.authority = :role " +
+                    "AND (:status IS NULL OR u.userStatus = :status)")
+    Page<Long> findIdsByRole(
             @Param("status") UserStatus status,
             @Param("role") String role,
             Pageable pageable
     );
 
-    @Query("SELECT u FROM User u JOIN u.roles r WHERE " +
-            "TYPE(u) = Customer AND TREAT(u AS Customer).cpf LIKE CONCAT('%', :cpf, '%') AND " +
-            "(:status IS NULL OR u.userStatus = :status) AND " +
-            "r.authority = :role")
-    Page<User> findByCpfAndRole(
-            @Param("cpf") String cpf,
-            @Param("status") UserStatus status,
-            @Param("role") String role,
-            Pageable pageable
-    );
+    /**
+     * Página de ids dos usuários do perfil cuja chave de busca contém o termo já normalizado, em ordem de relevância,
+     * com o total de correspondências. No PostgreSQL o LIKE é servido pelo índice de trigramas idx_user_search_key_trgm.
+     */
+    @Query(value = "SELECT u.id FROM User u JOIN u.roles r WHERE r.authority = :role " +
+            "AND (:status IS NULL OR u.userStatus = :status) " +
+            "AND u.searchKey LIKE CONCAT('%', :term, '%') " +
+            "ORDER BY CASE WHEN u.searchKey LIKE CONCAT(:term, '%') THEN 0 " +
+            "WHEN u.searchKey LIKE CONCAT('% ', :term, '%') THEN 1 ELSE 2 END, LENGTH(u.searchKey), u.id",
+            countQuery = "SELECT COUNT(u) FROM User u JOIN u.roles r WHERE r.authority = :role " +
+                    "AND (:status IS NULL OR u.userStatus = :status) " +
+                    "AND u.searchKey LIKE CONCAT('%', :term, '%')")
+    Page<Long> searchIds(@Param("term") String term, @Param("role") String role, @Param("status") UserStatus status, Pageable pageable);
+
+    /**
+     * Chave de busca, status e perfis de todos os usuários (uma linha por perfil), para carregar o índice em memória.
+     */
+    @Query("SELECT new com.emporio.pet.dto.UserSearchRow(u.id, u.searchKey, u.userStatus, r.authority) " +
+            "FROM User u JOIN u.roles r ORDER BY u.id")
+    List<UserSearchRow> findSearchRows();
+
+    /**
+     * Usuários ainda sem chave de busca (inseridos por SQL ou anteriores à coluna).
+     */
+    @Query("SELECT new com.emporio.pet.dto.UserSearchRow(u.id, u.name, u.phone, c.cpf) " +
+            "FROM User u LEFT JOIN Customer c ON c.id = u.id WHERE u.searchKey IS NULL ORDER BY u.id")
+    List<UserSearchRow> findWithoutSearchKey(Pageable pageable);
+
+    @Modifying
+    @Query("UPDATE User u SET u.searchKey = :searchKey WHERE u.id = :id")
+    int updateSearchKey(@Param("id") Long id, @Param("searchKey") String searchKey);
 }
\ No newline at end of file
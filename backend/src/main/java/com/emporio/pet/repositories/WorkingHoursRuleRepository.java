@@ -0,0 +1,9 @@
+package com.emporio.pet.repositories;
+
+import com.emporio.pet.entities.WorkingHoursRule;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface WorkingHoursRuleRepository extends JpaRepository<WorkingHoursRule, Long> {
+}
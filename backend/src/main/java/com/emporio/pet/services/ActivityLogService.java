@@ -0,0 +1,197 @@
+package com.emporio.pet.services;
+
+import com.emporio.pet.dto.CursorPageDTO;
+import com.emporio.pet.dto.RecentActivityDTO;
+import com.emporio.pet.dto.RecentActivityRow;
+import com.emporio.pet.entities.ActivityEvent;
+import com.emporio.pet.entities.Appointment;
+import com.emporio.pet.entities.Customer;
+import com.emporio.pet.entities.Employee;
+import com.emporio.pet.entities.Invoice;
+import com.emporio.pet.entities.Pet;
+import com.emporio.pet.entities.enums.ActivityType;
+import com.emporio.pet.entities.enums.InvoiceStatus;
+import com.emporio.pet.repositories.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Log de atividades do sistema, somente inclusão. Os serviços registram cada cadastro e mudança de estado
+ * na própria transação; o feed do dashboard e o histórico leem a tabela pelo índice de data.
+ */
+@Service
+public class ActivityLogService {
+
+    private static final Logger log = LoggerFactory.getLogger(ActivityLogService.class);
+
+    public static final int MAX_PAGE_SIZE = 100;
+    private static final int BACKFILL_PER_SOURCE = 20;
+
+    private static final String CUSTOMER_TITLE = "Novo cliente cadastrado";
+    private static final String INVOICE_TITLE = "Fatura Paga";
+    private static final String PET_TITLE = "Novo pet cadastrado";
+    private static final String EMPLOYEE_TITLE = "Novo funcionário admitido";
+
+    private final ActivityEventRepository activityEventRepository;
+    private final CustomerRepository customerRepository;
+    private final AppointmentRepository appointmentRepository;
+    private final InvoiceRepository invoiceRepository;
+    private final PetRepository petRepository;
+    private final EmployeeRepository employeeRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public ActivityLogService(ActivityEventRepository activityEventRepository, CustomerRepository customerRepository,
+                              AppointmentRepository appointmentRepository, InvoiceRepository invoiceRepository,
+                              PetRepository petRepository, EmployeeRepository employeeRepository,
+                              ApplicationEventPublisher eventPublisher) {
+        this.activityEventRepository = activityEventRepository;
+        this.customerRepository = customerRepository;
+        this.appointmentRepository = appointmentRepository;
+        this.invoiceRepository = invoiceRepository;
+        this.petRepository = petRepository;
+        this.employeeRepository = employeeRepository;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void customerRegistered(Customer customer) {
+        record(ActivityType.NEW_CUSTOMER, CUSTOMER_TITLE, customer.getName());
+    }
+
+    /**
+     * Registra a criação ou a mudança de status de um agendamento, com o status já atualizado.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void appointmentChanged(Appointment appointment) {
+        record(ActivityType.APPOINTMENT, appointmentTitle(appointment.getStatus().toString()),
+                appointmentDescription(appointment.getService().getName(), appointment.getPet().getName()));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void invoicePaid(Invoice invoice) {
+        record(ActivityType.INVOICE_PAID, INVOICE_TITLE, invoiceDescription(invoice.getId(), invoice.getCustomer().getName()));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void petCreated(Pet pet) {
+        record(ActivityType.NEW_PET, PET_TITLE, petDescription(pet.getName(), pet.getOwner().getName()));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void employeeHired(Employee employee) {
+        record(ActivityType.NEW_EMPLOYEE, EMPLOYEE_TITLE, employeeDescription(employee.getName(), employee.getJobTitle()));
+    }
+
+    /**
+     * As {@code limit} atividades mais recentes, em uma única consulta indexada.
+     */
+    @Transactional(readOnly = true)
+    public List<RecentActivityDTO> findRecent(int limit) {
+        return activityEventRepository.findLatest(PageRequest.of(0, limit)).stream().map(RecentActivityDTO::new).toList();
+    }
+
+    /**
+     * Histórico paginado por cursor, da atividade mais recente para a mais antiga. O cursor é opaco e aponta
+     * para a última atividade da página anterior; sem cursor, começa do início.
+     */
+    @Transactional(readOnly = true)
+    public CursorPageDTO<RecentActivityDTO> findHistory(String cursor, int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("O tamanho da página deve estar entre 1 e " + MAX_PAGE_SIZE + ".");
+        }
+        // Busca um item a mais para saber se existe próxima página
+        PageRequest limit = PageRequest.of(0, size + 1);
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        List<ActivityEvent> events = after == null
+                ? activityEventRepository.findLatest(limit)
+                : activityEventRepository.findBefore(after.instant(), after.id(), limit);
+
+        String nextCursor = null;
+        if (events.size() > size) {
+            events = events.subList(0, size);
+            ActivityEvent last = events.get(size - 1);
+            nextCursor = KeysetCursor.encode(last.getOccurredAt(), last.getId());
+        }
+        return new CursorPageDTO<>(events.stream().map(RecentActivityDTO::new).toList(), nextCursor);
+    }
+
+    /**
+     * Na primeira inicialização com o log vazio, semeia-o com as atividades mais recentes das tabelas de origem,
+     * para o feed não começar em branco. Pets não têm data de cadastro: usa-se a do dono, como o feed antigo.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void backfillIfEmpty() {
+        if (activityEventRepository.count() > 0) {
+            return;
+        }
+        PageRequest limit = PageRequest.of(0, BACKFILL_PER_SOURCE);
+        List<ActivityEvent> seed = new ArrayList<>();
+        for (RecentActivityRow row : customerRepository.findRecentActivity(limit)) {
+            seed.add(seedEvent(ActivityType.NEW_CUSTOMER, CUSTOMER_TITLE, row.getName(), row.getTimestamp()));
+        }
+        for (RecentActivityRow row : appointmentRepository.findRecentActivity(limit)) {
+            seed.add(seedEvent(ActivityType.APPOINTMENT, appointmentTitle(row.getStatus()),
+                    appointmentDescription(row.getName(), row.getDetail()), row.getTimestamp()));
+        }
+        for (RecentActivityRow row : invoiceRepository.findRecentActivity(InvoiceStatus.PAID, limit)) {
+            seed.add(seedEvent(ActivityType.INVOICE_PAID, INVOICE_TITLE, invoiceDescription(row.getId(), row.getName()), row.getTimestamp()));
+        }
+        for (RecentActivityRow row : petRepository.findRecentActivity(limit)) {
+            seed.add(seedEvent(ActivityType.NEW_PET, PET_TITLE, petDescription(row.getName(), row.getDetail()), row.getTimestamp()));
+        }
+        for (RecentActivityRow row : employeeRepository.findRecentActivity(limit)) {
+            seed.add(seedEvent(ActivityType.NEW_EMPLOYEE, EMPLOYEE_TITLE, employeeDescription(row.getName(), row.getDetail()), row.getTimestamp()));
+        }
+        seed.removeIf(event -> event.getOccurredAt() == null);
+        // Insere em ordem cronológica para que os ids acompanhem as datas
+        seed.sort(Comparator.comparing(ActivityEvent::getOccurredAt));
+        activityEventRepository.saveAll(seed);
+        eventPublisher.publishEvent(new DashboardDataChangedEvent("activity"));
+        log.info("Log de atividades semeado com {} registros", seed.size());
+    }
+
+    private void record(ActivityType type, String title, String description) {
+        activityEventRepository.save(new ActivityEvent(type, title, description, Instant.now()));
+        eventPublisher.publishEvent(new DashboardDataChangedEvent("activity"));
+    }
+
+    private static ActivityEvent seedEvent(ActivityType type, String title, String description, Instant timestamp) {
+        // Agendamentos futuros usam a data de início; limita ao presente para não ficarem sempre no topo
+        Instant now = Instant.now();
+        Instant occurredAt = timestamp == null || timestamp.isBefore(now) ? timestamp : now;
+        return new ActivityEvent(type, title, description, occurredAt);
+    }
+
+    private static String appointmentTitle(String status) {
+        return "Agendamento: " + status.toLowerCase();
+    }
+
+    private static String appointmentDescription(String serviceName, String petName) {
+        return serviceName + " para " + petName;
+    }
+
+    private static String invoiceDescription(Long invoiceId, String customerName) {
+        return "Fatura #" + invoiceId + " de " + customerName;
+    }
+
+    private static String petDescription(String petName, String ownerName) {
+        return petName + " (Dono(a): " + ownerName + ")";
+    }
+
+    private static String employeeDescription(String name, String jobTitle) {
+        return name + " (" + jobTitle + ")";
+    }
+}
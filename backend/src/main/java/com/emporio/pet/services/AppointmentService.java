@@ -2,34 +2,45 @@ package com.emporio.pet.services;
 
 import com.emporio.pet.dto.AppointmentDTO;
 import com.emporio.pet.dto.AppointmentInsertDTO;
+import com.emporio.pet.dto.AvailabilityDTO;
+import com.emporio.pet.dto.CursorPageDTO;
 import com.emporio.pet.entities.*;
 import com.emporio.pet.entities.enums.AppointmentStatus;
+import com.emporio.pet.entities.enums.LiveEventType;
 import com.emporio.pet.repositories.*;
 import com.emporio.pet.services.exceptions.ConflictException;
 import com.emporio.pet.services.exceptions.ForbiddenException;
 import com.emporio.pet.services.exceptions.ResourceNotFoundException;
+import com.emporio.pet.services.scheduling.BookedInterval;
+import com.emporio.pet.services.scheduling.BookingLocks;
+import com.emporio.pet.services.scheduling.DayBitmap;
+import com.emporio.pet.services.scheduling.EmployeeAssignmentStrategy;
+import com.emporio.pet.services.scheduling.EmployeeLoad;
+import com.emporio.pet.services.scheduling.EmployeeScheduleCache;
+import com.emporio.pet.services.scheduling.IntervalIndex;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
 public class AppointmentService {
 
     // --- CONSTANTES PARA CONFIGURAÇÃO ---
-    private static final int PREPARATION_BUFFER_MINUTES = 15;
-    private static final int START_HOUR = 8;
-    private static final int END_HOUR = 18;
-    private static final int LUNCH_START_HOUR = 12;
-    private static final int LUNCH_END_HOUR = 13;
+    private static final int MAX_AVAILABILITY_RANGE_DAYS = 62;
+    private static final int MAX_PAGE_SIZE = 100;
 
     private final AppointmentRepository appointmentRepository;
     private final ServiceRepository serviceRepository;
@@ -37,16 +48,33 @@ public class AppointmentService {
     private final AuthService authService;
     private final PetRepository petRepository;
     private final CustomerRepository customerRepository;
+    private final EmployeeScheduleCache scheduleCache;
+    private final BookingLocks bookingLocks;
+    private final EmployeeAssignmentStrategy assignmentStrategy;
+    private final WorkingCalendarService workingCalendar;
+    private final DailyMetricsService dailyMetrics;
+    private final ActivityLogService activityLog;
+    private final LiveEventBus liveEvents;
 
     public AppointmentService(AppointmentRepository appointmentRepository, ServiceRepository serviceRepository,
                               EmployeeRepository employeeRepository, AuthService authService, PetRepository petRepository,
-                              CustomerRepository customerRepository) {
+                              CustomerRepository customerRepository, EmployeeScheduleCache scheduleCache,
+                              BookingLocks bookingLocks, EmployeeAssignmentStrategy assignmentStrategy,
+                              WorkingCalendarService workingCalendar, DailyMetricsService dailyMetrics,
+                              ActivityLogService activityLog, LiveEventBus liveEvents) {
         this.appointmentRepository = appointmentRepository;
         this.serviceRepository = serviceRepository;
         this.employeeRepository = employeeRepository;
         this.authService = authService;
         this.petRepository = petRepository;
         this.customerRepository = customerRepository;
+        this.scheduleCache = scheduleCache;
+        this.bookingLocks = bookingLocks;
+        this.assignmentStrategy = assignmentStrategy;
+        this.workingCalendar = workingCalendar;
+        this.dailyMetrics = dailyMetrics;
+        this.activityLog = activityLog;
+        this.liveEvents = liveEvents;
     }
 
 
@@ -71,15 +99,12 @@ public class AppointmentService {
      */
     @Transactional(readOnly = true)
     public Page<AppointmentDTO> findMyAppointments(Pageable pageable, LocalDate minDate, LocalDate maxDate, AppointmentStatus status) {
-        User user = authService.authenticated();
-
-        if (!(user instanceof Customer customer)) {
+        // Só clientes têm pets: para os demais usuários a busca por id não encontra nada
+        Customer customerWithPets = customerRepository.findByIdWithPets(authService.currentUserId()).orElse(null);
+        if (customerWithPets == null) {
             return Page.empty();
         }
 
-        Customer customerWithPets = customerRepository.findByIdWithPets(customer.getId())
-                .orElseThrow(() -> new ResourceNotFoundException("Cliente não encontrado"));
-
         if (customerWithPets.getPets().isEmpty()) {
             return Page.empty();
         }
@@ -92,72 +117,117 @@ public class AppointmentService {
         return appointments.map(AppointmentDTO::new);
     }
 
+    /**
+     * Variante por cursor de {@link #findMyAppointments}: o custo de cada página independe da sua posição.
+     * O total só é contado se solicitado.
+     */
+    @Transactional(readOnly = true)
+    public CursorPageDTO<AppointmentDTO> findMyAppointments(String cursor, int size, LocalDate minDate, LocalDate maxDate,
+                                                           AppointmentStatus status, boolean includeTotal) {
+        validatePageSize(size);
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        Customer customerWithPets = customerRepository.findByIdWithPets(authService.currentUserId()).orElse(null);
+        if (customerWithPets == null || customerWithPets.getPets().isEmpty()) {
+            return new CursorPageDTO<>(List.of(), null, includeTotal ? 0L : null);
+        }
+
+        LocalDateTime start = (minDate != null) ? minDate.atStartOfDay() : null;
+        LocalDateTime end = (maxDate != null) ? maxDate.atTime(23, 59, 59) : null;
+
+        List<Pet> pets = customerWithPets.getPets();
+        PageRequest limit = PageRequest.of(0, size + 1);
+        List<Appointment> appointments = after == null
+                ? appointmentRepository.findAppointmentsByPetsFirstPage(pets, start, end, status, limit)
+                : appointmentRepository.findAppointmentsByPetsAfter(pets, start, end, status, after.localDateTime(), after.id(), limit);
+        Long total = includeTotal ? appointmentRepository.countAppointmentsByPets(pets, start, end, status) : null;
+        return toCursorPage(appointments, size, total);
+    }
+
     /**
      * Calcula e retorna horários disponíveis para um serviço em uma data específica,
      * opcionalmente filtrando por funcionário.
      */
     @Transactional(readOnly = true)
     public List<LocalDateTime> findAvailableTimes(Long serviceId, LocalDate date, Long employeeId) {
+        return findAvailableTimesInRange(serviceId, date, date, employeeId).get(date);
+    }
+
+    /**
+     * Calcula os horários disponíveis de cada dia do intervalo [from, to]. Resultado ordenado por data.
+     */
+    @Transactional(readOnly = true)
+    public Map<LocalDate, List<LocalDateTime>> findAvailableTimesInRange(Long serviceId, LocalDate from, LocalDate to, Long employeeId) {
+        Map<LocalDate, List<LocalDateTime>> result = new LinkedHashMap<>();
+        findAvailableMinutesInRange(serviceId, from, to, employeeId)
+                .forEach((day, minutes) -> result.put(day, toDateTimes(day, minutes)));
+        return result;
+    }
+
+    /**
+     * Retorna a disponibilidade do intervalo [from, to] no formato compacto: por dia, os minutos desde a meia-noite
+     * em que o serviço pode começar.
+     */
+    @Transactional(readOnly = true)
+    public List<AvailabilityDTO> findCompactAvailability(Long serviceId, LocalDate from, LocalDate to, Long employeeId) {
+        List<AvailabilityDTO> result = new ArrayList<>();
+        findAvailableMinutesInRange(serviceId, from, to, employeeId)
+                .forEach((day, minutes) -> result.add(new AvailabilityDTO(day, minutes)));
+        return result;
+    }
+
+    /**
+     * Calcula, em minutos desde a meia-noite, os inícios disponíveis de cada dia do intervalo [from, to] com uma
+     * consulta para o serviço (com funcionários qualificados) e uma para todos os agendamentos da janela.
+     * Todo o cálculo é feito em bitmaps e int[]; nenhum objeto de data é criado por horário.
+     */
+    @Transactional(readOnly = true)
+    public Map<LocalDate, int[]> findAvailableMinutesInRange(Long serviceId, LocalDate from, LocalDate to, Long employeeId) {
+        if (to.isBefore(from)) {
+            throw new IllegalArgumentException("A data final deve ser igual ou posterior à data inicial.");
+        }
+        int days = (int) ChronoUnit.DAYS.between(from, to) + 1;
+        if (days > MAX_AVAILABILITY_RANGE_DAYS) {
+            throw new IllegalArgumentException("O intervalo de disponibilidade não pode exceder " + MAX_AVAILABILITY_RANGE_DAYS + " dias.");
+        }
+
         // 1. Busca de Dados Essenciais
         Services service = serviceRepository.findByIdWithQualifiedEmployees(serviceId)
                 .orElseThrow(() -> new ResourceNotFoundException("Serviço não encontrado"));
-        long serviceDuration = service.getEstimatedDurationInMinutes();
-
-        // 2. Define o Horário de Trabalho do Dia
-        LocalDateTime startOfWork = date.atTime(START_HOUR, 0);
-        LocalDateTime endOfWork = date.atTime(END_HOUR, 0);
-        LocalDateTime lunchStart = date.atTime(LUNCH_START_HOUR, 0);
-        LocalDateTime lunchEnd = date.atTime(LUNCH_END_HOUR, 0);
-
-        // 3. Filtra os Funcionários Relevantes
-        List<Employee> qualifiedEmployees;
-        if (employeeId != null) {
-            Employee employee = employeeRepository.findById(employeeId)
-                    .orElseThrow(() -> new ResourceNotFoundException("Funcionário não encontrado"));
-            if (!employee.isAccountNonLocked()) {
-                return new ArrayList<>();
+        int serviceDuration = service.getEstimatedDurationInMinutes();
+
+        Map<LocalDate, int[]> result = new LinkedHashMap<>();
+        for (int d = 0; d < days; d++) {
+            result.put(from.plusDays(d), new int[0]);
+        }
+
+        // 2. Filtra os Funcionários Relevantes (já carregados junto com o serviço)
+        List<Employee> qualifiedEmployees = findBookableEmployees(service, employeeId);
+        if (qualifiedEmployees.isEmpty()) return result;
+
+        // 3. Busca TODOS os agendamentos da janela para os funcionários qualificados (via cache), ordenados pelo início
+        List<Long> employeeIds = qualifiedEmployees.stream().map(Employee::getId).collect(Collectors.toList());
+        List<BookedInterval> bookedIntervals = scheduleCache.findBookedIntervals(employeeIds, from, to);
+
+        // 4. Um índice de intervalos por funcionário; cada agendamento ocupa também o tempo de preparação que o segue
+        Map<Long, IntervalIndex> indexByEmployee = IntervalIndex.byEmployee(bookedIntervals, workingCalendar.getPreparationBufferMinutes());
+
+        // 5. Por dia, união dos inícios possíveis de todos os funcionários: já sai ordenada e sem duplicatas.
+        // As máscaras de expediente são compartilhadas entre funcionários/dias com a mesma regra, então os
+        // inícios de um dia sem agendamentos são calculados uma vez por máscara.
+        Map<DayBitmap, DayBitmap> slotStartsByMask = new IdentityHashMap<>();
+        for (int d = 0; d < days; d++) {
+            LocalDate day = from.plusDays(d);
+            DayBitmap slots = DayBitmap.empty();
+            for (Employee employee : qualifiedEmployees) {
+                DayBitmap openMask = workingCalendar.openMask(employee.getId(), day);
+                IntervalIndex index = indexByEmployee.get(employee.getId());
+                slots.or(index == null
+                        ? slotStartsByMask.computeIfAbsent(openMask, mask -> mask.slotStarts(serviceDuration))
+                        : index.freeTime(day, openMask).slotStarts(serviceDuration));
             }
-            if (!employee.getSkilledServices().contains(service)) return new ArrayList<>();
-            qualifiedEmployees = List.of(employee);
-        } else {
-            qualifiedEmployees = service.getQualifiedEmployees().stream()
-                    .filter(User::isAccountNonLocked)
-                    .collect(Collectors.toList());
+            result.put(day, slots.toMinuteOffsets());
         }
-        if (qualifiedEmployees.isEmpty()) return new ArrayList<>();
-
-        // 4. Busca TODOS os agendamentos do dia para os funcionários qualificados
-        List<AppointmentStatus> statusesToExclude = List.of(AppointmentStatus.CANCELED, AppointmentStatus.NO_SHOW);
-        List<Appointment> existingAppointments = appointmentRepository.findAppointmentsForEmployeesInInterval(
-                qualifiedEmployees, date.atStartOfDay(), date.atTime(23, 59), statusesToExclude);
-
-        // 5. O NOVO ALGORITMO: Para cada funcionário, calcula os horários livres
-        return qualifiedEmployees.stream()
-                // Para cada funcionário, gera uma lista de seus horários disponíveis
-                .flatMap(employee -> {
-                    List<Appointment> employeeAppointments = existingAppointments.stream()
-                            .filter(app -> app.getEmployee().getId().equals(employee.getId()))
-                            .sorted(Comparator.comparing(Appointment::getStartDateTime))
-                            .collect(Collectors.toList());
-
-                    List<LocalDateTime> availableSlotsForEmployee = new ArrayList<>();
-                    LocalDateTime nextAvailableTime = startOfWork;
-
-                    // Itera sobre os agendamentos existentes do funcionário
-                    for (Appointment existingApp : employeeAppointments) {
-                        findGaps(nextAvailableTime, existingApp.getStartDateTime(), serviceDuration, lunchStart, lunchEnd, availableSlotsForEmployee);
-                        // O próximo horário livre é o fim do agendamento atual + o tempo de preparação
-                        nextAvailableTime = existingApp.getEndDateTime().plusMinutes(PREPARATION_BUFFER_MINUTES);
-                    }
-
-                    // Verifica o último espaço, entre o último agendamento e o fim do dia
-                    findGaps(nextAvailableTime, endOfWork, serviceDuration, lunchStart, lunchEnd, availableSlotsForEmployee);
-
-                    return availableSlotsForEmployee.stream();
-                })
-                .distinct() // Remove horários duplicados (caso mais de um funcionário esteja livre)
-                .sorted()   // Ordena a lista final
-                .collect(Collectors.toList());
+        return result;
     }
 
     /**
@@ -173,17 +243,35 @@ public class AppointmentService {
         return appointmentsPage.map(AppointmentDTO::new);
     }
 
+    /**
+     * Variante por cursor de {@link #findAppointmentsByDate}: o custo de cada página independe da sua posição.
+     * O total só é contado se solicitado.
+     */
+    @Transactional(readOnly = true)
+    public CursorPageDTO<AppointmentDTO> findAppointmentsByDate(LocalDate min, LocalDate max, Long employeeId, AppointmentStatus status,
+                                                               String cursor, int size, boolean includeTotal) {
+        validatePageSize(size);
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        LocalDateTime minDate = (min != null) ? min.atStartOfDay() : null;
+        LocalDateTime maxDate = (max != null) ? max.atTime(23, 59, 59) : null;
+
+        PageRequest limit = PageRequest.of(0, size + 1);
+        List<Appointment> appointments = after == null
+                ? appointmentRepository.findAppointmentsByFilterFirstPage(minDate, maxDate, employeeId, status, limit)
+                : appointmentRepository.findAppointmentsByFilterAfter(minDate, maxDate, employeeId, status, after.localDateTime(), after.id(), limit);
+        Long total = includeTotal ? appointmentRepository.countAppointmentsByFilter(minDate, maxDate, employeeId, status) : null;
+        return toCursorPage(appointments, size, total);
+    }
+
     /**
      * Retorna a lista de próximos agendamentos do cliente autenticado.
      */
     @Transactional(readOnly = true)
     public List<AppointmentDTO> findUpcomingByCustomer() {
-        User user = authService.authenticated();
-        if (!(user instanceof Customer customer)) {
+        Customer customerWithPets = customerRepository.findByIdWithPets(authService.currentUserId()).orElse(null);
+        if (customerWithPets == null) {
             return Collections.emptyList();
         }
-        Customer customerWithPets = customerRepository.findByIdWithPets(customer.getId())
-                .orElseThrow(() -> new ResourceNotFoundException("Cliente não encontrado"));
 
         if (customerWithPets.getPets().isEmpty()) {
             return Collections.emptyList();
@@ -245,26 +333,33 @@ public class AppointmentService {
             designatedEmployee = chosenEmployee;
 
         } else {
-            // CENÁRIO 2: O cliente NÃO escolheu. O sistema encontra um.
-            // (Esta é a lógica que já tínhamos implementado)
+            // CENÁRIO 2: O cliente NÃO escolheu. A estratégia configurada escolhe um funcionário livre.
             designatedEmployee = findAvailableEmployeeForSlot(service, startTime);
         }
         if (!designatedEmployee.isAccountNonLocked()) {
             throw new ConflictException("O profissional selecionado não está mais disponível.");
         }
 
-        // 3. Criar e Salvar o Agendamento
+        // 3. Serializa reservas do mesmo funcionário/dia e confirma o horário com dados do banco
+        long duration = service.getEstimatedDurationInMinutes();
+        LocalDateTime endTime = startTime.plusMinutes(duration);
+        lockScheduleForBooking(designatedEmployee, startTime, endTime);
+
+        // 4. Criar e Salvar o Agendamento
         Appointment entity = new Appointment();
         entity.setService(service);
         entity.setPet(pet);
         entity.setEmployee(designatedEmployee);
         entity.setStartDateTime(startTime);
-        long duration = service.getEstimatedDurationInMinutes();
-        entity.setEndDateTime(startTime.plusMinutes(duration));
+        entity.setEndDateTime(endTime);
         entity.setChargedAmount(service.getPrice());
         entity.setStatus(AppointmentStatus.SCHEDULED);
 
         entity = appointmentRepository.save(entity);
+        registerScheduleChange(entity);
+        dailyMetrics.appointmentStatusChanged(startTime, null, AppointmentStatus.SCHEDULED);
+        activityLog.appointmentChanged(entity);
+        publishLiveEvent(LiveEventType.APPOINTMENT_CREATED, entity);
         return new AppointmentDTO(entity);
     }
 
@@ -278,10 +373,18 @@ public class AppointmentService {
                 .orElseThrow(() -> new ResourceNotFoundException("Agendamento não encontrado com o ID: " + id));
 
         // 2. Altera o status
+        AppointmentStatus oldStatus = appointment.getStatus();
         appointment.setStatus(newStatus);
 
         // 3. Salva a alteração no banco
         appointment = appointmentRepository.save(appointment);
+        registerScheduleChange(appointment);
+        dailyMetrics.appointmentStatusChanged(appointment.getStartDateTime(), oldStatus, newStatus);
+        if (oldStatus != newStatus) {
+            activityLog.appointmentChanged(appointment);
+            publishLiveEvent(newStatus == AppointmentStatus.CANCELED
+                    ? LiveEventType.APPOINTMENT_CANCELED : LiveEventType.APPOINTMENT_STATUS_CHANGED, appointment);
+        }
 
         // 4. Retorna o DTO atualizado
         return new AppointmentDTO(appointment);
@@ -292,21 +395,27 @@ public class AppointmentService {
      */
     @Transactional
     public void cancel(Long id) {
-        User user = authService.authenticated();
         Appointment appointment = appointmentRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Agendamento não encontrado com o ID: " + id));
 
-        if (user.hasRole("ROLE_ADMIN")) {
+        if (authService.hasRole("ROLE_ADMIN")) {
             if (appointment.getStatus() == AppointmentStatus.COMPLETED) {
                 throw new ConflictException("Agendamentos concluídos não podem ser cancelados.");
             }
+            AppointmentStatus oldStatus = appointment.getStatus();
             appointment.setStatus(AppointmentStatus.CANCELED);
             appointmentRepository.save(appointment);
+            registerScheduleChange(appointment);
+            dailyMetrics.appointmentStatusChanged(appointment.getStartDateTime(), oldStatus, AppointmentStatus.CANCELED);
+            if (oldStatus != AppointmentStatus.CANCELED) {
+                activityLog.appointmentChanged(appointment);
+                publishLiveEvent(LiveEventType.APPOINTMENT_CANCELED, appointment);
+            }
             return;
         }
 
-        if (user instanceof Customer customer) {
-            if (!appointment.getPet().getOwner().getId().equals(customer.getId())) {
+        if (authService.hasRole("ROLE_CLIENT")) {
+            if (!appointment.getPet().getOwner().getId().equals(authService.currentUserId())) {
                 throw new ForbiddenException("Acesso negado. Você só pode cancelar seus próprios agendamentos.");
             }
             if (LocalDateTime.now().plusHours(12).isAfter(appointment.getStartDateTime())) {
@@ -315,8 +424,15 @@ public class AppointmentService {
             if (appointment.getStatus() == AppointmentStatus.COMPLETED || appointment.getStatus() == AppointmentStatus.CANCELED) {
                 throw new ConflictException("Este agendamento não pode mais ser cancelado.");
             }
+            AppointmentStatus oldStatus = appointment.getStatus();
             appointment.setStatus(AppointmentStatus.CANCELED);
             appointmentRepository.save(appointment);
+            registerScheduleChange(appointment);
+            dailyMetrics.appointmentStatusChanged(appointment.getStartDateTime(), oldStatus, AppointmentStatus.CANCELED);
+            if (oldStatus != AppointmentStatus.CANCELED) {
+                activityLog.appointmentChanged(appointment);
+                publishLiveEvent(LiveEventType.APPOINTMENT_CANCELED, appointment);
+            }
             return;
         }
 
@@ -326,41 +442,128 @@ public class AppointmentService {
 
     /**
      * Encontra um funcionário qualificado disponível para o período especificado ou lança conflito.
+     * A carga do dia de cada candidato é agregada uma única vez e a escolha fica a cargo da estratégia configurada.
      */
     private Employee findAvailableEmployeeForSlot(Services service, LocalDateTime potentialStart) {
-        long duration = service.getEstimatedDurationInMinutes();
-        LocalDateTime potentialEnd = potentialStart.plusMinutes(duration);
-        List<Employee> qualifiedEmployees = new ArrayList<>(service.getQualifiedEmployees());
+        Map<Long, Employee> qualifiedEmployees = new LinkedHashMap<>();
+        for (Employee employee : service.getQualifiedEmployees()) {
+            if (employee.isAccountNonLocked()) {
+                qualifiedEmployees.put(employee.getId(), employee);
+            }
+        }
         if (qualifiedEmployees.isEmpty()) {
             throw new ConflictException("Não há funcionários qualificados para este serviço.");
         }
-        List<AppointmentStatus> statusesToExclude = List.of(AppointmentStatus.CANCELED, AppointmentStatus.NO_SHOW);
-        List<Appointment> existingAppointments = appointmentRepository.findAppointmentsForEmployeesInInterval(
-                qualifiedEmployees, potentialStart.toLocalDate().atStartOfDay(), potentialStart.toLocalDate().atTime(23, 59), statusesToExclude);
-
-        return qualifiedEmployees.stream()
-                .filter(employee -> existingAppointments.stream()
-                        .filter(app -> app.getEmployee().getId().equals(employee.getId()))
-                        .noneMatch(existingApp -> potentialStart.isBefore(existingApp.getEndDateTime()) && potentialEnd.isAfter(existingApp.getStartDateTime())))
-                .findFirst()
-                .orElseThrow(() -> new ConflictException("O horário selecionado não está mais disponível. Por favor, escolha outro."));
+
+        LocalDate day = potentialStart.toLocalDate();
+        LocalDateTime potentialEnd = potentialStart.plusMinutes(service.getEstimatedDurationInMinutes());
+        int startMinute = DayBitmap.minuteOfDay(day, potentialStart);
+        int endMinute = DayBitmap.minuteOfDay(day, potentialEnd);
+
+        List<BookedInterval> booked = scheduleCache.findBookedIntervals(qualifiedEmployees.keySet(), day, day);
+        Map<Long, EmployeeLoad> loads = EmployeeLoad.aggregate(qualifiedEmployees.keySet(), booked, day,
+                employeeId -> workingCalendar.openMask(employeeId, day), workingCalendar.getPreparationBufferMinutes());
+
+        List<EmployeeLoad> candidates = new ArrayList<>(loads.size());
+        if (potentialEnd.toLocalDate().equals(day)) {
+            for (EmployeeLoad load : loads.values()) {
+                if (load.getFreeTime().isFree(startMinute, endMinute)) {
+                    candidates.add(load);
+                }
+            }
+        }
+        EmployeeLoad chosen = candidates.isEmpty() ? null : assignmentStrategy.select(candidates, startMinute, endMinute);
+        if (chosen == null) {
+            throw new ConflictException("O horário selecionado não está mais disponível. Por favor, escolha outro.");
+        }
+        return qualifiedEmployees.get(chosen.getEmployeeId());
     }
 
     /**
-     * Varre um intervalo procurando "gaps" onde um serviço com a duração fornecida encaixa,
-     * respeitando o horário de almoço. Adiciona slots válidos em increments de 15 minutos.
+     * Adquire o lock em memória do funcionário/dia e o lock da linha do funcionário no banco (ambos até o fim
+     * da transação) e, já serializado, revalida o horário lendo a agenda direto do banco, sem passar pelo cache.
      */
-    private void findGaps(LocalDateTime startGap, LocalDateTime endGap, long serviceDuration,
-                          LocalDateTime lunchStart, LocalDateTime lunchEnd, List<LocalDateTime> availableSlots) {
-        LocalDateTime potentialSlot = startGap;
-        while (!potentialSlot.plusMinutes(serviceDuration).isAfter(endGap)) {
-            LocalDateTime endOfSlot = potentialSlot.plusMinutes(serviceDuration);
-            // Verifica se o slot não colide com o almoço
-            if (!(potentialSlot.isBefore(lunchEnd) && endOfSlot.isAfter(lunchStart))) {
-                availableSlots.add(potentialSlot);
+    private void lockScheduleForBooking(Employee employee, LocalDateTime start, LocalDateTime end) {
+        LocalDate day = start.toLocalDate();
+        bookingLocks.lockUntilTransactionEnds(employee.getId(), day);
+        employeeRepository.lockForBooking(employee.getId());
+
+        List<BookedInterval> booked = appointmentRepository.findBookedIntervals(List.of(employee.getId()),
+                day.atStartOfDay(), day.plusDays(1).atStartOfDay(), EmployeeScheduleCache.STATUSES_NOT_BLOCKING_SCHEDULE);
+        IntervalIndex index = IntervalIndex.of(booked, workingCalendar.getPreparationBufferMinutes());
+        boolean withinWorkday = end.toLocalDate().equals(day) && workingCalendar.openMask(employee.getId(), day)
+                .isFree(DayBitmap.minuteOfDay(day, start), DayBitmap.minuteOfDay(day, end));
+        if (!withinWorkday || index.overlaps(start, end)) {
+            throw new ConflictException("O horário selecionado não está mais disponível. Por favor, escolha outro.");
+        }
+    }
+
+    /**
+     * Reflete a alteração do agendamento no cache de agendas quando a transação for confirmada.
+     */
+    private void registerScheduleChange(Appointment appointment) {
+        scheduleCache.afterCommit(appointment.getId(), appointment.getEmployee().getId(),
+                appointment.getStartDateTime(), appointment.getEndDateTime(), appointment.getStatus());
+    }
+
+    private static void validatePageSize(int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("O tamanho da página deve estar entre 1 e " + MAX_PAGE_SIZE + ".");
+        }
+    }
+
+    /**
+     * Recebe até {@code size + 1} agendamentos: o excedente só indica que existe uma próxima página.
+     */
+    private static CursorPageDTO<AppointmentDTO> toCursorPage(List<Appointment> appointments, int size, Long total) {
+        String nextCursor = null;
+        if (appointments.size() > size) {
+            appointments = appointments.subList(0, size);
+            Appointment last = appointments.get(size - 1);
+            nextCursor = KeysetCursor.encode(last.getStartDateTime(), last.getId());
+        }
+        return new CursorPageDTO<>(appointments.stream().map(AppointmentDTO::new).toList(), nextCursor, total);
+    }
+
+    private void publishLiveEvent(LiveEventType type, Appointment appointment) {
+        liveEvents.publish(type, appointment.getId(), appointment.getStatus().name(), appointment.getStartDateTime());
+    }
+
+    /**
+     * Retorna os funcionários ativos que podem receber o serviço; se um funcionário foi informado,
+     * restringe a ele. Usa os funcionários já carregados com o serviço, sem nova consulta no caminho comum.
+     */
+    private List<Employee> findBookableEmployees(Services service, Long employeeId) {
+        if (employeeId == null) {
+            return service.getQualifiedEmployees().stream()
+                    .filter(User::isAccountNonLocked)
+                    .collect(Collectors.toList());
+        }
+        Employee employee = service.getQualifiedEmployees().stream()
+                .filter(e -> e.getId().equals(employeeId))
+                .findFirst()
+                .orElse(null);
+        if (employee == null) {
+            if (!employeeRepository.existsById(employeeId)) {
+                throw new ResourceNotFoundException("Funcionário não encontrado");
             }
-            // Avança o ponteiro em incrementos de 15 minutos para testar o próximo slot
-            potentialSlot = potentialSlot.plusMinutes(15);
+            return new ArrayList<>();
+        }
+        if (!employee.isAccountNonLocked()) {
+            return new ArrayList<>();
+        }
+        return List.of(employee);
+    }
+
+    /**
+     * Converte os minutos do dia (offsets) em horários; única etapa que cria objetos de data.
+     */
+    private static List<LocalDateTime> toDateTimes(LocalDate day, int[] minuteOffsets) {
+        LocalDateTime startOfDay = day.atStartOfDay();
+        List<LocalDateTime> times = new ArrayList<>(minuteOffsets.length);
+        for (int offset : minuteOffsets) {
+            times.add(startOfDay.plusMinutes(offset));
         }
+        return times;
     }
 }
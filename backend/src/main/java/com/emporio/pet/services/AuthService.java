@@ -10,21 +10,15 @@ import com.emporio.pet.repositories.PasswordRecoverRepository;
 import com.emporio.pet.repositories.UserRepository;
 import com.emporio.pet.services.exceptions.EmailException;
 import com.emporio.pet.services.exceptions.UsernameNotFoundException;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.mail.SimpleMailMessage;
-import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
-import java.time.temporal.ChronoUnit;
-import java.util.UUID;
 
 @Service
 public class AuthService {
@@ -34,24 +28,24 @@ public class AuthService {
     private final AuthenticationManager authenticationManager;
     private final JwtService jwtService;
     private final PasswordRecoverRepository passwordRecoverRepository;
-    private final JavaMailSender emailSender;
+    private final PasswordRecoverService passwordRecoverService;
     private final InvoiceRepository invoiceRepository;
-
-    @Value("${email.password-recover.token.minutes}")
-    private Long tokenMinutes;
-    @Value("${email.password-recover.uri}")
-    private String recoverUri;
+    private final RequestPrincipal principal;
+    private final UserSnapshotCache userSnapshotCache;
 
     public AuthService(UserRepository userRepository, PasswordEncoder passwordEncoder,
                        AuthenticationManager authenticationManager, JwtService jwtService,
-                       PasswordRecoverRepository passwordRecoverRepository, JavaMailSender emailSender, InvoiceRepository invoiceRepository) {
+                       PasswordRecoverRepository passwordRecoverRepository, PasswordRecoverService passwordRecoverService,
+                       InvoiceRepository invoiceRepository, RequestPrincipal principal, UserSnapshotCache userSnapshotCache) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
         this.authenticationManager = authenticationManager;
         this.jwtService = jwtService;
         this.passwordRecoverRepository = passwordRecoverRepository;
-        this.emailSender = emailSender;
+        this.passwordRecoverService = passwordRecoverService;
         this.invoiceRepository = invoiceRepository;
+        this.principal = principal;
+        this.userSnapshotCache = userSnapshotCache;
     }
 
     /**
@@ -60,26 +54,48 @@ public class AuthService {
      */
     @Transactional(readOnly = true)
     public boolean canAccessInvoice(Long invoiceId) {
-        User authenticatedUser = authenticated();
-
         // Se for admin ou funcionário, sempre pode acessar.
-        if (authenticatedUser.hasRole("ROLE_ADMIN") || authenticatedUser.hasRole("ROLE_EMPLOYEE")) {
+        if (hasRole("ROLE_ADMIN") || hasRole("ROLE_EMPLOYEE")) {
             return true;
         }
 
+        Long userId = currentUserId();
         return invoiceRepository.findById(invoiceId)
-                .map(invoice -> invoice.getCustomer().getId().equals(authenticatedUser.getId()))
+                .map(invoice -> invoice.getCustomer().getId().equals(userId))
                 .orElse(false);
     }
 
     /**
-     * Retorna o usuário atualmente autenticado (busca pelo SecurityContext).
+     * Retorna o usuário atualmente autenticado, carregado no máximo uma vez por requisição.
      * Lança UsernameNotFoundException se não houver usuário válido no contexto.
      */
     public User authenticated() {
         try {
-            String username = SecurityContextHolder.getContext().getAuthentication().getName();
-            return userRepository.findByEmail(username).orElseThrow(() -> new UsernameNotFoundException("Usuário inválido"));
+            return principal.getUser();
+        }
+        catch (Exception e) {
+            throw new UsernameNotFoundException("Usuário inválido");
+        }
+    }
+
+    /**
+     * Retorna o id do usuário autenticado a partir do token, sem consultar o banco.
+     */
+    public Long currentUserId() {
+        try {
+            return principal.getUserId();
+        }
+        catch (Exception e) {
+            throw new UsernameNotFoundException("Usuário inválido");
+        }
+    }
+
+    /**
+     * Verifica se o usuário autenticado possui o perfil informado, a partir do token.
+     */
+    public boolean hasRole(String roleName) {
+        try {
+            return principal.hasRole(roleName);
         }
         catch (Exception e) {
             throw new UsernameNotFoundException("Usuário inválido");
@@ -90,8 +106,7 @@ public class AuthService {
      * Verifica se o usuário autenticado é o próprio usuário informado ou é ADMIN.
      */
     public boolean isSelfOrAdmin(Long userId) {
-        User authenticatedUser = authenticated();
-        return authenticatedUser.hasRole("ROLE_ADMIN") || authenticatedUser.getId().equals(userId);
+        return hasRole("ROLE_ADMIN") || currentUserId().equals(userId);
     }
 
     /**
@@ -104,25 +119,11 @@ public class AuthService {
     }
 
     /**
-     * Gera um token de recuperação, salva e envia e-mail com link de recuperação (se o e-mail existir).
-     * Retorna uma mensagem genérica para evitar vazamento de existência de conta.
+     * Encaminha o pedido de recuperação de senha e retorna sempre a mesma mensagem genérica,
+     * para evitar vazamento de existência de conta.
      */
-    @Transactional
-    public MessageDTO createRecoverToken(String email) {
-        userRepository.findByEmail(email).ifPresent(user -> {
-            String token = UUID.randomUUID().toString();
-            PasswordRecover entity = new PasswordRecover();
-            entity.setEmail(email);
-            entity.setToken(token);
-            entity.setExpiration(Instant.now().plus(tokenMinutes, ChronoUnit.MINUTES));
-            passwordRecoverRepository.save(entity);
-
-            SimpleMailMessage message = new SimpleMailMessage();
-            message.setTo(email);
-            message.setSubject("Recuperação de Senha - Empório Pet");
-            message.setText("Para redefinir sua senha, clique no link abaixo:\n\n" + recoverUri + token);
-            emailSender.send(message);
-        });
+    public MessageDTO createRecoverToken(String email, String clientIp) {
+        passwordRecoverService.request(email, clientIp);
 
         String message = "Caso o e-mail exista em nossa base de dados, um link de recuperação foi enviado.";
         return new MessageDTO(message);
@@ -144,6 +145,7 @@ public class AuthService {
 
         user.setPassword(passwordEncoder.encode(newPassword));
         userRepository.save(user);
+        userSnapshotCache.invalidate(user.getEmail());
 
         passwordRecoverRepository.delete(recoverEntity);
 
@@ -165,5 +167,6 @@ public class AuthService {
 
         user.setPassword(passwordEncoder.encode(dto.getNewPassword()));
         userRepository.save(user);
+        userSnapshotCache.invalidate(user.getEmail());
     }
 }
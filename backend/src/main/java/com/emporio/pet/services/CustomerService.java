@@ -5,6 +5,7 @@ import com.emporio.pet.dto.CustomerInsertDTO;
 import com.emporio.pet.dto.CustomerUpdateDTO;
 import com.emporio.pet.entities.Customer;
 import com.emporio.pet.entities.Role;
+import com.emporio.pet.entities.enums.LiveEventType;
 import com.emporio.pet.entities.enums.UserStatus;
 import com.emporio.pet.repositories.CustomerRepository;
 import com.emporio.pet.repositories.RoleRepository;
@@ -24,15 +25,27 @@ public class CustomerService {
     private final AuthService authService;
     private final PasswordEncoder passwordEncoder;
     private final RoleRepository roleRepository;
+    private final DailyMetricsService dailyMetrics;
+    private final ActivityLogService activityLog;
+    private final LiveEventBus liveEvents;
+    private final UserSearchService userSearch;
+    private final CustomerSuggestService customerSuggest;
 
     public CustomerService(CustomerRepository customerRepository, UserRepository userRepository,
                            AuthService authService, PasswordEncoder passwordEncoder,
-                           RoleRepository roleRepository) {
+                           RoleRepository roleRepository, DailyMetricsService dailyMetrics,
+                           ActivityLogService activityLog, LiveEventBus liveEvents,
+                           UserSearchService userSearch, CustomerSuggestService customerSuggest) {
         this.customerRepository = customerRepository;
         this.userRepository = userRepository;
         this.authService = authService;
         this.passwordEncoder = passwordEncoder;
         this.roleRepository = roleRepository;
+        this.dailyMetrics = dailyMetrics;
+        this.activityLog = activityLog;
+        this.liveEvents = liveEvents;
+        this.userSearch = userSearch;
+        this.customerSuggest = customerSuggest;
     }
 
     /**
@@ -62,6 +75,11 @@ public class CustomerService {
         customer.getRoles().add(clientRole);
 
         Customer savedCustomer = customerRepository.save(customer);
+        userSearch.userChanged(savedCustomer);
+        customerSuggest.customerChanged(savedCustomer);
+        dailyMetrics.customerRegistered(savedCustomer.getCreationTimestamp());
+        activityLog.customerRegistered(savedCustomer);
+        liveEvents.publish(LiveEventType.CUSTOMER_REGISTERED, savedCustomer.getId(), null, null);
         return new CustomerDTO(savedCustomer);
     }
 
@@ -85,6 +103,8 @@ public class CustomerService {
         if (dto.getBirthDate() != null) customerEntity.setBirthDate(dto.getBirthDate());
 
         customerEntity = customerRepository.save(customerEntity);
+        userSearch.userChanged(customerEntity);
+        customerSuggest.customerChanged(customerEntity);
         return new CustomerDTO(customerEntity);
     }
 
@@ -0,0 +1,67 @@
+package com.emporio.pet.services;
+
+import com.emporio.pet.dto.CustomerSuggestionDTO;
+import com.emporio.pet.entities.Customer;
+import com.emporio.pet.repositories.CustomerRepository;
+import com.emporio.pet.services.search.CustomerSuggestIndex;
+import com.emporio.pet.services.search.CustomerSuggestIndex.Suggestion;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+/**
+ * Autocompletar de clientes por nome, CPF ou telefone, servido inteiramente da memória. O índice é carregado
+ * na inicialização e atualizado pelas escritas de clientes após o commit.
+ */
+@Service
+public class CustomerSuggestService {
+
+    private static final int MAX_LIMIT = 50;
+
+    private final CustomerRepository customerRepository;
+    private final CustomerSuggestIndex index = new CustomerSuggestIndex();
+
+    public CustomerSuggestService(CustomerRepository customerRepository, MeterRegistry meterRegistry) {
+        this.customerRepository = customerRepository;
+        Gauge.builder("search.customer-suggest.entries", index, CustomerSuggestIndex::size).register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        index.load(() -> customerRepository.findSuggestRows().stream()
+                .map(row -> new Suggestion(row.getId(), row.getName(), row.getCpf(), row.getPhone()))
+                .toList());
+    }
+
+    public List<CustomerSuggestionDTO> suggest(String query, int limit) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("O limite de sugestões deve estar entre 1 e " + MAX_LIMIT + ".");
+        }
+        return index.suggest(query, limit).stream()
+                .map(s -> new CustomerSuggestionDTO(s.id(), s.name(), s.cpf(), s.phone()))
+                .toList();
+    }
+
+    /**
+     * Atualiza o índice com o estado do cliente quando a transação corrente for confirmada.
+     */
+    public void customerChanged(Customer customer) {
+        Suggestion suggestion = new Suggestion(customer.getId(), customer.getName(), customer.getCpf(), customer.getPhone());
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    index.put(suggestion);
+                }
+            });
+        } else {
+            index.put(suggestion);
+        }
+    }
+}
@@ -0,0 +1,199 @@
+package com.emporio.pet.services;
+
+import com.emporio.pet.entities.DailyMetrics;
+import com.emporio.pet.entities.enums.AppointmentStatus;
+import com.emporio.pet.entities.enums.InvoiceStatus;
+import com.emporio.pet.repositories.DailyMetricsRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Mantém a tabela de métricas diárias do dashboard. As escritas de agendamentos, clientes e faturas
+ * registram deltas aplicados após o commit, em uma transação curta; uma recontagem na inicialização
+ * e todas as noites corrige eventuais desvios.
+ */
+@Service
+public class DailyMetricsService {
+
+    private static final Logger log = LoggerFactory.getLogger(DailyMetricsService.class);
+
+    private final DailyMetricsRepository repository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate requiresNew;
+    private final int reconcilePastDays;
+    private final int reconcileFutureDays;
+
+    public DailyMetricsService(DailyMetricsRepository repository, ApplicationEventPublisher eventPublisher,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${metrics.daily.reconcile-past-days}") int reconcilePastDays,
+                               @Value("${metrics.daily.reconcile-future-days}") int reconcileFutureDays) {
+        this.repository = repository;
+        this.eventPublisher = eventPublisher;
+        this.requiresNew = new TransactionTemplate(transactionManager);
+        this.requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.reconcilePastDays = reconcilePastDays;
+        this.reconcileFutureDays = reconcileFutureDays;
+    }
+
+    /**
+     * Registra a mudança de um agendamento entre "contado" e "cancelado" no dia de início.
+     */
+    public void appointmentStatusChanged(LocalDateTime start, AppointmentStatus oldStatus, AppointmentStatus newStatus) {
+        long delta = countsAsAppointment(newStatus) - countsAsAppointment(oldStatus);
+        if (delta != 0) {
+            afterCommit(start.toLocalDate(), delta, 0, BigDecimal.ZERO);
+        }
+    }
+
+    public void customerRegistered(Instant creationTimestamp) {
+        afterCommit(toDay(creationTimestamp), 0, 1, BigDecimal.ZERO);
+    }
+
+    public void invoicePaid(Instant invoiceTimestamp, BigDecimal amount) {
+        afterCommit(toDay(invoiceTimestamp), 0, 0, amount);
+    }
+
+    /**
+     * Retorna as linhas do intervalo [from, to]; dias sem movimento não têm linha.
+     */
+    public List<DailyMetrics> findRange(LocalDate from, LocalDate to) {
+        return repository.findByMetricDateBetween(from, to);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void reconcileOnStartup() {
+        reconcileRecentDays();
+    }
+
+    /**
+     * Recalcula, a partir das tabelas de origem, os dias da janela de recontagem e corrige as linhas divergentes.
+     */
+    @Scheduled(cron = "${metrics.daily.reconcile-cron}")
+    public void reconcileRecentDays() {
+        LocalDate today = LocalDate.now();
+        int corrected = reconcile(today.minusDays(reconcilePastDays), today.plusDays(reconcileFutureDays));
+        log.info("Métricas diárias: {} dias corrigidos na recontagem", corrected);
+    }
+
+    /**
+     * Recalcula os dias de [from, to] e retorna quantos precisaram de correção.
+     */
+    public int reconcile(LocalDate from, LocalDate to) {
+        Integer corrected = requiresNew.execute(status -> {
+            Map<LocalDate, DailyMetrics> actual = new HashMap<>();
+            for (DailyMetricsRepository.DayCount count : repository.countAppointmentsByDay(
+                    from.atStartOfDay(), to.plusDays(1).atStartOfDay(), AppointmentStatus.CANCELED)) {
+                row(actual, count.getDay()).setAppointments(count.getTotal());
+            }
+            Instant fromInstant = from.atStartOfDay(ZoneId.systemDefault()).toInstant();
+            Instant toInstant = to.plusDays(1).atStartOfDay(ZoneId.systemDefault()).toInstant();
+            for (Instant created : repository.findCustomerCreationTimestamps(fromInstant, toInstant)) {
+                DailyMetrics metrics = row(actual, toDay(created));
+                metrics.setNewCustomers(metrics.getNewCustomers() + 1);
+            }
+            for (DailyMetricsRepository.InvoiceAmount invoice : repository.findInvoiceAmounts(InvoiceStatus.PAID, fromInstant, toInstant)) {
+                DailyMetrics metrics = row(actual, toDay(invoice.getTimestamp()));
+                metrics.setPaidRevenue(metrics.getPaidRevenue().add(invoice.getTotalAmount()));
+            }
+
+            int changed = 0;
+            for (DailyMetrics stored : repository.findByMetricDateBetween(from, to)) {
+                DailyMetrics expected = actual.remove(stored.getMetricDate());
+                if (expected == null) {
+                    expected = new DailyMetrics(stored.getMetricDate(), 0, 0, BigDecimal.ZERO);
+                }
+                if (stored.getAppointments() != expected.getAppointments()
+                        || stored.getNewCustomers() != expected.getNewCustomers()
+                        || stored.getPaidRevenue().compareTo(expected.getPaidRevenue()) != 0) {
+                    stored.setAppointments(expected.getAppointments());
+                    stored.setNewCustomers(expected.getNewCustomers());
+                    stored.setPaidRevenue(expected.getPaidRevenue());
+                    changed++;
+                }
+            }
+            repository.saveAll(actual.values());
+            if (changed + actual.size() > 0) {
+                eventPublisher.publishEvent(new DashboardDataChangedEvent("daily-metrics"));
+            }
+            return changed + actual.size();
+        });
+        return corrected == null ? 0 : corrected;
+    }
+
+    private void afterCommit(LocalDate day, long appointments, long newCustomers, BigDecimal paidRevenue) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply(day, appointments, newCustomers, paidRevenue);
+                }
+            });
+        } else {
+            apply(day, appointments, newCustomers, paidRevenue);
+        }
+    }
+
+    private void apply(LocalDate day, long appointments, long newCustomers, BigDecimal paidRevenue) {
+        try {
+            if (incrementExisting(day, appointments, newCustomers, paidRevenue)) {
+                return;
+            }
+            try {
+                requiresNew.executeWithoutResult(status -> {
+                    repository.saveAndFlush(new DailyMetrics(day, appointments, newCustomers, paidRevenue));
+                    eventPublisher.publishEvent(new DashboardDataChangedEvent("daily-metrics"));
+                });
+            } catch (DataIntegrityViolationException e) {
+                // Outra transação criou a linha do dia ao mesmo tempo: basta somar
+                incrementExisting(day, appointments, newCustomers, paidRevenue);
+            }
+        } catch (RuntimeException e) {
+            // A escrita de origem já foi confirmada; a recontagem noturna corrige o dia
+            log.warn("Falha ao atualizar métricas do dia {}: {}", day, e.getMessage());
+        }
+    }
+
+    private boolean incrementExisting(LocalDate day, long appointments, long newCustomers, BigDecimal paidRevenue) {
+        Integer updated = requiresNew.execute(status -> {
+            int rows = repository.increment(day, appointments, newCustomers, paidRevenue);
+            if (rows > 0) {
+                eventPublisher.publishEvent(new DashboardDataChangedEvent("daily-metrics"));
+            }
+            return rows;
+        });
+        return updated != null && updated > 0;
+    }
+
+    private static DailyMetrics row(Map<LocalDate, DailyMetrics> rows, LocalDate day) {
+        return rows.computeIfAbsent(day, d -> new DailyMetrics(d, 0, 0, BigDecimal.ZERO));
+    }
+
+    private static long countsAsAppointment(AppointmentStatus status) {
+        return status == null || status == AppointmentStatus.CANCELED ? 0 : 1;
+    }
+
+    private static LocalDate toDay(Instant instant) {
+        return instant.atZone(ZoneId.systemDefault()).toLocalDate();
+    }
+}
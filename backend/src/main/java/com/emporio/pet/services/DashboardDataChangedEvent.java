@@ -0,0 +1,18 @@
+package com.emporio.pet.services;
+
+/**
+ * Publicado quando muda algum dado exibido no dashboard (KPIs ou atividades recentes).
+ * Tratado após o commit, para antecipar a atualização do snapshot em cache.
+ */
+public class DashboardDataChangedEvent {
+
+    private final String source;
+
+    public DashboardDataChangedEvent(String source) {
+        this.source = source;
+    }
+
+    public String getSource() {
+        return source;
+    }
+}
@@ -1,149 +1,185 @@
 package com.emporio.pet.services;
 
 import com.emporio.pet.dto.DashboardDTO;
-import com.emporio.pet.dto.RecentActivityDTO;
-import com.emporio.pet.entities.Appointment;
-import com.emporio.pet.entities.Customer;
-import com.emporio.pet.entities.enums.InvoiceStatus;
-import com.emporio.pet.repositories.*;
-import org.springframework.data.domain.PageRequest;
+import com.emporio.pet.entities.DailyMetrics;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
 
-import java.awt.print.Pageable;
 import java.math.BigDecimal;
 import java.time.Instant;
 import java.time.LocalDate;
 import java.time.YearMonth;
-import java.time.ZoneId;
-import java.util.ArrayList;
-import java.util.Comparator;
-import java.util.List;
-import java.util.stream.Collectors;
-
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Dashboard administrativo. O resultado fica em um snapshot compartilhado, atualizado em segundo plano
+ * a cada intervalo configurado ou logo após uma {@link DashboardDataChangedEvent}; requisições simultâneas
+ * com o snapshot vencido aguardam um único cálculo em andamento.
+ */
 @Service
 public class DashboardService {
 
-    private final AppointmentRepository appointmentRepository;
-    private final CustomerRepository customerRepository;
-    private final InvoiceRepository invoiceRepository;
-    private final PetRepository petRepository;
-    private final EmployeeRepository employeeRepository;
-
-    public DashboardService(AppointmentRepository appointmentRepository,
-                            CustomerRepository customerRepository,
-                            InvoiceRepository invoiceRepository,
-                            PetRepository petRepository,
-                            EmployeeRepository employeeRepository) {
-        this.appointmentRepository = appointmentRepository;
-        this.customerRepository = customerRepository;
-        this.invoiceRepository = invoiceRepository;
-        this.petRepository = petRepository;
-        this.employeeRepository = employeeRepository;
+    private static final Logger log = LoggerFactory.getLogger(DashboardService.class);
+
+    private static final int RECENT_LIMIT = 5;
+
+    private final DailyMetricsService dailyMetrics;
+    private final ActivityLogService activityLog;
+    private final Executor executor;
+    private final long maxStalenessNanos;
+
+    private final AtomicReference<CompletableFuture<DashboardDTO>> inFlight = new AtomicReference<>();
+    private final AtomicLong changeVersion = new AtomicLong();
+    private final AtomicLong refreshes = new AtomicLong();
+    private volatile CachedDashboard current;
+
+    public DashboardService(DailyMetricsService dailyMetrics,
+                            ActivityLogService activityLog,
+                            @Qualifier("applicationTaskExecutor") Executor executor,
+                            MeterRegistry meterRegistry,
+                            @Value("${dashboard.cache.max-staleness-seconds}") long maxStalenessSeconds) {
+        this.dailyMetrics = dailyMetrics;
+        this.activityLog = activityLog;
+        this.executor = executor;
+        this.maxStalenessNanos = maxStalenessSeconds * 1_000_000_000L;
+
+        FunctionCounter.builder("dashboard.snapshot.refreshes", refreshes, AtomicLong::get).register(meterRegistry);
+        Gauge.builder("dashboard.snapshot.age-seconds", this, DashboardService::snapshotAgeSeconds).register(meterRegistry);
     }
-    @Transactional(readOnly = true)
+
+    /**
+     * Retorna o snapshot em cache; se ausente ou mais velho que o limite de defasagem, aguarda a atualização.
+     */
     public DashboardDTO getDashboardData() {
-        DashboardDTO dto = new DashboardDTO();
+        CachedDashboard cached = current;
+        if (cached != null && System.nanoTime() - cached.loadedAt <= maxStalenessNanos) {
+            return cached.dashboard;
+        }
+        return await(refresh());
+    }
+
+    @Scheduled(fixedDelayString = "${dashboard.cache.refresh-interval-ms}")
+    public void refreshPeriodically() {
+        try {
+            await(refresh());
+        } catch (RuntimeException e) {
+            log.warn("Falha ao atualizar o snapshot do dashboard: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Antecipa a atualização após o commit de uma alteração relevante, sem bloquear quem a publicou.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDataChanged(DashboardDataChangedEvent event) {
+        changeVersion.incrementAndGet();
+        executor.execute(this::refresh);
+    }
+
+    /**
+     * Single-flight: se já existe um cálculo em andamento, devolve o mesmo futuro; senão calcula na thread atual.
+     * Se chegou uma alteração durante o cálculo, agenda outro para não publicar um snapshot que a ignore.
+     */
+    private CompletableFuture<DashboardDTO> refresh() {
+        while (true) {
+            CompletableFuture<DashboardDTO> running = inFlight.get();
+            if (running != null) {
+                return running;
+            }
+            CompletableFuture<DashboardDTO> mine = new CompletableFuture<>();
+            if (!inFlight.compareAndSet(null, mine)) {
+                continue;
+            }
+            long version = changeVersion.get();
+            try {
+                DashboardDTO dashboard = buildDashboard();
+                current = new CachedDashboard(dashboard, System.nanoTime());
+                refreshes.incrementAndGet();
+                mine.complete(dashboard);
+            } catch (RuntimeException e) {
+                mine.completeExceptionally(e);
+            } finally {
+                inFlight.set(null);
+            }
+            if (changeVersion.get() != version) {
+                executor.execute(this::refresh);
+            }
+            return mine;
+        }
+    }
 
-        // --- 1. Lógica de Agendamentos ---
+    /**
+     * Monta o dashboard: os KPIs somam no máximo 62 linhas da tabela de métricas diárias e as atividades
+     * recentes vêm do log de atividades, em uma consulta indexada cada.
+     */
+    private DashboardDTO buildDashboard() {
+        // --- KPIs: agendamentos (hoje x ontem), novos clientes e faturamento (mês x mês passado) ---
         LocalDate today = LocalDate.now();
-        int agendamentosHoje = appointmentRepository.countByStartDateTimeBetween(today.atStartOfDay(), today.atTime(23, 59, 59));
-        int agendamentosOntem = appointmentRepository.countByStartDateTimeBetween(today.minusDays(1).atStartOfDay(), today.minusDays(1).atTime(23, 59, 59));
-        dto.setAgendamentosHoje(agendamentosHoje);
-        dto.setAgendamentosHojeVsOntem(calculatePercentageChange(agendamentosOntem, agendamentosHoje));
-
-        // --- 2. Lógica de Novos Clientes ---
-        YearMonth currentMonthCustomer = YearMonth.now();
-        YearMonth lastMonthCustomer = currentMonthCustomer.minusMonths(1);
-        int novosClientesMes = customerRepository.countByCreationTimestampBetween(currentMonthCustomer.atDay(1).atStartOfDay().atZone(ZoneId.systemDefault()).toInstant(), currentMonthCustomer.atEndOfMonth().atTime(23, 59, 59).atZone(ZoneId.systemDefault()).toInstant());
-        int novosClientesMesPassado = customerRepository.countByCreationTimestampBetween(lastMonthCustomer.atDay(1).atStartOfDay().atZone(ZoneId.systemDefault()).toInstant(), lastMonthCustomer.atEndOfMonth().atTime(23, 59, 59).atZone(ZoneId.systemDefault()).toInstant());
-        dto.setNovosClientesMes(novosClientesMes);
-        dto.setNovosClientesMesVsPassado(calculatePercentageChange(novosClientesMesPassado, novosClientesMes));
-
-        // --- 3. Lógica de Faturamento ---
         YearMonth currentMonth = YearMonth.now();
         YearMonth lastMonth = currentMonth.minusMonths(1);
+        long appointmentsToday = 0, appointmentsYesterday = 0, newCustomersThisMonth = 0, newCustomersLastMonth = 0;
+        BigDecimal revenueThisMonth = BigDecimal.ZERO, revenueLastMonth = BigDecimal.ZERO;
+        for (DailyMetrics day : dailyMetrics.findRange(lastMonth.atDay(1), currentMonth.atEndOfMonth())) {
+            LocalDate date = day.getMetricDate();
+            if (date.equals(today)) {
+                appointmentsToday = day.getAppointments();
+            } else if (date.equals(today.minusDays(1))) {
+                appointmentsYesterday = day.getAppointments();
+            }
+            if (YearMonth.from(date).equals(currentMonth)) {
+                newCustomersThisMonth += day.getNewCustomers();
+                revenueThisMonth = revenueThisMonth.add(day.getPaidRevenue());
+            } else {
+                newCustomersLastMonth += day.getNewCustomers();
+                revenueLastMonth = revenueLastMonth.add(day.getPaidRevenue());
+            }
+        }
+
+        DashboardDTO dto = new DashboardDTO();
+        dto.setAgendamentosHoje((int) appointmentsToday);
+        dto.setAgendamentosHojeVsOntem(calculatePercentageChange(appointmentsYesterday, appointmentsToday));
+        dto.setNovosClientesMes((int) newCustomersThisMonth);
+        dto.setNovosClientesMesVsPassado(calculatePercentageChange(newCustomersLastMonth, newCustomersThisMonth));
+        dto.setFaturamentoMes(revenueThisMonth);
+        dto.setFaturamentoMesVsPassado(calculatePercentageChange(revenueLastMonth, revenueThisMonth));
 
-        Instant startOfCurrentMonth = currentMonth.atDay(1).atStartOfDay(ZoneId.systemDefault()).toInstant();
-        Instant endOfCurrentMonth = currentMonth.atEndOfMonth().atTime(23, 59, 59).atZone(ZoneId.systemDefault()).toInstant();
-
-        Instant startOfLastMonth = lastMonth.atDay(1).atStartOfDay(ZoneId.systemDefault()).toInstant();
-        Instant endOfLastMonth = lastMonth.atEndOfMonth().atTime(23, 59, 59).atZone(ZoneId.systemDefault()).toInstant();
-
-        BigDecimal faturamentoMes = invoiceRepository.sumPaidInvoicesByDate(InvoiceStatus.PAID, startOfCurrentMonth, endOfCurrentMonth);
-        BigDecimal faturamentoMesPassado = invoiceRepository.sumPaidInvoicesByDate(InvoiceStatus.PAID, startOfLastMonth, endOfLastMonth);
-
-        dto.setFaturamentoMes(faturamentoMes == null ? BigDecimal.ZERO : faturamentoMes);
-        dto.setFaturamentoMesVsPassado(calculatePercentageChange(faturamentoMesPassado, faturamentoMes));
-
-        // --- 4. Lógica de Atividades Recentes ---
-        List<RecentActivityDTO> recentActivities = new ArrayList<>();
-
-        // Atividade 1: Novos clientes
-        customerRepository.findTop5ByOrderByCreationTimestampDesc().forEach(customer -> {
-            RecentActivityDTO activity = new RecentActivityDTO();
-            activity.setType("NEW_CUSTOMER");
-            activity.setTitle("Novo cliente cadastrado");
-            activity.setDescription(customer.getName());
-            activity.setTimestamp(customer.getCreationTimestamp());
-            recentActivities.add(activity);
-        });
-
-        // Atividade 2: Últimos agendamentos
-        appointmentRepository.findTop5ByOrderByStartDateTimeDesc().forEach(app -> {
-            RecentActivityDTO activity = new RecentActivityDTO();
-            activity.setType("APPOINTMENT");
-            activity.setTitle("Agendamento: " + app.getStatus().toString().toLowerCase());
-            activity.setDescription(app.getService().getName() + " para " + app.getPet().getName());
-            activity.setTimestamp(app.getStartDateTime().atZone(ZoneId.systemDefault()).toInstant());
-            recentActivities.add(activity);
-        });
-
-        // 4. NOVO: Atividade 3: Faturas Pagas
-        invoiceRepository.findTop5ByStatusOrderByTimestampDesc(InvoiceStatus.PAID).forEach(invoice -> {
-            RecentActivityDTO activity = new RecentActivityDTO();
-            activity.setType("INVOICE_PAID");
-            activity.setTitle("Fatura Paga");
-            activity.setDescription("Fatura #" + invoice.getId() + " de " + invoice.getCustomer().getName());
-            activity.setTimestamp(invoice.getTimestamp());
-            recentActivities.add(activity);
-        });
-
-        // 5. NOVO: Atividade 4: Novos Pets Cadastrados
-        petRepository.findTop5ByOrderByIdDesc().forEach(pet -> {
-            RecentActivityDTO activity = new RecentActivityDTO();
-            activity.setType("NEW_PET");
-            activity.setTitle("Novo pet cadastrado");
-            activity.setDescription(pet.getName() + " (Dono(a): " + pet.getOwner().getName() + ")");
-            activity.setTimestamp(pet.getOwner().getCreationTimestamp());
-            recentActivities.add(activity);
-        });
-
-
-        // --- ATIVIDADE 6: NOVOS FUNCIONÁRIOS (NOVO BLOCO) ---
-        employeeRepository.findTop5ByOrderByCreationTimestampDesc().forEach(employee -> {
-            RecentActivityDTO activity = new RecentActivityDTO();
-            activity.setType("NEW_EMPLOYEE");
-            activity.setTitle("Novo funcionário admitido");
-            activity.setDescription(employee.getName() + " (" + employee.getJobTitle() + ")");
-            activity.setTimestamp(employee.getCreationTimestamp());
-            recentActivities.add(activity);
-        });
-
-        // Ordena a lista combinada de todas as atividades e pega as 5 mais recentes
-        List<RecentActivityDTO> sortedActivities = recentActivities.stream()
-                .sorted(Comparator.comparing(RecentActivityDTO::getTimestamp, Comparator.nullsLast(Comparator.reverseOrder())))
-                .limit(5)
-                .collect(Collectors.toList());
-
-        dto.setRecentActivities(sortedActivities);
+        dto.setRecentActivities(activityLog.findRecent(RECENT_LIMIT));
+        dto.setGeneratedAt(Instant.now());
 
         return dto;
     }
 
+    private static DashboardDTO await(CompletableFuture<DashboardDTO> refresh) {
+        try {
+            return refresh.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private double snapshotAgeSeconds() {
+        CachedDashboard cached = current;
+        return cached == null ? Double.NaN : (System.nanoTime() - cached.loadedAt) / 1e9;
+    }
+
 
     // Método auxiliar para calcular a variação percentual
-    private double calculatePercentageChange(Number oldValue, Number newValue) {
+    public static double calculatePercentageChange(Number oldValue, Number newValue) {
         double oldVal = (oldValue == null) ? 0.0 : oldValue.doubleValue();
         double newVal = (newValue == null) ? 0.0 : newValue.doubleValue();
         if (oldVal == 0) {
@@ -151,4 +187,7 @@ public class DashboardService {
         }
         return ((newVal - oldVal) / oldVal) * 100.0;
     }
-}
\ No newline at end of file
+
+    private record CachedDashboard(DashboardDTO dashboard, long loadedAt) {
+    }
+}
@@ -0,0 +1,141 @@
+package com.emporio.pet.services;
+
+import com.emporio.pet.entities.OutboundEmail;
+import com.emporio.pet.entities.enums.EmailStatus;
+import com.emporio.pet.repositories.OutboundEmailRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Caixa de saída de e-mails. Quem envia apenas grava a mensagem na transação corrente;
+ * o despachante agendado envia em lotes, fora de qualquer requisição, com novas tentativas e backoff exponencial.
+ */
+@Service
+public class EmailOutboxService {
+
+    private static final Logger log = LoggerFactory.getLogger(EmailOutboxService.class);
+
+    private final OutboundEmailRepository repository;
+    private final JavaMailSender mailSender;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+    private final Duration retention;
+
+    private final AtomicLong pending = new AtomicLong();
+    private final Counter sent;
+    private final Counter retried;
+    private final Counter failed;
+
+    public EmailOutboxService(OutboundEmailRepository repository, JavaMailSender mailSender, MeterRegistry meterRegistry,
+                              @Value("${email.outbox.batch-size}") int batchSize,
+                              @Value("${email.outbox.max-attempts}") int maxAttempts,
+                              @Value("${email.outbox.initial-backoff-seconds}") long initialBackoffSeconds,
+                              @Value("${email.outbox.max-backoff-seconds}") long maxBackoffSeconds,
+                              @Value("${email.outbox.retention-days}") long retentionDays) {
+        this.repository = repository;
+        this.mailSender = mailSender;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.initialBackoff = Duration.ofSeconds(initialBackoffSeconds);
+        this.maxBackoff = Duration.ofSeconds(maxBackoffSeconds);
+        this.retention = Duration.ofDays(retentionDays);
+
+        Gauge.builder("email.outbox.pending", pending, AtomicLong::get).register(meterRegistry);
+        this.sent = Counter.builder("email.outbox.sent").register(meterRegistry);
+        this.retried = Counter.builder("email.outbox.retried").register(meterRegistry);
+        this.failed = Counter.builder("email.outbox.failed").register(meterRegistry);
+    }
+
+    /**
+     * Grava o e-mail na caixa de saída. Exige uma transação: só é enviado se ela for confirmada.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueue(String recipient, String subject, String body) {
+        repository.save(new OutboundEmail(recipient, subject, body, Instant.now()));
+    }
+
+    /**
+     * Envia um lote de e-mails pendentes cujo horário de tentativa já chegou.
+     * O envio SMTP acontece sem transação aberta; cada resultado é gravado individualmente.
+     * Qualquer exceção no envio conta como tentativa, para que um e-mail problemático não trave o lote.
+     */
+    @Scheduled(fixedDelayString = "${email.outbox.poll-interval-ms}")
+    public void dispatchPending() {
+        List<OutboundEmail> batch = repository.findDue(EmailStatus.PENDING, Instant.now(), PageRequest.of(0, batchSize));
+        for (OutboundEmail email : batch) {
+            int attempt = email.getAttempts() + 1;
+            email.setAttempts(attempt);
+            try {
+                mailSender.send(toMessage(email));
+                email.setStatus(EmailStatus.SENT);
+                email.setSentAt(Instant.now());
+                email.setLastError(null);
+                sent.increment();
+            } catch (RuntimeException e) {
+                registerFailure(email, attempt, e);
+            }
+            repository.save(email);
+        }
+        pending.set(repository.countByStatus(EmailStatus.PENDING));
+    }
+
+    /**
+     * Remove os e-mails já enviados há mais tempo que o período de retenção.
+     */
+    @Scheduled(cron = "${email.outbox.purge-cron}")
+    @Transactional
+    public void purgeSent() {
+        int removed = repository.deleteSentBefore(EmailStatus.SENT, Instant.now().minus(retention));
+        log.info("Caixa de saída: {} e-mails enviados removidos", removed);
+    }
+
+    public long getPending() {
+        return pending.get();
+    }
+
+    private void registerFailure(OutboundEmail email, int attempt, RuntimeException e) {
+        String message = e.getMessage() != null ? e.getMessage() : e.getClass().getName();
+        email.setLastError(truncate(message));
+        Duration backoff = initialBackoff.multipliedBy(1L << Math.min(attempt - 1, 20));
+        email.setNextAttemptAt(Instant.now().plus(backoff.compareTo(maxBackoff) > 0 ? maxBackoff : backoff));
+        if (attempt >= maxAttempts) {
+            email.setStatus(EmailStatus.FAILED);
+            failed.increment();
+            log.error("E-mail {} descartado após {} tentativas: {}", email.getId(), attempt, message);
+            return;
+        }
+        retried.increment();
+        log.warn("Falha ao enviar e-mail {} (tentativa {}): {}", email.getId(), attempt, message);
+    }
+
+    private static SimpleMailMessage toMessage(OutboundEmail email) {
+        SimpleMailMessage message = new SimpleMailMessage();
+        message.setTo(email.getRecipient());
+        message.setSubject(email.getSubject());
+        message.setText(email.getBody());
+        return message;
+    }
+
+    private static String truncate(String message) {
+        if (message == null) return null;
+        return message.length() <= 500 ? message : message.substring(0, 500);
+    }
+}
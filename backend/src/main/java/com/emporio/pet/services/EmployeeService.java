@@ -27,16 +27,24 @@ public class EmployeeService {
     private final PasswordEncoder passwordEncoder;
     private final RoleRepository roleRepository;
     private final ServiceRepository serviceRepository;
+    private final UserSnapshotCache userSnapshotCache;
+    private final ActivityLogService activityLog;
+    private final UserSearchService userSearch;
 
     public EmployeeService(EmployeeRepository employeeRepository, UserRepository userRepository,
                            AuthService authService, PasswordEncoder passwordEncoder,
-                           RoleRepository roleRepository, ServiceRepository serviceRepository) {
+                           RoleRepository roleRepository, ServiceRepository serviceRepository,
+                           UserSnapshotCache userSnapshotCache, ActivityLogService activityLog,
+                           UserSearchService userSearch) {
         this.employeeRepository = employeeRepository;
         this.userRepository = userRepository;
         this.authService = authService;
         this.passwordEncoder = passwordEncoder;
         this.roleRepository = roleRepository;
         this.serviceRepository = serviceRepository;
+        this.userSnapshotCache = userSnapshotCache;
+        this.activityLog = activityLog;
+        this.userSearch = userSearch;
     }
 
 
@@ -63,6 +71,9 @@ public class EmployeeService {
         employee.getRoles().add(employeeRole);
 
         Employee savedEmployee = employeeRepository.save(employee);
+        userSnapshotCache.invalidate(savedEmployee.getEmail());
+        userSearch.userChanged(savedEmployee);
+        activityLog.employeeHired(savedEmployee);
         return new EmployeeDTO(savedEmployee);
     }
 
@@ -85,6 +96,8 @@ public class EmployeeService {
         if (dto.getJobTitle() != null) employeeEntity.setJobTitle(dto.getJobTitle());
 
         employeeEntity = employeeRepository.save(employeeEntity);
+        userSnapshotCache.invalidate(employeeEntity.getEmail());
+        userSearch.userChanged(employeeEntity);
         return new EmployeeDTO(employeeEntity);
     }
 
@@ -1,44 +1,63 @@
 package com.emporio.pet.services;
 
+import com.emporio.pet.dto.CursorPageDTO;
 import com.emporio.pet.dto.InvoiceCreateDTO;
 import com.emporio.pet.dto.InvoiceDTO;
 import com.emporio.pet.entities.Appointment;
 import com.emporio.pet.entities.Customer;
 import com.emporio.pet.entities.Invoice;
-import com.emporio.pet.entities.User;
 import com.emporio.pet.entities.enums.AppointmentStatus;
 import com.emporio.pet.entities.enums.InvoiceStatus;
+import com.emporio.pet.entities.enums.LiveEventType;
 import com.emporio.pet.repositories.AppointmentRepository;
 import com.emporio.pet.repositories.CustomerRepository;
 import com.emporio.pet.repositories.InvoiceRepository;
+import com.emporio.pet.repositories.InvoiceSpecifications;
 import com.emporio.pet.services.exceptions.ConflictException;
 import com.emporio.pet.services.exceptions.ForbiddenException;
 import com.emporio.pet.services.exceptions.ResourceNotFoundException;
+import com.emporio.pet.services.search.SearchText;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
+import java.util.stream.Stream;
 
 @Service
 public class InvoiceService {
 
+    private static final int MAX_PAGE_SIZE = 100;
+
     private final InvoiceRepository invoiceRepository;
     private final AppointmentRepository appointmentRepository;
     private final CustomerRepository customerRepository;
     private final AuthService authService;
+    private final DailyMetricsService dailyMetrics;
+    private final ActivityLogService activityLog;
+    private final LiveEventBus liveEvents;
 
     public InvoiceService(InvoiceRepository invoiceRepository,
                           AppointmentRepository appointmentRepository,
                           CustomerRepository customerRepository,
-                          AuthService authService) {
+                          AuthService authService,
+                          DailyMetricsService dailyMetrics,
+                          ActivityLogService activityLog,
+                          LiveEventBus liveEvents) {
         this.invoiceRepository = invoiceRepository;
         this.appointmentRepository = appointmentRepository;
         this.customerRepository = customerRepository;
         this.authService = authService;
+        this.dailyMetrics = dailyMetrics;
+        this.activityLog = activityLog;
+        this.liveEvents = liveEvents;
     }
 
     /**
@@ -62,9 +81,8 @@ public class InvoiceService {
     @Transactional(readOnly = true)
     public Page<InvoiceDTO> find(Pageable pageable, Long customerId, Instant minDate, Instant maxDate, InvoiceStatus status) {
 
-        User authenticatedUser = authService.authenticated();
-        if (authenticatedUser.hasRole("ROLE_CLIENT")) {
-            customerId = authenticatedUser.getId();
+        if (authService.hasRole("ROLE_CLIENT")) {
+            customerId = authService.currentUserId();
         }
 
         Page<Invoice> page = invoiceRepository.findFiltered(pageable, customerId, minDate, maxDate, status);
@@ -77,8 +95,7 @@ public class InvoiceService {
      */
     @Transactional
     public InvoiceDTO create(InvoiceCreateDTO dto) {
-        User authenticatedUser = authService.authenticated();
-        if (!authenticatedUser.hasRole("ROLE_EMPLOYEE") && !authenticatedUser.hasRole("ROLE_ADMIN")) {
+        if (!authService.hasRole("ROLE_EMPLOYEE") && !authService.hasRole("ROLE_ADMIN")) {
             throw new ForbiddenException("Acesso negado. Apenas funcionários ou administradores podem criar faturas.");
         }
 
@@ -145,34 +162,86 @@ public class InvoiceService {
         invoice.setStatus(InvoiceStatus.PAID);
 
         invoice = invoiceRepository.save(invoice);
+        dailyMetrics.invoicePaid(invoice.getTimestamp(), invoice.getTotalAmount());
+        activityLog.invoicePaid(invoice);
+        liveEvents.publish(LiveEventType.INVOICE_PAID, invoice.getId(), invoice.getStatus().name(), null);
 
         return new InvoiceDTO(invoice);
     }
 
     /**
-     * Lista faturas com filtros, incluindo uma busca "inteligente" por nome ou CPF do cliente.
+     * Lista faturas com filtros, incluindo uma busca "inteligente" por nome, CPF ou telefone do cliente.
      */
     @Transactional(readOnly = true)
     public Page<InvoiceDTO> find(Pageable pageable, String searchTerm, Instant minDate, Instant maxDate, InvoiceStatus status) {
+        Specification<Invoice> filters = Specification.allOf(Stream.of(
+                InvoiceSpecifications.customerSearchKeyContains(searchKey(searchTerm)),
+                InvoiceSpecifications.issuedFrom(minDate),
+                InvoiceSpecifications.issuedUntil(maxDate),
+                InvoiceSpecifications.hasStatus(status)
+        ).filter(Objects::nonNull).toList());
+
+        return invoiceRepository.findAll(filters, pageable).map(InvoiceDTO::new);
+    }
 
-        String customerName = null;
-        String customerCpf = null;
-
-        // Lógica para determinar se o termo de busca é um nome ou um CPF
-        if (searchTerm != null && !searchTerm.trim().isEmpty()) {
-            // Remove todos os caracteres não numéricos. Se o resultado for um CPF válido, usamos a busca por CPF.
-            String numericTerm = searchTerm.replaceAll("[^0-9]", "");
-            if (numericTerm.length() > 0) { // Pode ajustar para .length() == 11 se quiser ser mais estrito
-                customerCpf = numericTerm;
-            } else {
-                customerName = searchTerm;
-            }
+    /**
+     * Busca de faturas paginada por cursor na ordem (timestamp DESC, id DESC). Só os filtros informados
+     * entram no SQL e a contagem só é executada quando {@code includeTotal} é verdadeiro.
+     * Clientes enxergam apenas as próprias faturas.
+     */
+    @Transactional(readOnly = true)
+    public CursorPageDTO<InvoiceDTO> search(String cursor, int size, String searchTerm, Long customerId,
+                                            Instant minDate, Instant maxDate, InvoiceStatus status, boolean includeTotal) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("O tamanho da página deve estar entre 1 e " + MAX_PAGE_SIZE + ".");
         }
+        KeysetCursor after = KeysetCursor.decode(cursor);
 
-        // Chama o nosso novo e único método do repositório
-        Page<Invoice> page = invoiceRepository.findFiltered(pageable, customerName, customerCpf, minDate, maxDate, status);
+        if (authService.hasRole("ROLE_CLIENT")) {
+            customerId = authService.currentUserId();
+        }
 
-        return page.map(InvoiceDTO::new);
+        Specification<Invoice> filters = Specification.allOf(Stream.of(
+                InvoiceSpecifications.customerId(customerId),
+                InvoiceSpecifications.customerSearchKeyContains(searchKey(searchTerm)),
+                InvoiceSpecifications.issuedFrom(minDate),
+                InvoiceSpecifications.issuedUntil(maxDate),
+                InvoiceSpecifications.hasStatus(status)
+        ).filter(Objects::nonNull).toList());
+
+        Specification<Invoice> page = InvoiceSpecifications.fetchCustomer().and(filters);
+        if (after != null) {
+            page = page.and(InvoiceSpecifications.before(after.instant(), after.id()));
+        }
+
+        // Colunas filtradas por igualdade entram na ordenação (sem mudar o resultado) para que o banco
+        // percorra os índices (customer_id|status, timestamp, id) já na ordem da página.
+        List<String> order = new ArrayList<>();
+        if (customerId != null) order.add("customer.id");
+        if (status != null) order.add("status");
+        order.add("timestamp");
+        order.add("id");
+        Sort newestFirst = Sort.by(Sort.Direction.DESC, order.toArray(String[]::new));
+
+        List<Invoice> invoices = invoiceRepository.findBy(page, q -> q.sortBy(newestFirst).limit(size + 1).all());
+        Long total = includeTotal ? invoiceRepository.count(filters) : null;
+
+        String nextCursor = null;
+        if (invoices.size() > size) {
+            invoices = invoices.subList(0, size);
+            Invoice last = invoices.get(size - 1);
+            nextCursor = KeysetCursor.encode(last.getTimestamp(), last.getId());
+        }
+        return new CursorPageDTO<>(invoices.stream().map(InvoiceDTO::new).toList(), nextCursor, total);
     }
 
+    /**
+     * Clientes que correspondem ao termo, segundo a busca de usuários; null quando não há termo.
+     */
+    private static String searchKey(String searchTerm) {
+        if (searchTerm == null || searchTerm.isBlank()) {
+            return null;
+        }
+        return SearchText.term(searchTerm);
+    }
 }
@@ -0,0 +1,53 @@
+package com.emporio.pet.services;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Cursor opaco de paginação por chave: a posição (data) e o id do último item da página anterior.
+ * Cursores malformados resultam em IllegalArgumentException (400).
+ */
+public record KeysetCursor(String position, long id) {
+
+    private static final String INVALID = "Cursor inválido.";
+
+    public static String encode(Object position, Long id) {
+        String raw = position + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodifica o cursor; retorna null se ele estiver ausente ou vazio (primeira página).
+     */
+    public static KeysetCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf('|');
+            return new KeysetCursor(raw.substring(0, separator), Long.parseLong(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new IllegalArgumentException(INVALID);
+        }
+    }
+
+    public Instant instant() {
+        try {
+            return Instant.parse(position);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException(INVALID);
+        }
+    }
+
+    public LocalDateTime localDateTime() {
+        try {
+            return LocalDateTime.parse(position);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException(INVALID);
+        }
+    }
+}
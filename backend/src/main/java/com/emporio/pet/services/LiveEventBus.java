@@ -0,0 +1,187 @@
+package com.emporio.pet.services;
+
+import com.emporio.pet.dto.LiveEventDTO;
+import com.emporio.pet.entities.enums.LiveEventType;
+import com.emporio.pet.services.exceptions.TooManyRequestsException;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Barramento em memória dos eventos ao vivo (agendamentos, faturas, clientes) para os streams SSE.
+ * Publicar só enfileira: cada assinante tem uma fila limitada, esvaziada por uma virtual thread apenas
+ * enquanto há o que enviar, de modo que conexões ociosas não ocupam threads. Se a fila de um assinante
+ * enche, os eventos pendentes são descartados e ele recebe um {@code RESYNC}.
+ */
+@Component
+public class LiveEventBus {
+
+    private static final LiveEventDTO HEARTBEAT = new LiveEventDTO();
+
+    private final int bufferSize;
+    private final int maxSubscribers;
+    private final long timeoutMillis;
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final ExecutorService senders = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("live-events-", 0).factory());
+    private final AtomicLong sequence = new AtomicLong();
+    private final AtomicLong published = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+
+    public LiveEventBus(MeterRegistry meterRegistry,
+                        @Value("${live-events.buffer-size}") int bufferSize,
+                        @Value("${live-events.max-subscribers}") int maxSubscribers,
+                        @Value("${live-events.timeout-ms}") long timeoutMillis) {
+        this.bufferSize = bufferSize;
+        this.maxSubscribers = maxSubscribers;
+        this.timeoutMillis = timeoutMillis;
+
+        FunctionCounter.builder("live-events.published", published, AtomicLong::get).register(meterRegistry);
+        FunctionCounter.builder("live-events.dropped", dropped, AtomicLong::get).register(meterRegistry);
+        Gauge.builder("live-events.subscribers", subscribers, Set::size).register(meterRegistry);
+    }
+
+    /**
+     * Abre um stream. Se o cliente informa o último evento recebido (reconexão) e houve eventos depois dele,
+     * o primeiro envio é um {@code RESYNC}.
+     */
+    public SseEmitter subscribe(String lastEventId) {
+        if (subscribers.size() >= maxSubscribers) {
+            throw new TooManyRequestsException("Limite de conexões de eventos ao vivo atingido. Tente novamente mais tarde.");
+        }
+        Subscriber subscriber = new Subscriber(new SseEmitter(timeoutMillis), new ArrayBlockingQueue<>(bufferSize));
+        subscriber.emitter.onCompletion(() -> subscribers.remove(subscriber));
+        subscriber.emitter.onTimeout(() -> subscribers.remove(subscriber));
+        subscriber.emitter.onError(e -> subscribers.remove(subscriber));
+        subscribers.add(subscriber);
+
+        if (lastEventId != null && !lastEventId.equals(String.valueOf(sequence.get()))) {
+            subscriber.overflowed = true;
+            schedule(subscriber);
+        }
+        return subscriber.emitter;
+    }
+
+    /**
+     * Publica o evento após o commit da transação atual (ou já, se não houver transação).
+     */
+    public void publish(LiveEventType type, Long entityId, String status, LocalDateTime startDateTime) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    dispatch(type, entityId, status, startDateTime);
+                }
+            });
+        } else {
+            dispatch(type, entityId, status, startDateTime);
+        }
+    }
+
+    /**
+     * Comentário periódico que mantém as conexões abertas em proxies e detecta clientes desconectados.
+     */
+    @Scheduled(fixedRateString = "${live-events.heartbeat-ms}")
+    public void sendHeartbeats() {
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.queue.isEmpty() && subscriber.queue.offer(HEARTBEAT)) {
+                schedule(subscriber);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        for (Subscriber subscriber : subscribers) {
+            subscriber.emitter.complete();
+        }
+        senders.shutdownNow();
+    }
+
+    private void dispatch(LiveEventType type, Long entityId, String status, LocalDateTime startDateTime) {
+        LiveEventDTO event = new LiveEventDTO(sequence.incrementAndGet(), type, entityId, status, startDateTime, Instant.now());
+        published.incrementAndGet();
+        for (Subscriber subscriber : subscribers) {
+            if (!subscriber.queue.offer(event)) {
+                subscriber.overflowed = true;
+                dropped.incrementAndGet();
+            }
+            schedule(subscriber);
+        }
+    }
+
+    private void schedule(Subscriber subscriber) {
+        if (subscriber.draining.compareAndSet(false, true)) {
+            senders.execute(() -> drain(subscriber));
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        try {
+            while (true) {
+                if (subscriber.overflowed) {
+                    subscriber.overflowed = false;
+                    dropped.addAndGet(subscriber.queue.size());
+                    subscriber.queue.clear();
+                    send(subscriber, new LiveEventDTO(sequence.get(), LiveEventType.RESYNC, null, null, null, Instant.now()));
+                }
+                LiveEventDTO event = subscriber.queue.poll();
+                if (event == null) {
+                    subscriber.draining.set(false);
+                    // Algo pode ter sido enfileirado entre o poll e a liberação: retoma se ninguém mais o fez
+                    if ((subscriber.queue.isEmpty() && !subscriber.overflowed) || !subscriber.draining.compareAndSet(false, true)) {
+                        return;
+                    }
+                    continue;
+                }
+                send(subscriber, event);
+            }
+        } catch (IOException | IllegalStateException e) {
+            // Cliente desconectado ou stream já encerrado; o contêiner notifica o emitter
+            subscribers.remove(subscriber);
+            subscriber.draining.set(false);
+        }
+    }
+
+    private static void send(Subscriber subscriber, LiveEventDTO event) throws IOException {
+        if (event == HEARTBEAT) {
+            subscriber.emitter.send(SseEmitter.event().comment("keepalive"));
+        } else {
+            subscriber.emitter.send(SseEmitter.event()
+                    .id(String.valueOf(event.getId()))
+                    .name(event.getType().name())
+                    .data(event, MediaType.APPLICATION_JSON));
+        }
+    }
+
+    private static final class Subscriber {
+        final SseEmitter emitter;
+        final ArrayBlockingQueue<LiveEventDTO> queue;
+        final AtomicBoolean draining = new AtomicBoolean();
+        volatile boolean overflowed;
+
+        Subscriber(SseEmitter emitter, ArrayBlockingQueue<LiveEventDTO> queue) {
+            this.emitter = emitter;
+            this.queue = queue;
+        }
+    }
+}
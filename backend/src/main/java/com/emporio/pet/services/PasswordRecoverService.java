@@ -0,0 +1,124 @@
+package com.emporio.pet.services;
+
+import com.emporio.pet.entities.PasswordRecover;
+import com.emporio.pet.repositories.PasswordRecoverRepository;
+import com.emporio.pet.repositories.UserRepository;
+import com.emporio.pet.services.exceptions.TooManyRequestsException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pedidos de recuperação de senha. A thread da requisição só aplica os limites e enfileira o pedido;
+ * a busca do usuário, a gravação do token e a caixa de saída rodam em um executor limitado. Assim a resposta
+ * leva o mesmo tempo exista ou não a conta, e não depende do servidor de e-mail.
+ */
+@Service
+public class PasswordRecoverService {
+
+    private static final Logger log = LoggerFactory.getLogger(PasswordRecoverService.class);
+
+    private final UserRepository userRepository;
+    private final PasswordRecoverRepository passwordRecoverRepository;
+    private final EmailOutboxService emailOutbox;
+    private final TransactionTemplate transactionTemplate;
+    private final TokenBucketRateLimiter emailLimiter;
+    private final TokenBucketRateLimiter ipLimiter;
+    private final ThreadPoolExecutor executor;
+    private final Counter rateLimited;
+    private final Counter rejected;
+
+    @Value("${email.password-recover.token.minutes}")
+    private Long tokenMinutes;
+    @Value("${email.password-recover.uri}")
+    private String recoverUri;
+
+    public PasswordRecoverService(UserRepository userRepository, PasswordRecoverRepository passwordRecoverRepository,
+                                  EmailOutboxService emailOutbox, PlatformTransactionManager transactionManager,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${password-recover.rate-limit.per-email}") int perEmail,
+                                  @Value("${password-recover.rate-limit.per-ip}") int perIp,
+                                  @Value("${password-recover.rate-limit.period-seconds}") long periodSeconds,
+                                  @Value("${password-recover.rate-limit.max-keys}") int maxKeys,
+                                  @Value("${password-recover.worker.threads}") int threads,
+                                  @Value("${password-recover.worker.queue-capacity}") int queueCapacity) {
+        this.userRepository = userRepository;
+        this.passwordRecoverRepository = passwordRecoverRepository;
+        this.emailOutbox = emailOutbox;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.emailLimiter = new TokenBucketRateLimiter(perEmail, periodSeconds, maxKeys);
+        this.ipLimiter = new TokenBucketRateLimiter(perIp, periodSeconds, maxKeys);
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS, new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-recover-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+
+        this.rateLimited = Counter.builder("password-recover.rate-limited").register(meterRegistry);
+        this.rejected = Counter.builder("password-recover.rejected").register(meterRegistry);
+        Gauge.builder("password-recover.queue", executor, e -> e.getQueue().size()).register(meterRegistry);
+    }
+
+    /**
+     * Aplica os limites por IP e por e-mail e enfileira a geração do token.
+     * Lança TooManyRequestsException se algum limite for excedido.
+     */
+    public void request(String email, String clientIp) {
+        String normalizedEmail = email.trim().toLowerCase(Locale.ROOT);
+        if (!ipLimiter.tryAcquire(clientIp) || !emailLimiter.tryAcquire(normalizedEmail)) {
+            rateLimited.increment();
+            throw new TooManyRequestsException("Muitas solicitações de recuperação de senha. Tente novamente mais tarde.");
+        }
+        try {
+            executor.execute(() -> issueToken(email));
+        } catch (RejectedExecutionException e) {
+            // Fila cheia: descarta sem mudar a resposta, que não pode revelar nada sobre a conta
+            rejected.increment();
+            log.warn("Fila de recuperação de senha cheia; pedido descartado");
+        }
+    }
+
+    private void issueToken(String email) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> userRepository.findByEmail(email).ifPresent(user -> {
+                String token = UUID.randomUUID().toString();
+                PasswordRecover entity = new PasswordRecover();
+                entity.setEmail(email);
+                entity.setToken(token);
+                entity.setExpiration(Instant.now().plus(tokenMinutes, ChronoUnit.MINUTES));
+                passwordRecoverRepository.save(entity);
+
+                emailOutbox.enqueue(email, "Recuperação de Senha - Empório Pet",
+                        "Para redefinir sua senha, clique no link abaixo:\n\n" + recoverUri + token);
+            }));
+        } catch (RuntimeException e) {
+            log.error("Falha ao gerar token de recuperação de senha", e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        executor.shutdown();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+    }
+}
@@ -25,12 +25,15 @@ public class PetService {
     private final AuthService authService;
     private final BreedService breedService;
     private final CustomerRepository customerRepository;
+    private final ActivityLogService activityLog;
 
-    public PetService(PetRepository petRepository, AuthService authService, BreedService breedService, CustomerRepository customerRepository) {
+    public PetService(PetRepository petRepository, AuthService authService, BreedService breedService, CustomerRepository customerRepository,
+                      ActivityLogService activityLog) {
         this.petRepository = petRepository;
         this.authService = authService;
         this.breedService = breedService;
         this.customerRepository = customerRepository;
+        this.activityLog = activityLog;
     }
 
     /**
@@ -83,6 +86,7 @@ public class PetService {
         pet.setBreed(breed);
 
         pet = petRepository.save(pet);
+        activityLog.petCreated(pet);
         return new PetDTO(pet);
     }
 
@@ -104,6 +108,7 @@ public class PetService {
         pet.setBreed(breed);
 
         pet = petRepository.save(pet);
+        activityLog.petCreated(pet);
         return new PetDTO(pet);
     }
 
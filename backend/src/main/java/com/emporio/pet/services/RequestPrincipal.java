@@ -0,0 +1,72 @@
+package com.emporio.pet.services;
+
+import com.emporio.pet.entities.User;
+import com.emporio.pet.repositories.UserRepository;
+import com.emporio.pet.services.exceptions.UsernameNotFoundException;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.annotation.RequestScope;
+
+/**
+ * Usuário autenticado da requisição corrente, sem SQL: o id vem do claim userId do JWT e os perfis das
+ * autoridades montadas pelo conversor de JWT a partir do {@link UserSnapshotCache}. A entidade User só é
+ * carregada quando realmente necessária, no máximo uma vez por requisição.
+ */
+@Component
+@RequestScope
+public class RequestPrincipal {
+
+    private final UserRepository userRepository;
+
+    private User user;
+
+    public RequestPrincipal(UserRepository userRepository) {
+        this.userRepository = userRepository;
+    }
+
+    /**
+     * Retorna o id do usuário autenticado a partir do claim userId.
+     */
+    public Long getUserId() {
+        if (authentication().getPrincipal() instanceof Jwt jwt && jwt.getClaim("userId") instanceof Number userId) {
+            return userId.longValue();
+        }
+        return getUser().getId();
+    }
+
+    /**
+     * Verifica o perfil pelas autoridades da autenticação. Elas não vêm do claim scope do token: o conversor
+     * de JWT as remonta a cada requisição a partir do {@link UserSnapshotCache}, então bloqueios e mudanças de
+     * perfil valem já na requisição seguinte, sem esperar o token expirar.
+     */
+    public boolean hasRole(String roleName) {
+        for (GrantedAuthority authority : authentication().getAuthorities()) {
+            if (authority.getAuthority().equals(roleName)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Carrega a entidade do usuário autenticado na primeira chamada e a reutiliza no restante da requisição.
+     */
+    public User getUser() {
+        if (user == null) {
+            String username = authentication().getName();
+            user = userRepository.findByEmail(username).orElseThrow(() -> new UsernameNotFoundException("Usuário inválido"));
+        }
+        return user;
+    }
+
+    private static Authentication authentication() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()) {
+            throw new UsernameNotFoundException("Usuário inválido");
+        }
+        return authentication;
+    }
+}
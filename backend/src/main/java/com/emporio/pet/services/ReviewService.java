@@ -4,7 +4,6 @@ import com.emporio.pet.dto.ReviewDTO;
 import com.emporio.pet.dto.ReviewInsertDTO;
 import com.emporio.pet.entities.Appointment;
 import com.emporio.pet.entities.Review;
-import com.emporio.pet.entities.User;
 import com.emporio.pet.entities.enums.AppointmentStatus;
 import com.emporio.pet.repositories.AppointmentRepository;
 import com.emporio.pet.repositories.ReviewRepository;
@@ -49,12 +48,12 @@ public class ReviewService {
      */
     @Transactional
     public ReviewDTO create(ReviewInsertDTO dto, Long appointmentId) {
-        User user = authService.authenticated();
+        Long userId = authService.currentUserId();
 
         Appointment appointment = appointmentRepository.findById(appointmentId)
                 .orElseThrow(() -> new ResourceNotFoundException("Agendamento não encontrado."));
 
-        if (!user.getId().equals(appointment.getPet().getOwner().getId())) {
+        if (!userId.equals(appointment.getPet().getOwner().getId())) {
             throw new ForbiddenException("Acesso negado. Você só pode avaliar seus próprios agendamentos.");
         }
 
@@ -63,7 +63,7 @@ public class ServicesService {
      */
     @Transactional(readOnly = true)
     public List<EmployeeDTO> findQualifiedEmployees(Long serviceId) {
-        Services service = serviceRepository.findByIdWithQualifiedEmployees(serviceId)
+        Services service = serviceRepository.findByIdWithQualifiedEmployeeProfiles(serviceId)
                 .orElseThrow(() -> new ResourceNotFoundException("Serviço não encontrado com o ID: " + serviceId));
 
         return service.getQualifiedEmployees().stream()
@@ -127,7 +127,7 @@ public class ServicesService {
      */
     @Transactional
     public ServicesDTO update(Long id, ServicesUpdateDTO dto) {
-        if (!authService.isSelfOrAdmin(authService.authenticated().getId())) {
+        if (!authService.isSelfOrAdmin(authService.currentUserId())) {
             throw new ForbiddenException("Acesso negado. Apenas administradores podem atualizar serviços.");
         }
 
@@ -159,7 +159,7 @@ public class ServicesService {
      */
     @Transactional
     public void deactivate(Long id) {
-        if (!authService.isSelfOrAdmin(authService.authenticated().getId())) {
+        if (!authService.isSelfOrAdmin(authService.currentUserId())) {
             throw new ForbiddenException("Acesso negado. Apenas administradores podem desativar serviços.");
         }
 
@@ -176,7 +176,7 @@ public class ServicesService {
      */
     @Transactional
     public void activate(Long id) {
-        if (!authService.isSelfOrAdmin(authService.authenticated().getId())) {
+        if (!authService.isSelfOrAdmin(authService.currentUserId())) {
             throw new ForbiddenException("Acesso negado. Apenas administradores podem ativar serviços.");
         }
 
@@ -0,0 +1,63 @@
+package com.emporio.pet.services;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Limitador token bucket por chave (e-mail, IP...). Mantém no máximo maxKeys baldes em memória (LRU);
+ * uma chave descartada volta com o balde cheio.
+ */
+public class TokenBucketRateLimiter {
+
+    private final int capacity;
+    private final double tokensPerNano;
+    private final LinkedHashMap<String, Bucket> buckets;
+
+    public TokenBucketRateLimiter(int capacity, long refillPeriodSeconds, int maxKeys) {
+        if (capacity <= 0 || refillPeriodSeconds <= 0 || maxKeys <= 0) {
+            throw new IllegalArgumentException("Capacidade, período e número de chaves do limitador devem ser positivos.");
+        }
+        this.capacity = capacity;
+        // O balde vazio volta a ficar cheio em refillPeriodSeconds
+        this.tokensPerNano = capacity / (refillPeriodSeconds * 1e9);
+        this.buckets = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Bucket> eldest) {
+                return size() > maxKeys;
+            }
+        };
+    }
+
+    /**
+     * Consome uma ficha da chave; retorna false se o balde estiver vazio.
+     */
+    public boolean tryAcquire(String key) {
+        long now = System.nanoTime();
+        synchronized (buckets) {
+            Bucket bucket = buckets.get(key);
+            if (bucket == null) {
+                bucket = new Bucket(capacity, now);
+                buckets.put(key, bucket);
+            } else {
+                bucket.tokens = Math.min(capacity, bucket.tokens + (now - bucket.updatedAt) * tokensPerNano);
+                bucket.updatedAt = now;
+            }
+            if (bucket.tokens < 1) {
+                return false;
+            }
+            bucket.tokens--;
+            return true;
+        }
+    }
+
+    private static final class Bucket {
+
+        private double tokens;
+        private long updatedAt;
+
+        private Bucket(double tokens, long updatedAt) {
+            this.tokens = tokens;
+            this.updatedAt = updatedAt;
+        }
+    }
+}
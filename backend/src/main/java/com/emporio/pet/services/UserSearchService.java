@@ -0,0 +1,94 @@
+package com.emporio.pet.services;
+
+import com.emporio.pet.dto.UserSearchRow;
+import com.emporio.pet.entities.User;
+import com.emporio.pet.entities.enums.UserStatus;
+import com.emporio.pet.repositories.UserRepository;
+import com.emporio.pet.services.search.SearchText;
+import com.emporio.pet.services.search.UserSearchEntry;
+import com.emporio.pet.services.search.UserSearchIndex;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Busca de usuários por nome, CPF ou telefone com ranking, paginada. Na inicialização preenche as chaves de busca ausentes e carrega o índice;
+ * as escritas de usuários atualizam o índice após o commit.
+ */
+@Service
+public class UserSearchService {
+
+    private static final Logger log = LoggerFactory.getLogger(UserSearchService.class);
+    private static final int BACKFILL_BATCH_SIZE = 500;
+
+    private final UserRepository userRepository;
+    private final UserSearchIndex index;
+    private final TransactionTemplate transactionTemplate;
+
+    public UserSearchService(UserRepository userRepository, UserSearchIndex index, PlatformTransactionManager transactionManager) {
+        this.userRepository = userRepository;
+        this.index = index;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        int filled = backfillSearchKeys();
+        if (filled > 0) {
+            log.info("Chave de busca preenchida para {} usuários", filled);
+        }
+        index.rebuild();
+    }
+
+    /**
+     * Página de ids dos usuários do perfil que correspondem ao termo, do mais ao menos relevante.
+     */
+    public Page<Long> search(String term, String role, UserStatus status, Pageable pageable) {
+        return index.search(term, role, status, pageable);
+    }
+
+    /**
+     * Atualiza o índice com o estado do usuário quando a transação corrente for confirmada.
+     */
+    public void userChanged(User user) {
+        UserSearchEntry entry = UserSearchEntry.of(user);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    index.put(entry);
+                }
+            });
+        } else {
+            index.put(entry);
+        }
+    }
+
+    private int backfillSearchKeys() {
+        int total = 0;
+        while (true) {
+            Integer filled = transactionTemplate.execute(status -> {
+                List<UserSearchRow> rows = userRepository.findWithoutSearchKey(PageRequest.of(0, BACKFILL_BATCH_SIZE));
+                for (UserSearchRow row : rows) {
+                    userRepository.updateSearchKey(row.getId(), SearchText.key(row.getName(), row.getCpf(), row.getPhone()));
+                }
+                return rows.size();
+            });
+            total += filled;
+            if (filled < BACKFILL_BATCH_SIZE) {
+                return total;
+            }
+        }
+    }
+}
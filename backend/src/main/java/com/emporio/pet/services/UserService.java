@@ -13,10 +13,18 @@ import com.emporio.pet.repositories.EmployeeRepository;
 import com.emporio.pet.repositories.UserRepository;
 import com.emporio.pet.services.exceptions.ResourceNotFoundException;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
 @Service
 public class UserService {
 
@@ -24,39 +32,72 @@ public class UserService {
     private final CustomerRepository customerRepository;
     private final EmployeeRepository employeeRepository;
     private final AuthService authService;
+    private final UserSnapshotCache userSnapshotCache;
+    private final UserSearchService userSearch;
+    private final CustomerSuggestService customerSuggest;
 
-    public UserService(UserRepository userRepository, CustomerRepository customerRepository, EmployeeRepository employeeRepository, AuthService authService) {
+    public UserService(UserRepository userRepository, CustomerRepository customerRepository, EmployeeRepository employeeRepository,
+                       AuthService authService, UserSnapshotCache userSnapshotCache, UserSearchService userSearch,
+                       CustomerSuggestService customerSuggest) {
         this.userRepository = userRepository;
         this.employeeRepository = employeeRepository;
         this.authService = authService;
         this.customerRepository = customerRepository;
+        this.userSnapshotCache = userSnapshotCache;
+        this.userSearch = userSearch;
+        this.customerSuggest = customerSuggest;
     }
 
     /**
-     * Retorna todos os usuários de acordo com os filtros (nome, CPF, status e role).
+     * Retorna todos os usuários de acordo com os filtros (nome, CPF ou telefone, status e role).
+     * Com termo de busca, as páginas seguem a ordem de relevância do índice de busca.
+     * A página é resolvida só com ids; clientes (com pets) e funcionários (com serviços) vêm depois, em lote.
      */
     @Transactional(readOnly = true)
     public Page<UserDTO> findAll(Pageable pageable, String searchTerm, UserStatus status, String role) {
         String roleAuthority = "ROLE_" + role.toUpperCase();
-        Page<User> userPage;
-
-        String cleanNumericTerm = (searchTerm != null) ? searchTerm.replaceAll("[^0-9]", "") : "";
 
-        if (searchTerm != null && !cleanNumericTerm.isEmpty()) {
-            userPage = userRepository.findByCpfAndRole(cleanNumericTerm, status, roleAuthority, pageable);
-        } else {
-            userPage = userRepository.findByNameAndRole(searchTerm, status, roleAuthority, pageable);
+        if (searchTerm == null || searchTerm.isBlank()) {
+            Page<Long> ids = userRepository.findIdsByRole(status, roleAuthority, pageable);
+            return new PageImpl<>(loadInOrder(ids.getContent(), roleAuthority), pageable, ids.getTotalElements());
         }
 
-        return userPage.map(user -> {
-            if (user instanceof Customer) {
-                return new CustomerDTO((Customer) user);
-            } else if (user instanceof Employee) {
-                return new EmployeeDTO((Employee) user);
+        Page<Long> ranked = userSearch.search(searchTerm, roleAuthority, status, pageable);
+        return new PageImpl<>(loadInOrder(ranked.getContent(), roleAuthority), pageable, ranked.getTotalElements());
+    }
+
+    /**
+     * Carrega os usuários dos ids com uma consulta por subtipo, começando pelo subtipo esperado para o perfil,
+     * e monta as DTOs na ordem dos ids.
+     */
+    private List<UserDTO> loadInOrder(List<Long> ids, String roleAuthority) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, UserDTO> byId = new HashMap<>();
+        Set<Long> missing = new HashSet<>(ids);
+        boolean customersFirst = "ROLE_CLIENT".equals(roleAuthority);
+        for (int pass = 0; pass < 2 && !missing.isEmpty(); pass++) {
+            if (customersFirst == (pass == 0)) {
+                for (Customer customer : customerRepository.findAllWithPetsByIdIn(missing)) {
+                    byId.put(customer.getId(), new CustomerDTO(customer));
+                }
             } else {
-                return new UserDTO(user);
+                for (Employee employee : employeeRepository.findAllWithServicesByIdIn(missing)) {
+                    byId.put(employee.getId(), new EmployeeDTO(employee));
+                }
+            }
+            missing.removeAll(byId.keySet());
+        }
+
+        List<UserDTO> content = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            UserDTO dto = byId.get(id);
+            if (dto != null) {
+                content.add(dto);
             }
-        });
+        }
+        return content;
     }
 
     /**
@@ -110,8 +151,11 @@ public class UserService {
         if (dto.getBirthDate() != null) user.setBirthDate(dto.getBirthDate());
 
         user = userRepository.save(user);
+        userSnapshotCache.invalidate(user.getEmail());
+        userSearch.userChanged(user);
 
         if (user instanceof Customer) {
+            customerSuggest.customerChanged((Customer) user);
             return new CustomerDTO((Customer) user);
         } else if (user instanceof Employee) {
             return new EmployeeDTO((Employee) user);
@@ -129,6 +173,8 @@ public class UserService {
 
         user.setUserStatus(newStatus);
         user = userRepository.save(user);
+        userSnapshotCache.invalidate(user.getEmail());
+        userSearch.userChanged(user);
 
         if (user instanceof Customer) {
             return new CustomerDTO((Customer) user);
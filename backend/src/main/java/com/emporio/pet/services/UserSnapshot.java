@@ -0,0 +1,73 @@
+package com.emporio.pet.services;
+
+import com.emporio.pet.entities.Customer;
+import com.emporio.pet.entities.Employee;
+import com.emporio.pet.entities.Role;
+import com.emporio.pet.entities.User;
+import com.emporio.pet.entities.enums.UserStatus;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Cópia imutável dos dados de um usuário necessários para autorizar requisições: id, tipo, status e perfis.
+ */
+public final class UserSnapshot {
+
+    public enum Type {
+        CUSTOMER,
+        EMPLOYEE,
+        USER
+    }
+
+    private final Long id;
+    private final String email;
+    private final Type type;
+    private final UserStatus status;
+    private final Set<String> roles;
+
+    public UserSnapshot(Long id, String email, Type type, UserStatus status, Set<String> roles) {
+        this.id = id;
+        this.email = email;
+        this.type = type;
+        this.status = status;
+        this.roles = Set.copyOf(roles);
+    }
+
+    public static UserSnapshot of(User user) {
+        Set<String> roles = new HashSet<>();
+        for (Role role : user.getRoles()) {
+            roles.add(role.getAuthority());
+        }
+        Type type = user instanceof Customer ? Type.CUSTOMER : user instanceof Employee ? Type.EMPLOYEE : Type.USER;
+        return new UserSnapshot(user.getId(), user.getEmail(), type, user.getUserStatus(), roles);
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public UserStatus getStatus() {
+        return status;
+    }
+
+    public Set<String> getRoles() {
+        return roles;
+    }
+
+    public boolean isAccountNonLocked() {
+        return status != UserStatus.BLOCKED && status != UserStatus.SUSPENDED;
+    }
+
+    public boolean isEnabled() {
+        return status != UserStatus.INACTIVE;
+    }
+}
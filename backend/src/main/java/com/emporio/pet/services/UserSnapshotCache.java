@@ -0,0 +1,128 @@
+package com.emporio.pet.services;
+
+import com.emporio.pet.repositories.UserRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cache compartilhado entre requisições dos snapshots de usuário (id, tipo, status e perfis), por e-mail.
+ * Limitado em tamanho (LRU) e em tempo (TTL). Alterações de status, senha ou perfis invalidam a entrada
+ * imediatamente e de novo ao fim da transação.
+ */
+@Component
+public class UserSnapshotCache {
+
+    private final UserRepository userRepository;
+    private final int maxEntries;
+    private final long ttlNanos;
+
+    private final LinkedHashMap<String, CachedSnapshot> entries;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    // Incrementado a cada invalidação; impede que uma carga iniciada antes dela grave dados antigos
+    private long generation;
+
+    public UserSnapshotCache(UserRepository userRepository, MeterRegistry meterRegistry,
+                             @Value("${security.user-cache.max-entries}") int maxEntries,
+                             @Value("${security.user-cache.ttl-seconds}") long ttlSeconds) {
+        this.userRepository = userRepository;
+        this.maxEntries = maxEntries;
+        this.ttlNanos = ttlSeconds * 1_000_000_000L;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedSnapshot> eldest) {
+                if (size() > UserSnapshotCache.this.maxEntries) {
+                    evictions.incrementAndGet();
+                    return true;
+                }
+                return false;
+            }
+        };
+
+        FunctionCounter.builder("security.user-cache.hits", hits, AtomicLong::get).register(meterRegistry);
+        FunctionCounter.builder("security.user-cache.misses", misses, AtomicLong::get).register(meterRegistry);
+        FunctionCounter.builder("security.user-cache.evictions", evictions, AtomicLong::get).register(meterRegistry);
+        Gauge.builder("security.user-cache.size", this, UserSnapshotCache::size).register(meterRegistry);
+        Gauge.builder("security.user-cache.hit-ratio", this, UserSnapshotCache::hitRatio).register(meterRegistry);
+    }
+
+    /**
+     * Retorna o snapshot do usuário com o e-mail informado, carregando do banco se ausente ou expirado.
+     */
+    public Optional<UserSnapshot> find(String email) {
+        long loadGeneration;
+        synchronized (entries) {
+            CachedSnapshot cached = entries.get(email);
+            if (cached != null && System.nanoTime() - cached.loadedAt <= ttlNanos) {
+                hits.incrementAndGet();
+                return Optional.of(cached.snapshot);
+            }
+            if (cached != null) {
+                entries.remove(email);
+                evictions.incrementAndGet();
+            }
+            misses.incrementAndGet();
+            loadGeneration = generation;
+        }
+
+        Optional<UserSnapshot> loaded = userRepository.findByEmail(email).map(UserSnapshot::of);
+        loaded.ifPresent(snapshot -> {
+            synchronized (entries) {
+                if (loadGeneration == generation) {
+                    entries.put(email, new CachedSnapshot(snapshot, System.nanoTime()));
+                }
+            }
+        });
+        return loaded;
+    }
+
+    /**
+     * Remove o usuário do cache agora e, se houver transação ativa, de novo após o seu término,
+     * para que nenhuma leitura concorrente deixe o estado anterior ao commit em cache.
+     */
+    public void invalidate(String email) {
+        evict(email);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    evict(email);
+                }
+            });
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    public double hitRatio() {
+        long hitCount = hits.get();
+        long total = hitCount + misses.get();
+        return total == 0 ? 0.0 : (double) hitCount / total;
+    }
+
+    private void evict(String email) {
+        synchronized (entries) {
+            generation++;
+            entries.remove(email);
+        }
+    }
+
+    private record CachedSnapshot(UserSnapshot snapshot, long loadedAt) {
+    }
+}
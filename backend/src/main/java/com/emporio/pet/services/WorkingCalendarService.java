@@ -0,0 +1,275 @@
+package com.emporio.pet.services;
+
+import com.emporio.pet.dto.WorkingHoursRuleDTO;
+import com.emporio.pet.entities.WorkingHoursRule;
+import com.emporio.pet.repositories.EmployeeRepository;
+import com.emporio.pet.repositories.WorkingHoursRuleRepository;
+import com.emporio.pet.services.exceptions.ResourceNotFoundException;
+import com.emporio.pet.services.scheduling.DayBitmap;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Calendário de expediente: compila as regras em uma máscara de horários abertos (DayBitmap) por
+ * (funcionário, dia), mantida em cache. Alterações de regra invalidam apenas os dias afetados.
+ */
+@Service
+public class WorkingCalendarService {
+
+    private final WorkingHoursRuleRepository ruleRepository;
+    private final EmployeeRepository employeeRepository;
+    private final DayBitmap defaultMask;
+    private final int preparationBufferMinutes;
+    private final int maxEntries;
+
+    private final LinkedHashMap<MaskKey, DayBitmap> masks;
+    private volatile List<CompiledRule> rules;
+    // Incrementado a cada invalidação; impede que uma compilação com regras antigas seja gravada no cache
+    private long generation;
+
+    public WorkingCalendarService(WorkingHoursRuleRepository ruleRepository, EmployeeRepository employeeRepository,
+                                  @Value("${scheduling.calendar.open-time}") String openTime,
+                                  @Value("${scheduling.calendar.close-time}") String closeTime,
+                                  @Value("${scheduling.calendar.lunch-start}") String lunchStart,
+                                  @Value("${scheduling.calendar.lunch-end}") String lunchEnd,
+                                  @Value("${scheduling.preparation-buffer-minutes}") int preparationBufferMinutes,
+                                  @Value("${scheduling.calendar.cache.max-entries}") int maxEntries) {
+        this.ruleRepository = ruleRepository;
+        this.employeeRepository = employeeRepository;
+        this.defaultMask = compileMask(false, LocalTime.parse(openTime), LocalTime.parse(closeTime),
+                LocalTime.parse(lunchStart), LocalTime.parse(lunchEnd));
+        this.preparationBufferMinutes = preparationBufferMinutes;
+        this.maxEntries = maxEntries;
+        this.masks = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<MaskKey, DayBitmap> eldest) {
+                return size() > WorkingCalendarService.this.maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Retorna a máscara de horários abertos do funcionário no dia. A instância é compartilhada: não deve ser alterada.
+     */
+    public DayBitmap openMask(Long employeeId, LocalDate day) {
+        MaskKey key = new MaskKey(employeeId, day);
+        long observedGeneration;
+        synchronized (masks) {
+            DayBitmap cached = masks.get(key);
+            if (cached != null) {
+                return cached;
+            }
+            observedGeneration = generation;
+        }
+        DayBitmap mask = resolve(rules(), employeeId, day);
+        synchronized (masks) {
+            if (observedGeneration == generation) {
+                masks.put(key, mask);
+            }
+        }
+        return mask;
+    }
+
+    /**
+     * Tempo de preparação, em minutos, reservado após cada atendimento.
+     */
+    public int getPreparationBufferMinutes() {
+        return preparationBufferMinutes;
+    }
+
+    /**
+     * Retorna todas as regras de expediente cadastradas.
+     */
+    @Transactional(readOnly = true)
+    public List<WorkingHoursRuleDTO> findAll() {
+        return ruleRepository.findAll().stream().map(WorkingHoursRuleDTO::new).collect(Collectors.toList());
+    }
+
+    /**
+     * Cadastra uma regra de expediente e invalida os dias que ela afeta.
+     */
+    @Transactional
+    public WorkingHoursRuleDTO insert(WorkingHoursRuleDTO dto) {
+        WorkingHoursRule entity = new WorkingHoursRule();
+        copyDtoToEntity(dto, entity);
+        entity = ruleRepository.save(entity);
+        invalidateAfterCommit(List.of(scopeOf(entity)));
+        return new WorkingHoursRuleDTO(entity);
+    }
+
+    /**
+     * Atualiza uma regra de expediente e invalida os dias afetados antes e depois da alteração.
+     */
+    @Transactional
+    public WorkingHoursRuleDTO update(Long id, WorkingHoursRuleDTO dto) {
+        WorkingHoursRule entity = ruleRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Regra de expediente não encontrada com o ID: " + id));
+        RuleScope previous = scopeOf(entity);
+        copyDtoToEntity(dto, entity);
+        entity = ruleRepository.save(entity);
+        invalidateAfterCommit(List.of(previous, scopeOf(entity)));
+        return new WorkingHoursRuleDTO(entity);
+    }
+
+    /**
+     * Remove uma regra de expediente e invalida os dias que ela afetava.
+     */
+    @Transactional
+    public void delete(Long id) {
+        WorkingHoursRule entity = ruleRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Regra de expediente não encontrada com o ID: " + id));
+        RuleScope scope = scopeOf(entity);
+        ruleRepository.delete(entity);
+        invalidateAfterCommit(List.of(scope));
+    }
+
+    private void copyDtoToEntity(WorkingHoursRuleDTO dto, WorkingHoursRule entity) {
+        if ((dto.getDayOfWeek() == null) == (dto.getSpecificDate() == null)) {
+            throw new IllegalArgumentException("Informe o dia da semana ou uma data específica (apenas um dos dois).");
+        }
+        if (!dto.isClosed()) {
+            if (dto.getOpenTime() == null || dto.getCloseTime() == null || !dto.getOpenTime().isBefore(dto.getCloseTime())) {
+                throw new IllegalArgumentException("O horário de abertura deve ser anterior ao de fechamento.");
+            }
+            if ((dto.getLunchStart() == null) != (dto.getLunchEnd() == null)
+                    || (dto.getLunchStart() != null && !dto.getLunchStart().isBefore(dto.getLunchEnd()))) {
+                throw new IllegalArgumentException("O intervalo de almoço deve ter início anterior ao fim.");
+            }
+        }
+        if (dto.getEmployeeId() != null) {
+            if (!employeeRepository.existsById(dto.getEmployeeId())) {
+                throw new ResourceNotFoundException("Funcionário não encontrado com o ID: " + dto.getEmployeeId());
+            }
+            entity.setEmployee(employeeRepository.getReferenceById(dto.getEmployeeId()));
+        } else {
+            entity.setEmployee(null);
+        }
+        entity.setDayOfWeek(dto.getDayOfWeek());
+        entity.setSpecificDate(dto.getSpecificDate());
+        entity.setOpenTime(dto.getOpenTime());
+        entity.setCloseTime(dto.getCloseTime());
+        entity.setLunchStart(dto.getLunchStart());
+        entity.setLunchEnd(dto.getLunchEnd());
+        entity.setClosed(dto.isClosed());
+    }
+
+    private List<CompiledRule> rules() {
+        List<CompiledRule> current = rules;
+        if (current != null) {
+            return current;
+        }
+        long observedGeneration;
+        synchronized (masks) {
+            observedGeneration = generation;
+        }
+        List<CompiledRule> loaded = new ArrayList<>();
+        for (WorkingHoursRule rule : ruleRepository.findAll()) {
+            loaded.add(new CompiledRule(rule.getEmployee() != null ? rule.getEmployee().getId() : null,
+                    rule.getDayOfWeek(), rule.getSpecificDate(), compileMask(rule.isClosed(),
+                    rule.getOpenTime(), rule.getCloseTime(), rule.getLunchStart(), rule.getLunchEnd())));
+        }
+        synchronized (masks) {
+            if (observedGeneration == generation) {
+                rules = loaded;
+            }
+        }
+        return loaded;
+    }
+
+    /**
+     * Escolhe a regra mais específica: funcionário + data, loja + data, funcionário + dia da semana,
+     * loja + dia da semana e, por fim, o expediente padrão.
+     */
+    private DayBitmap resolve(List<CompiledRule> candidates, Long employeeId, LocalDate day) {
+        DayBitmap best = defaultMask;
+        int bestPriority = 0;
+        for (CompiledRule rule : candidates) {
+            int priority = rule.priorityFor(employeeId, day);
+            if (priority > bestPriority) {
+                best = rule.mask();
+                bestPriority = priority;
+            }
+        }
+        return best;
+    }
+
+    private void invalidateAfterCommit(List<RuleScope> scopes) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidate(scopes);
+                }
+            });
+        } else {
+            invalidate(scopes);
+        }
+    }
+
+    private void invalidate(List<RuleScope> scopes) {
+        synchronized (masks) {
+            generation++;
+            rules = null;
+            masks.keySet().removeIf(key -> scopes.stream().anyMatch(scope -> scope.affects(key)));
+        }
+    }
+
+    private static RuleScope scopeOf(WorkingHoursRule rule) {
+        return new RuleScope(rule.getEmployee() != null ? rule.getEmployee().getId() : null,
+                rule.getDayOfWeek(), rule.getSpecificDate());
+    }
+
+    private static DayBitmap compileMask(boolean closed, LocalTime open, LocalTime close, LocalTime lunchStart, LocalTime lunchEnd) {
+        if (closed) {
+            return DayBitmap.empty();
+        }
+        DayBitmap mask = DayBitmap.open(minuteOf(open), minuteOf(close));
+        if (lunchStart != null && lunchEnd != null) {
+            mask.occupy(minuteOf(lunchStart), minuteOf(lunchEnd));
+        }
+        return mask;
+    }
+
+    private static int minuteOf(LocalTime time) {
+        return time.getHour() * 60 + time.getMinute();
+    }
+
+    private record MaskKey(Long employeeId, LocalDate day) {
+    }
+
+    private record RuleScope(Long employeeId, DayOfWeek dayOfWeek, LocalDate specificDate) {
+
+        boolean affects(MaskKey key) {
+            if (employeeId != null && !employeeId.equals(key.employeeId())) {
+                return false;
+            }
+            return specificDate != null ? specificDate.equals(key.day()) : key.day().getDayOfWeek() == dayOfWeek;
+        }
+    }
+
+    private record CompiledRule(Long employeeId, DayOfWeek dayOfWeek, LocalDate specificDate, DayBitmap mask) {
+
+        int priorityFor(Long requestedEmployee, LocalDate day) {
+            if (employeeId != null && !employeeId.equals(requestedEmployee)) {
+                return 0;
+            }
+            boolean matchesDay = specificDate != null ? specificDate.equals(day) : day.getDayOfWeek() == dayOfWeek;
+            if (!matchesDay) {
+                return 0;
+            }
+            return (specificDate != null ? 3 : 1) + (employeeId != null ? 1 : 0);
+        }
+    }
+}
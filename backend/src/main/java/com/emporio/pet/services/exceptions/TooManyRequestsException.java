@@ -0,0 +1,7 @@
+package com.emporio.pet.services.exceptions;
+
+public class TooManyRequestsException extends RuntimeException {
+    public TooManyRequestsException(String msg) {
+        super(msg);
+    }
+}
@@ -0,0 +1,27 @@
+package com.emporio.pet.services.scheduling;
+
+import java.util.List;
+
+/**
+ * Designa o funcionário cujo trecho livre que contém o horário é o menor (best fit), preservando
+ * os trechos longos dos demais e reduzindo a fragmentação das agendas. Empate: o menos ocupado.
+ */
+public class BestFitAssignmentStrategy implements EmployeeAssignmentStrategy {
+
+    @Override
+    public EmployeeLoad select(List<EmployeeLoad> candidates, int startMinute, int endMinute) {
+        EmployeeLoad best = null;
+        int bestRun = Integer.MAX_VALUE;
+        for (EmployeeLoad candidate : candidates) {
+            int run = candidate.getFreeTime().freeRunMinutes(startMinute, endMinute);
+            if (run == 0) {
+                continue;
+            }
+            if (best == null || run < bestRun || (run == bestRun && LeastBookedAssignmentStrategy.isLessBooked(candidate, best))) {
+                best = candidate;
+                bestRun = run;
+            }
+        }
+        return best;
+    }
+}
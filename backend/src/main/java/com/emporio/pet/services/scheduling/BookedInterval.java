@@ -0,0 +1,38 @@
+package com.emporio.pet.services.scheduling;
+
+import java.time.LocalDateTime;
+
+/**
+ * Projeção mínima de um agendamento ocupando a agenda de um funcionário.
+ * Evita carregar a entidade Appointment (e suas associações) só para calcular disponibilidade.
+ */
+public final class BookedInterval {
+
+    private final Long appointmentId;
+    private final Long employeeId;
+    private final LocalDateTime start;
+    private final LocalDateTime end;
+
+    public BookedInterval(Long appointmentId, Long employeeId, LocalDateTime start, LocalDateTime end) {
+        this.appointmentId = appointmentId;
+        this.employeeId = employeeId;
+        this.start = start;
+        this.end = end;
+    }
+
+    public Long getAppointmentId() {
+        return appointmentId;
+    }
+
+    public Long getEmployeeId() {
+        return employeeId;
+    }
+
+    public LocalDateTime getStart() {
+        return start;
+    }
+
+    public LocalDateTime getEnd() {
+        return end;
+    }
+}
@@ -0,0 +1,57 @@
+package com.emporio.pet.services.scheduling;
+
+import com.emporio.pet.services.exceptions.ConflictException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Locks listrados em memória por (funcionário, dia). Reservas de funcionários/dias diferentes
+ * não competem entre si; o lock é mantido até o fim da transação corrente (commit ou rollback).
+ */
+@Component
+public class BookingLocks {
+
+    private final ReentrantLock[] stripes;
+    private final long timeoutMillis;
+
+    public BookingLocks(@Value("${scheduling.booking.lock-stripes}") int stripeCount,
+                        @Value("${scheduling.booking.lock-timeout-ms}") long timeoutMillis) {
+        this.stripes = new ReentrantLock[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    /**
+     * Adquire o lock do funcionário no dia e agenda sua liberação para o fim da transação.
+     * Lança ConflictException se o lock não for obtido dentro do tempo limite.
+     */
+    public void lockUntilTransactionEnds(Long employeeId, LocalDate day) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("O lock de agenda exige uma transação ativa.");
+        }
+        ReentrantLock lock = stripes[Math.floorMod(Objects.hash(employeeId, day), stripes.length)];
+        try {
+            if (!lock.tryLock(timeoutMillis, TimeUnit.MILLISECONDS)) {
+                throw new ConflictException("A agenda deste profissional está sendo alterada. Tente novamente em instantes.");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ConflictException("A reserva foi interrompida. Tente novamente.");
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                lock.unlock();
+            }
+        });
+    }
+}
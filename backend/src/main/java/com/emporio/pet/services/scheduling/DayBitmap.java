@@ -0,0 +1,212 @@
+package com.emporio.pet.services.scheduling;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+
+/**
+ * Representa um dia de trabalho como um bitset de quanta de 15 minutos (bit ligado = livre).
+ * As operações trabalham palavra a palavra, sem criar objetos de data por slot.
+ */
+public final class DayBitmap {
+
+    public static final int QUANTUM_MINUTES = 15;
+    public static final int MINUTES_PER_DAY = 24 * 60;
+    public static final int QUANTA_PER_DAY = MINUTES_PER_DAY / QUANTUM_MINUTES;
+
+    private static final int WORDS = (QUANTA_PER_DAY + Long.SIZE - 1) / Long.SIZE;
+
+    private final long[] words;
+
+    private DayBitmap(long[] words) {
+        this.words = words;
+    }
+
+    /**
+     * Cria um dia totalmente ocupado (nenhum quantum livre).
+     */
+    public static DayBitmap empty() {
+        return new DayBitmap(new long[WORDS]);
+    }
+
+    /**
+     * Cria um dia livre apenas no intervalo [fromMinute, toMinute) do dia.
+     */
+    public static DayBitmap open(int fromMinute, int toMinute) {
+        return empty().release(fromMinute, toMinute);
+    }
+
+    public DayBitmap copy() {
+        return new DayBitmap(Arrays.copyOf(words, WORDS));
+    }
+
+    /**
+     * Marca como livres os quanta inteiramente contidos em [fromMinute, toMinute).
+     */
+    public DayBitmap release(int fromMinute, int toMinute) {
+        setRange(ceilQuantum(fromMinute), floorQuantum(toMinute), true);
+        return this;
+    }
+
+    /**
+     * Marca como ocupados todos os quanta tocados por [fromMinute, toMinute).
+     */
+    public DayBitmap occupy(int fromMinute, int toMinute) {
+        setRange(floorQuantum(fromMinute), ceilQuantum(toMinute), false);
+        return this;
+    }
+
+    /**
+     * Acumula (OR) os quanta livres de outro bitmap neste.
+     */
+    public DayBitmap or(DayBitmap other) {
+        for (int i = 0; i < WORDS; i++) {
+            words[i] |= other.words[i];
+        }
+        return this;
+    }
+
+    /**
+     * Mantém livres apenas os quanta também livres no outro bitmap (AND).
+     */
+    public DayBitmap and(DayBitmap other) {
+        for (int i = 0; i < WORDS; i++) {
+            words[i] &= other.words[i];
+        }
+        return this;
+    }
+
+    /**
+     * Retorna um novo bitmap em que o bit t está ligado se, e somente se, um serviço com a
+     * duração informada pode começar no quantum t (t..t+k-1 livres).
+     * Usa AND/shift por duplicação: O(log k) passagens sobre as palavras.
+     */
+    public DayBitmap slotStarts(int durationMinutes) {
+        int quanta = Math.max(1, ceilQuantum(durationMinutes));
+        long[] run = Arrays.copyOf(words, WORDS);
+        long[] shifted = new long[WORDS];
+        int covered = 1;
+        while (covered < quanta) {
+            int step = Math.min(covered, quanta - covered);
+            shiftDown(run, step, shifted);
+            for (int i = 0; i < WORDS; i++) {
+                run[i] &= shifted[i];
+            }
+            covered += step;
+        }
+        return new DayBitmap(run);
+    }
+
+    /**
+     * Verifica se todo o intervalo [fromMinute, toMinute) está livre.
+     */
+    public boolean isFree(int fromMinute, int toMinute) {
+        int from = floorQuantum(fromMinute);
+        int to = ceilQuantum(toMinute);
+        for (int q = from; q < to; q++) {
+            if (!isFreeQuantum(q)) {
+                return false;
+            }
+        }
+        return from < to;
+    }
+
+    /**
+     * Retorna, em minutos, o tamanho do trecho contínuo livre que contém [fromMinute, toMinute),
+     * ou 0 se o intervalo não estiver totalmente livre.
+     */
+    public int freeRunMinutes(int fromMinute, int toMinute) {
+        if (!isFree(fromMinute, toMinute)) {
+            return 0;
+        }
+        int first = floorQuantum(fromMinute);
+        int last = ceilQuantum(toMinute);
+        while (first > 0 && isFreeQuantum(first - 1)) {
+            first--;
+        }
+        while (last < QUANTA_PER_DAY && isFreeQuantum(last)) {
+            last++;
+        }
+        return (last - first) * QUANTUM_MINUTES;
+    }
+
+    public boolean isEmpty() {
+        for (long word : words) {
+            if (word != 0) return false;
+        }
+        return true;
+    }
+
+    public int cardinality() {
+        int count = 0;
+        for (long word : words) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+    /**
+     * Retorna, em ordem crescente, os minutos do dia correspondentes aos quanta livres.
+     */
+    public int[] toMinuteOffsets() {
+        int[] offsets = new int[cardinality()];
+        int n = 0;
+        for (int i = 0; i < WORDS; i++) {
+            long word = words[i];
+            while (word != 0) {
+                int bit = Long.numberOfTrailingZeros(word);
+                offsets[n++] = ((i << 6) + bit) * QUANTUM_MINUTES;
+                word &= word - 1;
+            }
+        }
+        return offsets;
+    }
+
+    /**
+     * Converte um horário em minutos desde o início do dia informado, limitado a [0, 1440].
+     */
+    public static int minuteOfDay(LocalDate day, LocalDateTime dateTime) {
+        LocalDate date = dateTime.toLocalDate();
+        if (date.isBefore(day)) return 0;
+        if (date.isAfter(day)) return MINUTES_PER_DAY;
+        return dateTime.getHour() * 60 + dateTime.getMinute();
+    }
+
+    private boolean isFreeQuantum(int quantum) {
+        return (words[quantum >>> 6] & (1L << quantum)) != 0;
+    }
+
+    private void setRange(int fromQuantum, int toQuantum, boolean free) {
+        int from = Math.max(0, fromQuantum);
+        int to = Math.min(QUANTA_PER_DAY, toQuantum);
+        for (int q = from; q < to; q++) {
+            if (free) {
+                words[q >>> 6] |= 1L << q;
+            } else {
+                words[q >>> 6] &= ~(1L << q);
+            }
+        }
+    }
+
+    private static void shiftDown(long[] source, int bits, long[] target) {
+        int wordShift = bits >>> 6;
+        int bitShift = bits & 63;
+        for (int i = 0; i < WORDS; i++) {
+            if (i + wordShift >= WORDS) {
+                target[i] = 0L;
+                continue;
+            }
+            long low = source[i + wordShift] >>> bitShift;
+            long high = (bitShift != 0 && i + wordShift + 1 < WORDS) ? source[i + wordShift + 1] << (64 - bitShift) : 0L;
+            target[i] = low | high;
+        }
+    }
+
+    private static int floorQuantum(int minute) {
+        return Math.floorDiv(minute, QUANTUM_MINUTES);
+    }
+
+    private static int ceilQuantum(int minute) {
+        return Math.floorDiv(minute + QUANTUM_MINUTES - 1, QUANTUM_MINUTES);
+    }
+}
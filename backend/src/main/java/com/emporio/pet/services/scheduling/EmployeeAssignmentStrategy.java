@@ -0,0 +1,12 @@
+package com.emporio.pet.services.scheduling;
+
+import java.util.List;
+
+/**
+ * Escolhe qual funcionário recebe um agendamento quando o cliente não indica um profissional.
+ * Recebe apenas candidatos já livres em [startMinute, endMinute) do dia.
+ */
+public interface EmployeeAssignmentStrategy {
+
+    EmployeeLoad select(List<EmployeeLoad> candidates, int startMinute, int endMinute);
+}
@@ -0,0 +1,73 @@
+package com.emporio.pet.services.scheduling;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Carga de um funcionário em um dia: minutos e quantidade de agendamentos, o índice de intervalos ocupados
+ * e o bitmap de horários livres derivado dele.
+ * Montada uma única vez por decisão de designação e compartilhada por todas as estratégias.
+ */
+public final class EmployeeLoad {
+
+    private final Long employeeId;
+    private final IntervalIndex index;
+    private final DayBitmap freeTime;
+    private long bookedMinutes;
+    private int appointmentCount;
+
+    public EmployeeLoad(Long employeeId, IntervalIndex index, DayBitmap freeTime) {
+        this.employeeId = employeeId;
+        this.index = index;
+        this.freeTime = freeTime;
+    }
+
+    /**
+     * Agrega a carga do dia de cada funcionário informado: agrupa os intervalos por funcionário em uma passada,
+     * monta o índice de cada um (fim estendido pelo intervalo de preparação) e deriva os horários livres dentro
+     * da máscara de expediente do funcionário.
+     */
+    public static Map<Long, EmployeeLoad> aggregate(Collection<Long> employeeIds, List<BookedInterval> intervals,
+                                                    LocalDate day, Function<Long, DayBitmap> openMaskByEmployee,
+                                                    int bufferMinutes) {
+        Map<Long, IntervalIndex> indexes = IntervalIndex.byEmployee(intervals, bufferMinutes);
+        Map<Long, EmployeeLoad> loads = new LinkedHashMap<>();
+        for (Long employeeId : employeeIds) {
+            IntervalIndex index = indexes.getOrDefault(employeeId, IntervalIndex.empty());
+            loads.put(employeeId, new EmployeeLoad(employeeId, index, index.freeTime(day, openMaskByEmployee.apply(employeeId))));
+        }
+        for (BookedInterval interval : intervals) {
+            EmployeeLoad load = loads.get(interval.getEmployeeId());
+            if (load != null && interval.getStart().toLocalDate().equals(day)) {
+                load.bookedMinutes += Duration.between(interval.getStart(), interval.getEnd()).toMinutes();
+                load.appointmentCount++;
+            }
+        }
+        return loads;
+    }
+
+    public Long getEmployeeId() {
+        return employeeId;
+    }
+
+    public IntervalIndex getIndex() {
+        return index;
+    }
+
+    public DayBitmap getFreeTime() {
+        return freeTime;
+    }
+
+    public long getBookedMinutes() {
+        return bookedMinutes;
+    }
+
+    public int getAppointmentCount() {
+        return appointmentCount;
+    }
+}
@@ -0,0 +1,246 @@
+package com.emporio.pet.services.scheduling;
+
+import com.emporio.pet.entities.enums.AppointmentStatus;
+import com.emporio.pet.repositories.AppointmentRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cache em memória da agenda de cada funcionário por dia: lista ordenada dos intervalos ocupados.
+ * Limitado em tamanho (LRU) e em tempo (TTL); dias passados não são mantidos.
+ * As escritas de agendamento atualizam o cache somente após o commit da transação.
+ */
+@Component
+public class EmployeeScheduleCache {
+
+    public static final List<AppointmentStatus> STATUSES_NOT_BLOCKING_SCHEDULE = List.of(AppointmentStatus.CANCELED, AppointmentStatus.NO_SHOW);
+
+    private static final Comparator<BookedInterval> BY_START = Comparator.comparing(BookedInterval::getStart);
+
+    private final AppointmentRepository appointmentRepository;
+    private final int maxEntries;
+    private final long ttlNanos;
+
+    private final LinkedHashMap<ScheduleKey, CachedDay> entries;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    // Incrementado a cada escrita; impede que uma carga iniciada antes de um commit grave dados antigos
+    private long writeGeneration;
+    private LocalDate lastPurgeDay = LocalDate.now();
+
+    public EmployeeScheduleCache(AppointmentRepository appointmentRepository, MeterRegistry meterRegistry,
+                                 @Value("${scheduling.cache.max-entries}") int maxEntries,
+                                 @Value("${scheduling.cache.ttl-seconds}") long ttlSeconds) {
+        this.appointmentRepository = appointmentRepository;
+        this.maxEntries = maxEntries;
+        this.ttlNanos = ttlSeconds * 1_000_000_000L;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<ScheduleKey, CachedDay> eldest) {
+                if (size() > EmployeeScheduleCache.this.maxEntries) {
+                    evictions.incrementAndGet();
+                    return true;
+                }
+                return false;
+            }
+        };
+
+        FunctionCounter.builder("scheduling.cache.hits", hits, AtomicLong::get).register(meterRegistry);
+        FunctionCounter.builder("scheduling.cache.misses", misses, AtomicLong::get).register(meterRegistry);
+        FunctionCounter.builder("scheduling.cache.evictions", evictions, AtomicLong::get).register(meterRegistry);
+        Gauge.builder("scheduling.cache.size", this, EmployeeScheduleCache::size).register(meterRegistry);
+    }
+
+    /**
+     * Retorna os intervalos ocupados dos funcionários no intervalo de dias [from, to], ordenados pelo início.
+     * Os dias ausentes do cache são carregados juntos, em uma única consulta.
+     */
+    public List<BookedInterval> findBookedIntervals(Collection<Long> employeeIds, LocalDate from, LocalDate to) {
+        LocalDate today = LocalDate.now();
+        List<BookedInterval> result = new ArrayList<>();
+        // Só agendamentos que atravessam a meia-noite aparecem em mais de um dia e precisam de deduplicação
+        Set<Long> multiDayIds = new HashSet<>();
+        Set<Long> missingEmployees = new LinkedHashSet<>();
+        Set<ScheduleKey> missingKeys = new HashSet<>();
+        LocalDate missingFrom = null;
+        LocalDate missingTo = null;
+        long generation;
+
+        synchronized (entries) {
+            purgePastDays(today);
+            generation = writeGeneration;
+            long now = System.nanoTime();
+            for (Long employeeId : employeeIds) {
+                for (LocalDate day = from; !day.isAfter(to); day = day.plusDays(1)) {
+                    CachedDay cached = entries.get(new ScheduleKey(employeeId, day));
+                    if (cached != null && now - cached.loadedAt <= ttlNanos) {
+                        hits.incrementAndGet();
+                        addDistinct(cached.intervals, result, multiDayIds);
+                        continue;
+                    }
+                    misses.incrementAndGet();
+                    missingEmployees.add(employeeId);
+                    missingKeys.add(new ScheduleKey(employeeId, day));
+                    missingFrom = (missingFrom == null || day.isBefore(missingFrom)) ? day : missingFrom;
+                    missingTo = (missingTo == null || day.isAfter(missingTo)) ? day : missingTo;
+                }
+            }
+        }
+
+        if (!missingEmployees.isEmpty()) {
+            List<BookedInterval> loaded = appointmentRepository.findBookedIntervals(missingEmployees,
+                    missingFrom.atStartOfDay(), missingTo.plusDays(1).atStartOfDay(), STATUSES_NOT_BLOCKING_SCHEDULE);
+            // A consulta cobre a faixa contínua dos dias ausentes; descarta o que já veio de dias em cache
+            for (BookedInterval interval : loaded) {
+                boolean multiDay = !interval.getStart().toLocalDate().equals(interval.getEnd().toLocalDate());
+                if (multiDay ? multiDayIds.add(interval.getAppointmentId())
+                        : missingKeys.contains(new ScheduleKey(interval.getEmployeeId(), interval.getStart().toLocalDate()))) {
+                    result.add(interval);
+                }
+            }
+            store(missingEmployees, missingFrom, missingTo, loaded, generation, today);
+        }
+
+        result.sort(BY_START);
+        return result;
+    }
+
+    private static void addDistinct(List<BookedInterval> intervals, List<BookedInterval> result, Set<Long> multiDayIds) {
+        for (BookedInterval interval : intervals) {
+            boolean multiDay = !interval.getStart().toLocalDate().equals(interval.getEnd().toLocalDate());
+            if (!multiDay || multiDayIds.add(interval.getAppointmentId())) {
+                result.add(interval);
+            }
+        }
+    }
+
+    /**
+     * Registra, após o commit, que o agendamento ocupa (ou deixou de ocupar) a agenda do funcionário.
+     */
+    public void afterCommit(Long appointmentId, Long employeeId, LocalDateTime start, LocalDateTime end, AppointmentStatus status) {
+        BookedInterval interval = new BookedInterval(appointmentId, employeeId, start, end);
+        boolean blocking = !STATUSES_NOT_BLOCKING_SCHEDULE.contains(status);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply(interval, blocking);
+                }
+            });
+        } else {
+            apply(interval, blocking);
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    public long getEvictions() {
+        return evictions.get();
+    }
+
+    private void apply(BookedInterval interval, boolean blocking) {
+        synchronized (entries) {
+            writeGeneration++;
+            for (LocalDate day = interval.getStart().toLocalDate(); !day.isAfter(interval.getEnd().toLocalDate()); day = day.plusDays(1)) {
+                ScheduleKey key = new ScheduleKey(interval.getEmployeeId(), day);
+                CachedDay cached = entries.get(key);
+                if (cached == null) {
+                    // Dia ainda não carregado: a próxima leitura busca o estado já commitado
+                    continue;
+                }
+                List<BookedInterval> updated = new ArrayList<>(cached.intervals.size() + 1);
+                for (BookedInterval existing : cached.intervals) {
+                    if (!existing.getAppointmentId().equals(interval.getAppointmentId())) {
+                        updated.add(existing);
+                    }
+                }
+                if (blocking) {
+                    updated.add(interval);
+                    updated.sort(BY_START);
+                }
+                entries.put(key, new CachedDay(List.copyOf(updated), cached.loadedAt));
+            }
+        }
+    }
+
+    private void store(Set<Long> employeeIds, LocalDate from, LocalDate to, List<BookedInterval> loaded,
+                       long generation, LocalDate today) {
+        Map<ScheduleKey, List<BookedInterval>> byKey = new HashMap<>();
+        for (Long employeeId : employeeIds) {
+            for (LocalDate day = from; !day.isAfter(to); day = day.plusDays(1)) {
+                byKey.put(new ScheduleKey(employeeId, day), new ArrayList<>());
+            }
+        }
+        for (BookedInterval interval : loaded) {
+            LocalDate first = interval.getStart().toLocalDate().isBefore(from) ? from : interval.getStart().toLocalDate();
+            LocalDate last = interval.getEnd().toLocalDate().isAfter(to) ? to : interval.getEnd().toLocalDate();
+            for (LocalDate day = first; !day.isAfter(last); day = day.plusDays(1)) {
+                List<BookedInterval> dayIntervals = byKey.get(new ScheduleKey(interval.getEmployeeId(), day));
+                if (dayIntervals != null) {
+                    dayIntervals.add(interval);
+                }
+            }
+        }
+
+        synchronized (entries) {
+            if (generation != writeGeneration) {
+                return;
+            }
+            long now = System.nanoTime();
+            byKey.forEach((key, intervals) -> {
+                if (!key.day().isBefore(today)) {
+                    entries.put(key, new CachedDay(List.copyOf(intervals), now));
+                }
+            });
+        }
+    }
+
+    private void purgePastDays(LocalDate today) {
+        if (!today.isAfter(lastPurgeDay)) {
+            return;
+        }
+        long before = entries.size();
+        entries.keySet().removeIf(key -> key.day().isBefore(today));
+        evictions.addAndGet(before - entries.size());
+        lastPurgeDay = today;
+    }
+
+    private record ScheduleKey(Long employeeId, LocalDate day) {
+    }
+
+    private record CachedDay(List<BookedInterval> intervals, long loadedAt) {
+    }
+}
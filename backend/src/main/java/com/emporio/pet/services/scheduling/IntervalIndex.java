@@ -0,0 +1,159 @@
+package com.emporio.pet.services.scheduling;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Índice imutável dos intervalos ocupados de um funcionário: inícios ordenados e o maior fim acumulado
+ * (prefix max) em arrays de minutos. Responde sobreposição em O(log n) e percorre os trechos livres em ordem.
+ */
+public final class IntervalIndex {
+
+    private static final IntervalIndex EMPTY = new IntervalIndex(new long[0], new long[0]);
+
+    private final long[] starts;
+    private final long[] maxEnds;
+
+    private IntervalIndex(long[] starts, long[] maxEnds) {
+        this.starts = starts;
+        this.maxEnds = maxEnds;
+    }
+
+    public static IntervalIndex empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Monta o índice de um conjunto de intervalos; cada um é estendido em {@code bufferMinutes} após o fim.
+     */
+    public static IntervalIndex of(Collection<BookedInterval> intervals, int bufferMinutes) {
+        int n = intervals.size();
+        if (n == 0) {
+            return EMPTY;
+        }
+        long[] starts = new long[n];
+        long[] ends = new long[n];
+        boolean sorted = true;
+        int i = 0;
+        for (BookedInterval interval : intervals) {
+            starts[i] = toMinutes(interval.getStart());
+            ends[i] = toMinutes(interval.getEnd()) + bufferMinutes;
+            sorted &= i == 0 || starts[i - 1] <= starts[i];
+            i++;
+        }
+        if (!sorted) {
+            // Entradas normalmente já vêm ordenadas pelo início (cache/consulta); ordena só quando necessário
+            sortByStart(starts, ends);
+        }
+
+        long[] maxEnds = ends;
+        long maxEnd = Long.MIN_VALUE;
+        for (i = 0; i < n; i++) {
+            maxEnd = Math.max(maxEnd, ends[i]);
+            maxEnds[i] = maxEnd;
+        }
+        return new IntervalIndex(starts, maxEnds);
+    }
+
+    /**
+     * Agrupa os intervalos por funcionário em uma única passada e monta o índice de cada um.
+     */
+    public static Map<Long, IntervalIndex> byEmployee(List<BookedInterval> intervals, int bufferMinutes) {
+        Map<Long, List<BookedInterval>> grouped = new HashMap<>();
+        for (BookedInterval interval : intervals) {
+            grouped.computeIfAbsent(interval.getEmployeeId(), id -> new ArrayList<>()).add(interval);
+        }
+        Map<Long, IntervalIndex> indexes = new HashMap<>(grouped.size() * 2);
+        grouped.forEach((employeeId, employeeIntervals) -> indexes.put(employeeId, of(employeeIntervals, bufferMinutes)));
+        return indexes;
+    }
+
+    /**
+     * Verifica se [start, end) se sobrepõe a algum intervalo do índice.
+     */
+    public boolean overlaps(LocalDateTime start, LocalDateTime end) {
+        return overlaps(toMinutes(start), toMinutes(end));
+    }
+
+    public boolean overlaps(long startMinute, long endMinute) {
+        // Entre os intervalos que começam antes do fim pedido, basta o maior fim passar do início pedido
+        int count = countStartingBefore(endMinute);
+        return count > 0 && maxEnds[count - 1] > startMinute;
+    }
+
+    /**
+     * Retorna o bitmap de horários livres do dia: os trechos livres do índice restritos ao expediente informado.
+     */
+    public DayBitmap freeTime(LocalDate day, DayBitmap workday) {
+        if (starts.length == 0) {
+            return workday.copy();
+        }
+        long dayStart = toMinutes(day.atStartOfDay());
+        DayBitmap free = DayBitmap.empty();
+        long cursor = dayStart;
+        long dayEnd = dayStart + DayBitmap.MINUTES_PER_DAY;
+        for (int i = firstEndingAfter(dayStart); i < starts.length && starts[i] < dayEnd; i++) {
+            if (starts[i] > cursor) {
+                free.release((int) (cursor - dayStart), (int) (starts[i] - dayStart));
+            }
+            cursor = Math.max(cursor, maxEnds[i]);
+        }
+        if (cursor < dayEnd) {
+            free.release((int) (cursor - dayStart), DayBitmap.MINUTES_PER_DAY);
+        }
+        return free.and(workday);
+    }
+
+    public int size() {
+        return starts.length;
+    }
+
+    private int countStartingBefore(long minute) {
+        int low = 0;
+        int high = starts.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (starts[mid] < minute) low = mid + 1;
+            else high = mid;
+        }
+        return low;
+    }
+
+    private int firstEndingAfter(long minute) {
+        int low = 0;
+        int high = maxEnds.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (maxEnds[mid] <= minute) low = mid + 1;
+            else high = mid;
+        }
+        return low;
+    }
+
+    private static void sortByStart(long[] starts, long[] ends) {
+        Integer[] order = new Integer[starts.length];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> Long.compare(starts[a], starts[b]));
+        long[] sortedStarts = new long[starts.length];
+        long[] sortedEnds = new long[ends.length];
+        for (int i = 0; i < order.length; i++) {
+            sortedStarts[i] = starts[order[i]];
+            sortedEnds[i] = ends[order[i]];
+        }
+        System.arraycopy(sortedStarts, 0, starts, 0, starts.length);
+        System.arraycopy(sortedEnds, 0, ends, 0, ends.length);
+    }
+
+    private static long toMinutes(LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(ZoneOffset.UTC) / 60;
+    }
+}
@@ -0,0 +1,30 @@
+package com.emporio.pet.services.scheduling;
+
+import java.util.List;
+
+/**
+ * Designa o funcionário com menos minutos agendados no dia (empate: menos agendamentos, depois menor id).
+ */
+public class LeastBookedAssignmentStrategy implements EmployeeAssignmentStrategy {
+
+    @Override
+    public EmployeeLoad select(List<EmployeeLoad> candidates, int startMinute, int endMinute) {
+        EmployeeLoad best = null;
+        for (EmployeeLoad candidate : candidates) {
+            if (best == null || isLessBooked(candidate, best)) {
+                best = candidate;
+            }
+        }
+        return best;
+    }
+
+    static boolean isLessBooked(EmployeeLoad a, EmployeeLoad b) {
+        if (a.getBookedMinutes() != b.getBookedMinutes()) {
+            return a.getBookedMinutes() < b.getBookedMinutes();
+        }
+        if (a.getAppointmentCount() != b.getAppointmentCount()) {
+            return a.getAppointmentCount() < b.getAppointmentCount();
+        }
+        return a.getEmployeeId() < b.getEmployeeId();
+    }
+}
@@ -0,0 +1,40 @@
+package com.emporio.pet.services.scheduling;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Designa, em ordem de id, o próximo funcionário livre depois do último designado, voltando ao início no fim da fila.
+ * Escolha e avanço do último designado são atômicos: designações simultâneas não repetem o mesmo funcionário.
+ */
+public class RoundRobinAssignmentStrategy implements EmployeeAssignmentStrategy {
+
+    private final AtomicLong lastAssignedId = new AtomicLong(Long.MIN_VALUE);
+
+    @Override
+    public EmployeeLoad select(List<EmployeeLoad> candidates, int startMinute, int endMinute) {
+        while (true) {
+            long last = lastAssignedId.get();
+            EmployeeLoad chosen = nextAfter(candidates, last);
+            // Só avança se ninguém designou entre a leitura e a escolha; senão escolhe de novo a partir do novo último
+            if (chosen == null || lastAssignedId.compareAndSet(last, chosen.getEmployeeId())) {
+                return chosen;
+            }
+        }
+    }
+
+    private static EmployeeLoad nextAfter(List<EmployeeLoad> candidates, long last) {
+        EmployeeLoad next = null;
+        EmployeeLoad first = null;
+        for (EmployeeLoad candidate : candidates) {
+            long id = candidate.getEmployeeId();
+            if (first == null || id < first.getEmployeeId()) {
+                first = candidate;
+            }
+            if (id > last && (next == null || id < next.getEmployeeId())) {
+                next = candidate;
+            }
+        }
+        return next != null ? next : first;
+    }
+}
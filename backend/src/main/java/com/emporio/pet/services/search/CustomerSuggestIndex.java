@@ -0,0 +1,454 @@
+package com.emporio.pet.services.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.function.Supplier;
+
+/**
+ * Índice de prefixos para o autocompletar de clientes. Cada cliente gera tokens a partir do nome normalizado
+ * (o nome inteiro e cada sufixo que começa em uma palavra), do CPF e do telefone, só com dígitos.
+ * A base é um par de arrays ordenados de postings empacotados em {@code long} (slot, campo e posição no texto),
+ * sem cópia de substrings, consultado por busca binária. Alterações entram em uma camada pequena de
+ * {@link ConcurrentSkipListSet}; quando ela cresce, é intercalada com a base em uma passada linear.
+ * Base, camada de alterações e versões atuais são publicadas juntas em um {@link State}: intercalações e
+ * cargas trocam o estado inteiro de uma vez, então a leitura não usa lock e nunca combina uma base nova com
+ * uma camada antiga (ou o contrário). Entre trocas, escritas alteram a camada e o mapa de versões do estado
+ * corrente, sempre acrescentando os tokens novos antes de trocar a versão. Postings de versões antigas de
+ * um cliente são descartados na consulta. As escritas são serializadas pelo monitor do índice.
+ */
+public class CustomerSuggestIndex {
+
+    private static final int DEFAULT_MIN_OVERLAY_MERGE = 1024;
+
+    private static final int FIELD_NAME = 0;
+    private static final int FIELDS = 3;
+
+    private static final Comparator<Token> TOKEN_ORDER = Comparator.comparing(Token::text)
+            .thenComparingLong(token -> token.entry().id())
+            .thenComparingInt(Token::field)
+            .thenComparingInt(Token::offset);
+
+    private final int minOverlayMerge;
+    private volatile State state = State.of(Base.build(List.of()), new ConcurrentHashMap<>());
+    // Não nulo durante uma carga: alterações a reaplicar sobre o que foi lido
+    private List<Suggestion> pendingDuringLoad;
+
+    public CustomerSuggestIndex() {
+        this(DEFAULT_MIN_OVERLAY_MERGE);
+    }
+
+    /**
+     * @param minOverlayMerge tamanho mínimo da camada de alterações para intercalá-la com a base
+     */
+    CustomerSuggestIndex(int minOverlayMerge) {
+        this.minOverlayMerge = minOverlayMerge;
+    }
+
+    /**
+     * Sugestão devolvida pela busca: id e dados de exibição do cliente.
+     */
+    public record Suggestion(Long id, String name, String cpf, String phone) {
+    }
+
+    /**
+     * Substitui todo o conteúdo do índice pelo que a fonte devolver. Alterações recebidas enquanto a fonte
+     * é lida são reaplicadas por cima.
+     */
+    public void load(Supplier<? extends Collection<Suggestion>> source) {
+        synchronized (this) {
+            pendingDuringLoad = new ArrayList<>();
+        }
+        Collection<Suggestion> customers;
+        try {
+            customers = source.get();
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                pendingDuringLoad = null;
+            }
+            throw e;
+        }
+
+        synchronized (this) {
+            Map<Long, Entry> current = new ConcurrentHashMap<>();
+            for (Suggestion customer : customers) {
+                Entry entry = new Entry(customer);
+                current.put(entry.id(), entry);
+            }
+            state = State.of(Base.build(current.values()), current);
+            List<Suggestion> pending = pendingDuringLoad;
+            pendingDuringLoad = null;
+            pending.forEach(this::put);
+        }
+    }
+
+    /**
+     * Inclui ou atualiza um cliente.
+     */
+    public synchronized void put(Suggestion customer) {
+        if (pendingDuringLoad != null) {
+            pendingDuringLoad.add(customer);
+        }
+        State snapshot = state;
+        Entry entry = new Entry(customer);
+        // Tokens novos entram antes da troca da versão atual: um leitor concorrente sempre encontra o cliente
+        // pela versão antiga ou pela nova
+        snapshot.overlay().addAll(entry.tokens());
+        Entry previous = snapshot.current().put(entry.id(), entry);
+        if (previous != null) {
+            snapshot.overlay().removeAll(previous.tokens());
+        }
+        int changes = snapshot.overlay().size();
+        if (changes >= minOverlayMerge && changes > snapshot.base().postings() / 16) {
+            state = State.of(snapshot.base().merge(snapshot.overlay(), snapshot.current()), snapshot.current());
+        }
+    }
+
+    public int size() {
+        return state.current().size();
+    }
+
+    /**
+     * Tokens na camada de alterações, ainda não intercalados com a base.
+     */
+    int overlaySize() {
+        return state.overlay().size();
+    }
+
+    /**
+     * Até {@code limit} clientes cujo nome, CPF ou telefone começa pelo termo, seguidos dos que têm uma
+     * palavra do nome começando pelo termo; cada grupo em ordem alfabética.
+     */
+    public List<Suggestion> suggest(String term, int limit) {
+        String prefix = SearchText.term(term);
+        if (prefix.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        State snapshot = state;
+
+        List<Suggestion> result = new ArrayList<>(limit);
+        Set<Long> seen = new HashSet<>();
+        collect(snapshot, snapshot.base().leading, true, prefix, limit, result, seen);
+        if (result.size() < limit) {
+            collect(snapshot, snapshot.base().inner, false, prefix, limit, result, seen);
+        }
+        return result;
+    }
+
+    /**
+     * Intercala, em ordem de token, os postings da base e da camada de alterações que começam pelo prefixo.
+     */
+    private static void collect(State snapshot, long[] postings, boolean leading,
+                                String prefix, int limit, List<Suggestion> result, Set<Long> seen) {
+        Base base = snapshot.base();
+        int i = base.lowerBound(postings, prefix);
+        Iterator<Token> pending = snapshot.overlay().tailSet(new Token(prefix, Entry.LOWEST, 0, 0)).iterator();
+        Token change = nextChange(pending, leading, prefix);
+
+        while (result.size() < limit) {
+            boolean fromBase = i < postings.length && base.startsWith(postings[i], prefix);
+            if (!fromBase && change == null) {
+                return;
+            }
+            Entry entry;
+            if (fromBase && (change == null || base.compare(postings[i], change) <= 0)) {
+                entry = base.entry(postings[i++]);
+            } else {
+                entry = change.entry();
+                change = nextChange(pending, leading, prefix);
+            }
+            // Versões substituídas continuam na base até a próxima intercalação
+            if (snapshot.current().get(entry.id()) == entry && seen.add(entry.id())) {
+                result.add(entry.suggestion);
+            }
+        }
+    }
+
+    private static Token nextChange(Iterator<Token> pending, boolean leading, String prefix) {
+        while (pending.hasNext()) {
+            Token token = pending.next();
+            if (!token.text().startsWith(prefix)) {
+                return null;
+            }
+            if (token.leading() == leading) {
+                return token;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Base, camada de alterações e versão atual de cada cliente. Escritas alteram a camada e o mapa do estado
+     * corrente; intercalações e cargas publicam um estado novo.
+     */
+    private record State(Base base, ConcurrentSkipListSet<Token> overlay, Map<Long, Entry> current) {
+
+        static State of(Base base, Map<Long, Entry> current) {
+            return new State(base, new ConcurrentSkipListSet<>(TOKEN_ORDER), current);
+        }
+    }
+
+    private record Token(String text, Entry entry, int field, int offset) {
+
+        boolean leading() {
+            return offset == 0;
+        }
+    }
+
+    private static final class Entry {
+
+        static final Entry LOWEST = new Entry(new Suggestion(Long.MIN_VALUE, null, null, null));
+
+        final Suggestion suggestion;
+        // Nome normalizado, dígitos do CPF e dígitos do telefone
+        final String[] texts;
+
+        Entry(Suggestion suggestion) {
+            this.suggestion = suggestion;
+            this.texts = new String[]{
+                    SearchText.fold(suggestion.name()),
+                    SearchText.digits(suggestion.cpf()),
+                    SearchText.digits(suggestion.phone())
+            };
+        }
+
+        long id() {
+            return suggestion.id();
+        }
+
+        List<Token> tokens() {
+            List<Token> tokens = new ArrayList<>();
+            for (int field = 0; field < FIELDS; field++) {
+                for (int offset : tokenStarts(field)) {
+                    tokens.add(new Token(texts[field].substring(offset), this, field, offset));
+                }
+            }
+            return tokens;
+        }
+
+        /**
+         * Posições onde começam tokens: todo início de palavra do nome; CPF e telefone só por inteiro.
+         */
+        int[] tokenStarts(int field) {
+            String text = texts[field];
+            if (text.isEmpty()) {
+                return new int[0];
+            }
+            if (field != FIELD_NAME) {
+                return new int[]{0};
+            }
+            int words = 1;
+            for (int i = 1; i < text.length(); i++) {
+                if (text.charAt(i - 1) == ' ') words++;
+            }
+            int[] starts = new int[words];
+            int w = 1;
+            for (int i = 1; i < text.length(); i++) {
+                if (text.charAt(i - 1) == ' ') starts[w++] = i;
+            }
+            return starts;
+        }
+    }
+
+    /**
+     * Base imutável. Posting: slot do cliente (bits 63-20), campo (19-16) e posição do token no texto (15-0);
+     * nomes têm no máximo 255 caracteres. Slots de versões substituídas ficam nulos até a próxima reconstrução.
+     */
+    private static final class Base {
+
+        final Entry[] entries;
+        // Tokens na posição 0 (nome inteiro, CPF, telefone) e tokens a partir da segunda palavra do nome
+        final long[] leading;
+        final long[] inner;
+
+        private Base(Entry[] entries, long[] leading, long[] inner) {
+            this.entries = entries;
+            this.leading = leading;
+            this.inner = inner;
+        }
+
+        int postings() {
+            return leading.length + inner.length;
+        }
+
+        /**
+         * Constrói a base do zero ordenando todos os postings.
+         */
+        static Base build(Collection<Entry> entryList) {
+            Entry[] entries = entryList.toArray(Entry[]::new);
+            Arrays.sort(entries, Comparator.comparingLong(Entry::id));
+            int leadingCount = 0;
+            int innerCount = 0;
+            for (Entry entry : entries) {
+                for (int field = 0; field < FIELDS; field++) {
+                    int starts = entry.tokenStarts(field).length;
+                    if (starts > 0) {
+                        leadingCount++;
+                        innerCount += starts - 1;
+                    }
+                }
+            }
+            long[] leading = new long[leadingCount];
+            long[] inner = new long[innerCount];
+            leadingCount = 0;
+            innerCount = 0;
+            for (int slot = 0; slot < entries.length; slot++) {
+                for (int field = 0; field < FIELDS; field++) {
+                    for (int offset : entries[slot].tokenStarts(field)) {
+                        if (offset == 0) {
+                            leading[leadingCount++] = posting(slot, field, offset);
+                        } else {
+                            inner[innerCount++] = posting(slot, field, offset);
+                        }
+                    }
+                }
+            }
+            Base base = new Base(entries, leading, inner);
+            base.sort(leading);
+            base.sort(inner);
+            return base;
+        }
+
+        /**
+         * Nova base com os postings vivos desta intercalados com os tokens da camada de alterações.
+         * Reconstrói do zero quando metade dos slots já é de versões substituídas.
+         */
+        Base merge(Collection<Token> overlay, Map<Long, Entry> current) {
+            Map<Entry, Integer> added = new IdentityHashMap<>();
+            for (Token token : overlay) {
+                if (current.get(token.entry().id()) == token.entry()) {
+                    added.putIfAbsent(token.entry(), entries.length + added.size());
+                }
+            }
+            Entry[] merged = Arrays.copyOf(entries, entries.length + added.size());
+            int live = added.size();
+            for (int slot = 0; slot < entries.length; slot++) {
+                if (merged[slot] == null) {
+                    continue;
+                }
+                if (current.get(merged[slot].id()) == merged[slot]) {
+                    live++;
+                } else {
+                    merged[slot] = null;
+                }
+            }
+            added.forEach((entry, slot) -> merged[slot] = entry);
+            if (live < merged.length / 2) {
+                return build(current.values());
+            }
+
+            Base next = new Base(merged, null, null);
+            return new Base(merged,
+                    next.mergePostings(leading, overlay, added, true),
+                    next.mergePostings(inner, overlay, added, false));
+        }
+
+        private long[] mergePostings(long[] old, Collection<Token> overlay, Map<Entry, Integer> added, boolean leading) {
+            long[] result = new long[old.length + overlay.size()];
+            int count = 0;
+            int i = 0;
+            Iterator<Token> tokens = overlay.iterator();
+            Token token = nextAdded(tokens, added, leading);
+            while (i < old.length || token != null) {
+                if (i < old.length && entry(old[i]) == null) {
+                    i++;
+                } else if (i < old.length && (token == null || compare(old[i], token) <= 0)) {
+                    result[count++] = old[i++];
+                } else {
+                    result[count++] = posting(added.get(token.entry()), token.field(), token.offset());
+                    token = nextAdded(tokens, added, leading);
+                }
+            }
+            return Arrays.copyOf(result, count);
+        }
+
+        private static Token nextAdded(Iterator<Token> tokens, Map<Entry, Integer> added, boolean leading) {
+            while (tokens.hasNext()) {
+                Token token = tokens.next();
+                if (token.leading() == leading && added.containsKey(token.entry())) {
+                    return token;
+                }
+            }
+            return null;
+        }
+
+        private static long posting(int slot, int field, int offset) {
+            return (long) slot << 20 | (long) field << 16 | offset;
+        }
+
+        Entry entry(long posting) {
+            return entries[(int) (posting >>> 20)];
+        }
+
+        private String text(long posting) {
+            return entry(posting).texts[(int) (posting >>> 16) & 0xF];
+        }
+
+        private static int offset(long posting) {
+            return (int) posting & 0xFFFF;
+        }
+
+        boolean startsWith(long posting, String prefix) {
+            return text(posting).startsWith(prefix, offset(posting));
+        }
+
+        /**
+         * Primeiro posting cujo token é maior ou igual ao prefixo.
+         */
+        int lowerBound(long[] postings, String prefix) {
+            int low = 0;
+            int high = postings.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (compareText(text(postings[mid]), offset(postings[mid]), prefix, 0) < 0) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        int compare(long posting, Token token) {
+            int c = compareText(text(posting), offset(posting), token.text(), 0);
+            return c != 0 ? c : Long.compare(entry(posting).id(), token.entry().id());
+        }
+
+        private int compare(long a, long b) {
+            int c = compareText(text(a), offset(a), text(b), offset(b));
+            return c != 0 ? c : Long.compare(entry(a).id(), entry(b).id());
+        }
+
+        private static int compareText(String a, int fromA, String b, int fromB) {
+            int lengthA = a.length() - fromA;
+            int lengthB = b.length() - fromB;
+            int n = Math.min(lengthA, lengthB);
+            for (int k = 0; k < n; k++) {
+                int c = a.charAt(fromA + k) - b.charAt(fromB + k);
+                if (c != 0) {
+                    return c;
+                }
+            }
+            return lengthA - lengthB;
+        }
+
+        /**
+         * Ordena pelo texto do token e, nos empates, pelo id do cliente.
+         */
+        private void sort(long[] postings) {
+            Long[] boxed = new Long[postings.length];
+            Arrays.setAll(boxed, i -> postings[i]);
+            Arrays.sort(boxed, this::compare);
+            Arrays.setAll(postings, i -> boxed[i]);
+        }
+    }
+}
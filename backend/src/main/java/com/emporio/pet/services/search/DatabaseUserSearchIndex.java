@@ -0,0 +1,39 @@
+package com.emporio.pet.services.search;
+
+import com.emporio.pet.entities.enums.UserStatus;
+import com.emporio.pet.repositories.UserRepository;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+/**
+ * Busca direto em {@code tb_user.search_key} com {@code LIKE '%termo%'}. No PostgreSQL a consulta é servida
+ * por um índice GIN de trigramas (pg_trgm); coluna e índice são criados à mão com {@code sql/postgres-manual.sql},
+ * já que o perfil do PostgreSQL não gera o esquema. Em outros bancos funciona, mas varre a tabela.
+ */
+public class DatabaseUserSearchIndex implements UserSearchIndex {
+
+    private final UserRepository userRepository;
+
+    public DatabaseUserSearchIndex(UserRepository userRepository) {
+        this.userRepository = userRepository;
+    }
+
+    @Override
+    public Page<Long> search(String term, String role, UserStatus status, Pageable pageable) {
+        String normalized = SearchText.term(term);
+        if (normalized.isEmpty()) {
+            return Page.empty(pageable);
+        }
+        // A ordem é a da relevância; uma ordenação vinda da requisição não se aplica
+        return userRepository.searchIds(normalized, role, status, PageRequest.of(pageable.getPageNumber(), pageable.getPageSize()));
+    }
+
+    @Override
+    public void rebuild() {
+    }
+
+    @Override
+    public void put(UserSearchEntry entry) {
+    }
+}
@@ -0,0 +1,367 @@
+package com.emporio.pet.services.search;
+
+import com.emporio.pet.dto.UserSearchRow;
+import com.emporio.pet.entities.enums.UserStatus;
+import com.emporio.pet.repositories.UserRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Índice invertido de trigramas das chaves de busca, para bancos sem índice de trigramas (H2).
+ * Cada trigrama aponta para a lista ordenada dos slots que o contêm; a chave é indexada como
+ * {@code "^" + chave + " "}, de modo que início da chave e início de palavra também viram trigramas.
+ * A busca percorre as faixas do ranking em ordem (prefixo da chave, início de palavra, qualquer posição),
+ * intersectando as listas dos trigramas de {@code "^termo"}, {@code " termo"} e {@code "termo"}, e para
+ * assim que os resultados até o fim da página já estão todos em faixas anteriores. O total é contado à parte,
+ * sobre a interseção das listas do próprio termo. Padrões com menos de 3 caracteres
+ * varrem todas as chaves. Uma atualização ocupa um slot novo e marca o anterior como removido; quando os
+ * removidos passam de um quarto, o índice é recompactado em memória.
+ */
+public class InMemoryUserSearchIndex implements UserSearchIndex {
+
+    // Espaço, dígitos, A-Z, "outro" e o marcador de início da chave: 6 bits por caractere, 18 bits por trigrama
+    private static final int TRIGRAMS = 1 << 18;
+    private static final int MIN_COMPACTION = 1024;
+    private static final char KEY_START = '^';
+
+    private static final Comparator<Match> RANKING = Comparator.comparingInt(Match::rank)
+            .thenComparingInt(Match::length)
+            .thenComparingLong(Match::id);
+
+    private final UserRepository userRepository;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private Postings postings = new Postings();
+    // Não nulo durante um rebuild: atualizações a reaplicar sobre o índice recém-carregado
+    private List<UserSearchEntry> pendingDuringRebuild;
+
+    public InMemoryUserSearchIndex(UserRepository userRepository, MeterRegistry meterRegistry) {
+        this.userRepository = userRepository;
+        Gauge.builder("search.user-index.entries", this, InMemoryUserSearchIndex::size).register(meterRegistry);
+    }
+
+    @Override
+    public Page<Long> search(String term, String role, UserStatus status, Pageable pageable) {
+        String normalized = SearchText.term(term);
+        if (normalized.isEmpty()) {
+            return Page.empty(pageable);
+        }
+        List<Long> ranked;
+        int total;
+        lock.readLock().lock();
+        try {
+            total = postings.count(normalized, role, status);
+            int limit = (int) Math.min(pageable.getOffset() + pageable.getPageSize(), total);
+            ranked = pageable.getOffset() < total ? postings.search(normalized, role, status, limit) : List.of();
+        } finally {
+            lock.readLock().unlock();
+        }
+        int from = (int) Math.min(pageable.getOffset(), ranked.size());
+        return new PageImpl<>(ranked.subList(from, ranked.size()), pageable, total);
+    }
+
+    @Override
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            pendingDuringRebuild = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        Postings fresh = new Postings();
+        try {
+            List<UserSearchRow> rows = userRepository.findSearchRows();
+            int i = 0;
+            while (i < rows.size()) {
+                UserSearchRow first = rows.get(i);
+                Set<String> roles = new HashSet<>();
+                while (i < rows.size() && rows.get(i).getId().equals(first.getId())) {
+                    roles.add(rows.get(i++).getAuthority());
+                }
+                fresh.add(new UserSearchEntry(first.getId(), first.getSearchKey(), first.getStatus(), roles));
+            }
+        } catch (RuntimeException e) {
+            lock.writeLock().lock();
+            try {
+                pendingDuringRebuild = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            throw e;
+        }
+
+        lock.writeLock().lock();
+        try {
+            for (UserSearchEntry entry : pendingDuringRebuild) {
+                fresh.add(entry);
+            }
+            pendingDuringRebuild = null;
+            fresh.trim();
+            postings = fresh;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void put(UserSearchEntry entry) {
+        lock.writeLock().lock();
+        try {
+            postings.add(entry);
+            if (pendingDuringRebuild != null) {
+                pendingDuringRebuild.add(entry);
+            }
+            if (postings.removed >= MIN_COMPACTION && postings.removed > postings.slots / 4) {
+                postings = postings.compacted();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return postings.slots - postings.removed;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static int code(char c) {
+        if (c == ' ') return 0;
+        if (c >= '0' && c <= '9') return 1 + c - '0';
+        if (c >= 'A' && c <= 'Z') return 11 + c - 'A';
+        if (c == KEY_START) return 38;
+        return 37;
+    }
+
+    /**
+     * Trigramas distintos do texto, ordenados.
+     */
+    private static int[] trigrams(String text) {
+        if (text.length() < 3) {
+            return new int[0];
+        }
+        int[] codes = new int[text.length() - 2];
+        for (int i = 0; i < codes.length; i++) {
+            codes[i] = code(text.charAt(i)) << 12 | code(text.charAt(i + 1)) << 6 | code(text.charAt(i + 2));
+        }
+        Arrays.sort(codes);
+        int distinct = 0;
+        for (int i = 0; i < codes.length; i++) {
+            if (i == 0 || codes[i] != codes[i - 1]) {
+                codes[distinct++] = codes[i];
+            }
+        }
+        return Arrays.copyOf(codes, distinct);
+    }
+
+    /**
+     * Faixa do ranking: 0 para prefixo da chave, 1 para início de palavra, 2 para qualquer posição e -1 se não contém.
+     */
+    private static int rank(String key, String term) {
+        int at = key.indexOf(term);
+        if (at < 0) return -1;
+        if (at == 0) return 0;
+        for (; at >= 0; at = key.indexOf(term, at + 1)) {
+            if (key.charAt(at - 1) == ' ') return 1;
+        }
+        return 2;
+    }
+
+    private record Match(int rank, int length, long id) {
+    }
+
+    /**
+     * Estado do índice; acessado somente sob o lock de {@link InMemoryUserSearchIndex}.
+     */
+    private static final class Postings {
+
+        private final int[][] lists = new int[TRIGRAMS][];
+        private final int[] sizes = new int[TRIGRAMS];
+        private final Map<Long, Integer> slotById = new HashMap<>();
+        // Conjuntos de perfis compartilhados entre entradas iguais
+        private final Map<Set<String>, Set<String>> roleSets = new HashMap<>();
+
+        private long[] ids = new long[1024];
+        private String[] keys = new String[1024];
+        private UserStatus[] statuses = new UserStatus[1024];
+        private List<Set<String>> roles = new ArrayList<>();
+        private int slots;
+        private int removed;
+
+        void add(UserSearchEntry entry) {
+            Integer previous = slotById.remove(entry.id());
+            if (previous != null) {
+                keys[previous] = null;
+                removed++;
+            }
+            if (entry.searchKey() == null) {
+                return;
+            }
+            if (slots == ids.length) {
+                int capacity = slots * 2;
+                ids = Arrays.copyOf(ids, capacity);
+                keys = Arrays.copyOf(keys, capacity);
+                statuses = Arrays.copyOf(statuses, capacity);
+            }
+            int slot = slots++;
+            ids[slot] = entry.id();
+            keys[slot] = entry.searchKey();
+            statuses[slot] = entry.status();
+            roles.add(roleSets.computeIfAbsent(Set.copyOf(entry.roles()), r -> r));
+            slotById.put(entry.id(), slot);
+
+            for (int trigram : trigrams(KEY_START + entry.searchKey() + " ")) {
+                int[] list = lists[trigram];
+                if (list == null) {
+                    list = lists[trigram] = new int[4];
+                } else if (sizes[trigram] == list.length) {
+                    list = lists[trigram] = Arrays.copyOf(list, list.length * 2);
+                }
+                list[sizes[trigram]++] = slot;
+            }
+        }
+
+        /**
+         * Os {@code limit} melhores resultados, em ordem de relevância.
+         */
+        List<Long> search(String term, String role, UserStatus status, int limit) {
+            PriorityQueue<Match> best = new PriorityQueue<>(limit + 1, RANKING.reversed());
+            String[] patterns = {KEY_START + term, " " + term, term};
+            for (int tier = 0; tier < patterns.length; tier++) {
+                if (best.size() == limit && best.peek().rank() < tier) {
+                    break;
+                }
+                if (patterns[tier].length() < 3) {
+                    for (int slot = 0; slot < slots; slot++) {
+                        consider(slot, tier, term, role, status, limit, best);
+                    }
+                } else {
+                    for (int slot : candidates(trigrams(patterns[tier]))) {
+                        consider(slot, tier, term, role, status, limit, best);
+                    }
+                }
+            }
+            List<Match> matches = new ArrayList<>(best);
+            matches.sort(RANKING);
+            return matches.stream().map(Match::id).toList();
+        }
+
+        /**
+         * Quantidade de chaves que contêm o termo e passam pelos filtros.
+         */
+        int count(String term, String role, UserStatus status) {
+            int count = 0;
+            if (term.length() < 3) {
+                for (int slot = 0; slot < slots; slot++) {
+                    if (matches(slot, term, role, status)) count++;
+                }
+            } else {
+                for (int slot : candidates(trigrams(term))) {
+                    if (matches(slot, term, role, status)) count++;
+                }
+            }
+            return count;
+        }
+
+        private boolean matches(int slot, String term, String role, UserStatus status) {
+            String key = keys[slot];
+            return key != null && (status == null || statuses[slot] == status)
+                    && (role == null || roles.get(slot).contains(role)) && key.contains(term);
+        }
+
+        /**
+         * Interseção das listas, começando pela menor e buscando cada candidato nas demais.
+         */
+        private int[] candidates(int[] trigrams) {
+            Integer[] order = new Integer[trigrams.length];
+            for (int i = 0; i < trigrams.length; i++) {
+                if (sizes[trigrams[i]] == 0) {
+                    return new int[0];
+                }
+                order[i] = trigrams[i];
+            }
+            Arrays.sort(order, Comparator.comparingInt(t -> sizes[t]));
+
+            int[] result = Arrays.copyOf(lists[order[0]], sizes[order[0]]);
+            int count = result.length;
+            for (int i = 1; i < order.length && count > 0; i++) {
+                int[] list = lists[order[i]];
+                int size = sizes[order[i]];
+                int kept = 0;
+                int from = 0;
+                for (int c = 0; c < count && from < size; c++) {
+                    int found = Arrays.binarySearch(list, from, size, result[c]);
+                    if (found >= 0) {
+                        result[kept++] = result[c];
+                        from = found + 1;
+                    } else {
+                        from = -found - 1;
+                    }
+                }
+                count = kept;
+            }
+            return Arrays.copyOf(result, count);
+        }
+
+        /**
+         * Considera o slot se a chave cair exatamente na faixa {@code tier}; as demais faixas têm sua própria passada.
+         */
+        private void consider(int slot, int tier, String term, String role, UserStatus status, int limit, PriorityQueue<Match> best) {
+            String key = keys[slot];
+            if (key == null || (status != null && statuses[slot] != status) || (role != null && !roles.get(slot).contains(role))) {
+                return;
+            }
+            if (best.size() == limit && (best.peek().rank() < tier
+                    || (best.peek().rank() == tier && best.peek().length() < key.length()))) {
+                return;
+            }
+            if (rank(key, term) != tier) {
+                return;
+            }
+            Match match = new Match(tier, key.length(), ids[slot]);
+            if (best.size() < limit) {
+                best.add(match);
+            } else if (RANKING.compare(match, best.peek()) < 0) {
+                best.poll();
+                best.add(match);
+            }
+        }
+
+        Postings compacted() {
+            Postings fresh = new Postings();
+            for (int slot = 0; slot < slots; slot++) {
+                if (keys[slot] != null) {
+                    fresh.add(new UserSearchEntry(ids[slot], keys[slot], statuses[slot], roles.get(slot)));
+                }
+            }
+            fresh.trim();
+            return fresh;
+        }
+
+        void trim() {
+            for (int t = 0; t < TRIGRAMS; t++) {
+                if (lists[t] != null && lists[t].length > sizes[t]) {
+                    lists[t] = Arrays.copyOf(lists[t], sizes[t]);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.emporio.pet.services.search;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Normalização usada pelas chaves e termos de busca: sem acentos, em maiúsculas, só letras, dígitos e
+ * espaços simples. Documentos (CPF, telefone) entram apenas com os dígitos.
+ */
+public final class SearchText {
+
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern NOT_ALPHANUMERIC = Pattern.compile("[^\\p{L}\\p{Nd}]+");
+    private static final Pattern NOT_DIGIT = Pattern.compile("\\D+");
+
+    private SearchText() {
+    }
+
+    public static String fold(String text) {
+        if (text == null) {
+            return "";
+        }
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+        String unaccented = COMBINING_MARKS.matcher(decomposed).replaceAll("");
+        return NOT_ALPHANUMERIC.matcher(unaccented.toUpperCase(Locale.ROOT)).replaceAll(" ").trim();
+    }
+
+    public static String digits(String text) {
+        return text == null ? "" : NOT_DIGIT.matcher(text).replaceAll("");
+    }
+
+    /**
+     * Chave de busca: nome normalizado seguido dos documentos, só com dígitos.
+     */
+    public static String key(String name, String... documents) {
+        StringBuilder key = new StringBuilder(fold(name));
+        for (String document : documents) {
+            String digits = digits(document);
+            if (!digits.isEmpty()) {
+                key.append(' ').append(digits);
+            }
+        }
+        return key.toString();
+    }
+
+    /**
+     * Normaliza o termo digitado. Sem letras, é tratado como documento ("111.222.333-44" vira "11122233344").
+     */
+    public static String term(String text) {
+        String folded = fold(text);
+        for (int i = 0; i < folded.length(); i++) {
+            if (Character.isLetter(folded.charAt(i))) {
+                return folded;
+            }
+        }
+        return digits(folded);
+    }
+}
@@ -0,0 +1,19 @@
+package com.emporio.pet.services.search;
+
+import com.emporio.pet.entities.Role;
+import com.emporio.pet.entities.User;
+import com.emporio.pet.entities.enums.UserStatus;
+
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * O que o índice de busca guarda de cada usuário.
+ */
+public record UserSearchEntry(Long id, String searchKey, UserStatus status, Set<String> roles) {
+
+    public static UserSearchEntry of(User user) {
+        Set<String> roles = user.getRoles().stream().map(Role::getAuthority).collect(Collectors.toUnmodifiableSet());
+        return new UserSearchEntry(user.getId(), user.buildSearchKey(), user.getUserStatus(), roles);
+    }
+}
@@ -0,0 +1,26 @@
+package com.emporio.pet.services.search;
+
+import com.emporio.pet.entities.enums.UserStatus;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+/**
+ * Busca de usuários por nome, CPF ou telefone sobre a chave normalizada ({@link SearchText}).
+ * Os ids vêm ordenados por relevância: chave que começa com o termo, depois termo no início de uma palavra,
+ * depois em qualquer posição; empates pela chave mais curta e pelo id. O total da página conta todas as
+ * correspondências, de modo que qualquer página do resultado pode ser pedida.
+ */
+public interface UserSearchIndex {
+
+    Page<Long> search(String term, String role, UserStatus status, Pageable pageable);
+
+    /**
+     * Carrega o índice inteiro. Chamado na inicialização, depois do preenchimento das chaves ausentes.
+     */
+    void rebuild();
+
+    /**
+     * Aplica o estado já confirmado (pós-commit) de um usuário.
+     */
+    void put(UserSearchEntry entry);
+}
@@ -0,0 +1,17 @@
+package com.emporio.pet.config;
+
+import com.emporio.pet.services.InMemoryMailSender;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+
+@TestConfiguration
+public class InMemoryMailConfig {
+
+    /**
+     * Substitui o JavaMailSender SMTP do Spring Boot nos testes que importam esta configuração.
+     */
+    @Bean
+    public InMemoryMailSender inMemoryMailSender() {
+        return new InMemoryMailSender();
+    }
+}
@@ -0,0 +1,48 @@
+package com.emporio.pet.controllers;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Base dos testes pela API: aplicação completa em porta aleatória, com estatísticas do Hibernate ligadas e as
+ * tarefas periódicas de segundo plano adiadas (quem precisa delas as reativa com {@code @TestPropertySource}).
+ * Cada classe recebe um contexto e um banco novos, já que os testes gravam dados.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "email.outbox.poll-interval-ms=3600000",
+        "dashboard.cache.refresh-interval-ms=3600000"
+})
+@DirtiesContext
+abstract class ApiIntegrationTest {
+
+    protected static final String ADMIN = "20232tadssaj0010@ifba.edu.br";
+    protected static final String EMPLOYEE = "joao@pet.com";
+    protected static final String CLIENT = "maria@gmail.com";
+    protected static final String PASSWORD = "12345678";
+
+    @Autowired
+    protected TestRestTemplate restTemplate;
+
+    protected String login(String email) {
+        ResponseEntity<Map> response = restTemplate.postForEntity("/auth/login",
+                Map.of("email", email, "password", PASSWORD), Map.class);
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        return (String) response.getBody().get("token");
+    }
+
+    protected static HttpHeaders bearer(String token) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setBearerAuth(token);
+        return headers;
+    }
+}
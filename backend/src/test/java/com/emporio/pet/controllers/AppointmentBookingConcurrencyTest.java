@@ -0,0 +1,66 @@
+package com.emporio.pet.controllers;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Dispara reservas simultâneas para o mesmo horário do mesmo profissional e verifica
+ * que apenas uma é aceita e as demais recebem 409.
+ */
+class AppointmentBookingConcurrencyTest extends ApiIntegrationTest {
+
+    private static final int CONCURRENT_REQUESTS = 200;
+
+    @Test
+    void concurrentBookingsForSameSlotShouldAcceptExactlyOne() throws Exception {
+        String token = login(CLIENT);
+
+        HttpHeaders headers = bearer(token);
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        String startDateTime = LocalDate.now().plusDays(30).atTime(10, 0).toString();
+        Map<String, Object> body = Map.of("petId", 1, "serviceId", 2, "startDateTime", startDateTime);
+        HttpEntity<Map<String, Object>> request = new HttpEntity<>(body, headers);
+
+        ExecutorService executor = Executors.newFixedThreadPool(64);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<HttpStatus>> results = new ArrayList<>();
+        try {
+            for (int i = 0; i < CONCURRENT_REQUESTS; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    ResponseEntity<String> response = restTemplate.postForEntity("/appointments", request, String.class);
+                    return HttpStatus.valueOf(response.getStatusCode().value());
+                }));
+            }
+            start.countDown();
+
+            int created = 0;
+            int conflicts = 0;
+            for (Future<HttpStatus> result : results) {
+                HttpStatus status = result.get();
+                if (status == HttpStatus.CREATED) created++;
+                else if (status == HttpStatus.CONFLICT) conflicts++;
+            }
+
+            assertThat(created).isEqualTo(1);
+            assertThat(conflicts).isEqualTo(CONCURRENT_REQUESTS - 1);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.emporio.pet.controllers;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Percorre as listagens de agendamentos página a página pelo cursor e compara com a listagem por OFFSET,
+ * inclusive com vários agendamentos no mesmo horário divididos entre páginas.
+ */
+class AppointmentCursorPaginationTest extends ApiIntegrationTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void cursorPagesShouldMatchOffsetListing() {
+        // Seis agendamentos no mesmo horário: o desempate pelo id atravessa as páginas
+        long[][] sameStart = {{1, 3}, {2, 4}, {3, 5}, {1, 4}, {2, 5}, {3, 3}};
+        for (int i = 0; i < sameStart.length; i++) {
+            jdbcTemplate.update("INSERT INTO tb_appointment (pet_id, service_id, employee_id, start_date_time, end_date_time, status, charged_amount) " +
+                            "VALUES (?, 1, ?, '2025-08-01T10:00:00', '2025-08-01T11:30:00', ?, 95.00)",
+                    sameStart[i][0], sameStart[i][1], i % 2 == 0 ? "COMPLETED" : "CANCELED");
+        }
+        String admin = login(ADMIN);
+        String client = login(CLIENT);
+
+        assertCursorWalkMatchesOffset("/appointments", "", 4, admin, 21);
+        assertCursorWalkMatchesOffset("/appointments", "&status=COMPLETED", 3, admin, 16);
+        assertCursorWalkMatchesOffset("/appointments", "&employeeId=3&minDate=2025-07-05&maxDate=2025-08-31", 2, admin, 9);
+        assertCursorWalkMatchesOffset("/appointments/my", "", 2, client, 14);
+        assertCursorWalkMatchesOffset("/appointments/my", "&status=CANCELED", 1, client, 2);
+    }
+
+    private void assertCursorWalkMatchesOffset(String path, String filters, int size, String token, int expected) {
+        List<Object> offset = ids(get(path + "?size=100" + filters, token).get("content"));
+
+        List<Object> walked = new ArrayList<>();
+        String cursor = "";
+        int pages = 0;
+        while (cursor != null) {
+            Map<String, Object> page = get(path + "?cursor=" + cursor + "&size=" + size + filters, token);
+            List<Object> items = ids(page.get("items"));
+            assertThat(items.size()).isLessThanOrEqualTo(size);
+            walked.addAll(items);
+            cursor = (String) page.get("nextCursor");
+            assertThat(++pages).isLessThanOrEqualTo(expected);
+        }
+
+        assertThat(offset).hasSize(expected);
+        assertThat(walked).isEqualTo(offset);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<Object> ids(Object items) {
+        return ((List<Map<String, Object>>) items).stream().map(item -> item.get("id")).toList();
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> get(String path, String token) {
+        ResponseEntity<Map> response = restTemplate.exchange(path, HttpMethod.GET, new HttpEntity<>(bearer(token)), Map.class);
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        return response.getBody();
+    }
+}
@@ -0,0 +1,107 @@
+package com.emporio.pet.controllers;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Conta os comandos SQL das principais rotas (login, perfil do funcionário e listagens de agendamentos),
+ * para que perfis e serviços dos usuários só sejam carregados onde cada caso de uso precisa deles.
+ */
+class EntityGraphStatementCountTest extends ApiIntegrationTest {
+
+    private static final String ROLES = "com.emporio.pet.entities.User.roles";
+    private static final String SKILLED_SERVICES = "com.emporio.pet.entities.Employee.skilledServices";
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void mainEndpointsShouldRunExpectedStatementCounts() {
+        statistics.clear();
+        String adminToken = login(ADMIN);
+        long loginStatements = statistics.getPrepareStatementCount();
+
+        String employeeToken = login(EMPLOYEE);
+        String clientToken = login(CLIENT);
+        // Aquece o cache do usuário autenticado de cada token, para contar só a rota
+        get("/users/me", adminToken);
+        get("/users/me", employeeToken);
+        get("/users/me", clientToken);
+
+        long employeeProfile = statementsFor("/users/me", employeeToken);
+        long appointmentListing = statementsFor("/appointments?size=20", adminToken);
+        long appointmentCursor = statementsFor("/appointments?cursor=&size=20", adminToken);
+        long myAppointments = statementsFor("/appointments/my?size=20", clientToken);
+        long qualifiedEmployees = statementsFor("/services/1/employees", clientToken);
+
+        // Com perfis e serviços EAGER eram 1, 2, 9, 9, 15 e 2
+        assertThat(loginStatements).isEqualTo(1);
+        assertThat(employeeProfile).isEqualTo(2);
+        // Página de agendamentos (sem contagem: cabe em uma página) e perfis dos donos em lote
+        assertThat(appointmentListing).isEqualTo(2);
+        assertThat(appointmentCursor).isEqualTo(2);
+        // Cliente com pets, página de agendamentos e perfis do dono
+        assertThat(myAppointments).isEqualTo(3);
+        assertThat(qualifiedEmployees).isEqualTo(1);
+    }
+
+    @Test
+    void appointmentListingShouldNotExposeEmployeeServices() {
+        String body = get("/appointments?size=20", login(ADMIN));
+
+        assertThat(body).contains("\"jobTitle\"").doesNotContain("skilledServices");
+    }
+
+    @Test
+    void availabilityShouldNotLoadEmployeeRolesOrServices() {
+        String clientToken = login(CLIENT);
+        // Aquece o cache do usuário autenticado, que carrega os perfis dele
+        get("/users/me", clientToken);
+
+        statistics.clear();
+        get("/appointments/availability?serviceId=1&date=" + LocalDate.now().plusDays(7), clientToken);
+        assertThat(collectionLoads(ROLES)).isZero();
+        assertThat(collectionLoads(SKILLED_SERVICES)).isZero();
+
+        // A listagem de funcionários qualificados, ao contrário, devolve o perfil completo
+        statistics.clear();
+        get("/services/1/employees", clientToken);
+        assertThat(collectionLoads(ROLES)).isPositive();
+        assertThat(collectionLoads(SKILLED_SERVICES)).isPositive();
+    }
+
+    private long collectionLoads(String role) {
+        return statistics.getCollectionStatistics(role).getLoadCount();
+    }
+
+    private long statementsFor(String path, String token) {
+        statistics.clear();
+        get(path, token);
+        return statistics.getPrepareStatementCount();
+    }
+
+    private String get(String path, String token) {
+        ResponseEntity<String> response = restTemplate.exchange(path, HttpMethod.GET, new HttpEntity<>(bearer(token)), String.class);
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        return response.getBody();
+    }
+}
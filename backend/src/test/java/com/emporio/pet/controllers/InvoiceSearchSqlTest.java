@@ -0,0 +1,65 @@
+package com.emporio.pet.controllers;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Verifica o SQL da busca de faturas por cursor: filtros pelo cliente reaproveitam o join que carrega o cliente.
+ */
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.emporio.pet.controllers.InvoiceSearchSqlTest$SqlRecorder")
+class InvoiceSearchSqlTest extends ApiIntegrationTest {
+
+    @Test
+    void searchTermShouldFilterOnTheFetchedCustomerJoin() {
+        String token = login(ADMIN);
+
+        SqlRecorder.STATEMENTS.clear();
+        ResponseEntity<Map> response = restTemplate.exchange("/invoices?cursor=&searchTerm=maria", HttpMethod.GET,
+                new HttpEntity<>(bearer(token)), Map.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat((List<?>) response.getBody().get("items")).hasSize(2);
+        List<String> searches = SqlRecorder.STATEMENTS.stream()
+                .filter(sql -> sql.contains("tb_invoice") && sql.contains("search_key like"))
+                .toList();
+        assertThat(searches).hasSize(1);
+        assertThat(occurrences(searches.get(0), "tb_customer")).isEqualTo(1);
+        assertThat(occurrences(searches.get(0), "tb_user")).isEqualTo(1);
+    }
+
+    private static int occurrences(String sql, String table) {
+        Matcher matcher = Pattern.compile("\\b" + table + "\\b").matcher(sql);
+        int count = 0;
+        while (matcher.find()) {
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Guarda os comandos SQL preparados pelo Hibernate.
+     */
+    public static class SqlRecorder implements StatementInspector {
+
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.emporio.pet.controllers;
+
+import com.emporio.pet.config.InMemoryMailConfig;
+import com.emporio.pet.services.InMemoryMailSender;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Verifica que a recuperação de senha responde sem depender do servidor de e-mail
+ * e que o despachante da caixa de saída reenvia a mensagem após uma falha.
+ * Também verifica o limite de pedidos por e-mail.
+ */
+@TestPropertySource(properties = {
+        "email.outbox.poll-interval-ms=100",
+        "email.outbox.initial-backoff-seconds=0"
+})
+@Import(InMemoryMailConfig.class)
+class PasswordRecoverEmailOutboxTest extends ApiIntegrationTest {
+
+    @Autowired
+    private InMemoryMailSender mailSender;
+
+    @Test
+    void forgotPasswordShouldRespondWhileMailServerFailsAndDeliverAfterRetry() throws Exception {
+        mailSender.clear();
+        mailSender.setFailure(new MailSendException("SMTP indisponível"));
+
+        ResponseEntity<String> response = restTemplate.postForEntity("/auth/forgot-password",
+                Map.of("email", CLIENT), String.class);
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+
+        Thread.sleep(500);
+        assertThat(mailSender.getSentMessages()).isEmpty();
+
+        mailSender.setFailure(null);
+        List<SimpleMailMessage> sent = awaitMessages(1);
+        assertThat(sent).hasSize(1);
+        assertThat(sent.get(0).getTo()).containsExactly(CLIENT);
+        assertThat(sent.get(0).getText()).contains("token=");
+    }
+
+    @Test
+    void forgotPasswordShouldBeRateLimitedPerEmailRegardlessOfAccountExistence() {
+        for (int i = 0; i < 3; i++) {
+            ResponseEntity<String> response = restTemplate.postForEntity("/auth/forgot-password",
+                    Map.of("email", "ninguem@example.com"), String.class);
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        }
+
+        ResponseEntity<String> limited = restTemplate.postForEntity("/auth/forgot-password",
+                Map.of("email", "NINGUEM@example.com"), String.class);
+        assertThat(limited.getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+    }
+
+    private List<SimpleMailMessage> awaitMessages(int expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (mailSender.getSentMessages().size() < expected && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+        return mailSender.getSentMessages();
+    }
+}
@@ -0,0 +1,94 @@
+package com.emporio.pet.controllers;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Verifica que a listagem de usuários executa um número fixo de comandos SQL por página,
+ * independentemente do tamanho da página e da quantidade de pets ou serviços de cada usuário.
+ */
+class UserListingStatementCountTest extends ApiIntegrationTest {
+
+    private static final int EXTRA_CUSTOMERS = 8;
+    private static final int PETS_PER_CUSTOMER = 2;
+
+    // Numera os clientes criados, para que e-mail, telefone e CPF não se repitam entre os métodos de teste
+    private static int createdCustomers;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private HttpHeaders adminHeaders;
+
+    @BeforeEach
+    void setUp() {
+        adminHeaders = bearer(login(ADMIN));
+
+        for (int c = 0; c < EXTRA_CUSTOMERS; c++) {
+            int i = ++createdCustomers;
+            ResponseEntity<Map> customer = restTemplate.postForEntity("/customers", Map.of(
+                    "name", "Cliente Listagem " + i,
+                    "email", "listagem" + i + "@example.com",
+                    "password", PASSWORD,
+                    "phone", String.format("71999%06d", i),
+                    "cpf", String.format("9%010d", i)), Map.class);
+            assertThat(customer.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+            Object ownerId = customer.getBody().get("id");
+
+            for (int p = 0; p < PETS_PER_CUSTOMER; p++) {
+                ResponseEntity<String> pet = restTemplate.exchange("/pets/admin", HttpMethod.POST,
+                        new HttpEntity<>(Map.of("name", "Pet " + i + "-" + p, "ownerId", ownerId, "breedId", 1), adminHeaders),
+                        String.class);
+                assertThat(pet.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+            }
+        }
+    }
+
+    @Test
+    void userListingShouldRunSameStatementCountForAnyPageSize() {
+        // Aquece o cache do usuário autenticado, para contar só a listagem
+        list("client", 1);
+
+        long smallPage = statementsFor("client", 4);
+        long largePage = statementsFor("client", 8);
+        long employees = statementsFor("employee", 2);
+
+        // Ids da página, total e uma consulta em lote do subtipo
+        assertThat(smallPage).isEqualTo(3);
+        assertThat(largePage).isEqualTo(3);
+        assertThat(employees).isEqualTo(3);
+    }
+
+    private long statementsFor(String role, int size) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        List<Map<String, Object>> content = list(role, size);
+        assertThat(content).hasSize(size);
+        if (role.equals("client")) {
+            assertThat(content).allSatisfy(user -> assertThat((List<?>) user.get("pets")).isNotNull());
+        }
+        return statistics.getPrepareStatementCount();
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Map<String, Object>> list(String role, int size) {
+        ResponseEntity<Map> response = restTemplate.exchange("/users?role=" + role + "&size=" + size, HttpMethod.GET,
+                new HttpEntity<>(adminHeaders), Map.class);
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        return (List<Map<String, Object>>) response.getBody().get("content");
+    }
+}
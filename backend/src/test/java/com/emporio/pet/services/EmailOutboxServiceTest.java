@@ -0,0 +1,67 @@
+package com.emporio.pet.services;
+
+import com.emporio.pet.entities.OutboundEmail;
+import com.emporio.pet.entities.enums.EmailStatus;
+import com.emporio.pet.repositories.OutboundEmailRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Registro de tentativas do despachante da caixa de saída, inclusive para exceções que não são de e-mail.
+ */
+class EmailOutboxServiceTest {
+
+    private final OutboundEmailRepository repository = mock(OutboundEmailRepository.class);
+    private final JavaMailSender mailSender = mock(JavaMailSender.class);
+    private final EmailOutboxService service = new EmailOutboxService(repository, mailSender, new SimpleMeterRegistry(),
+            10, 2, 60, 3600, 7);
+
+    @Test
+    void unexpectedExceptionShouldCountAsAttemptWithoutStoppingTheBatch() {
+        OutboundEmail broken = new OutboundEmail("quebrado@example.com", "Assunto", "Corpo", Instant.now());
+        OutboundEmail ok = new OutboundEmail("ok@example.com", "Assunto", "Corpo", Instant.now());
+        when(repository.findDue(any(), any(), any())).thenReturn(List.of(broken, ok));
+        doThrow(new IllegalStateException()).when(mailSender)
+                .send(argThat((SimpleMailMessage message) -> message.getTo()[0].equals("quebrado@example.com")));
+
+        Instant before = Instant.now();
+        service.dispatchPending();
+
+        assertThat(broken.getStatus()).isEqualTo(EmailStatus.PENDING);
+        assertThat(broken.getAttempts()).isEqualTo(1);
+        assertThat(broken.getNextAttemptAt()).isAfter(before);
+        assertThat(broken.getLastError()).isEqualTo(IllegalStateException.class.getName());
+        assertThat(ok.getStatus()).isEqualTo(EmailStatus.SENT);
+        assertThat(ok.getAttempts()).isEqualTo(1);
+        verify(repository).save(broken);
+        verify(repository).save(ok);
+    }
+
+    @Test
+    void lastAttemptShouldMarkEmailAsFailed() {
+        OutboundEmail email = new OutboundEmail("quebrado@example.com", "Assunto", "Corpo", Instant.now());
+        email.setAttempts(1);
+        when(repository.findDue(any(), any(), any())).thenReturn(List.of(email));
+        doThrow(new NullPointerException("sem destinatário")).when(mailSender).send(any(SimpleMailMessage.class));
+
+        service.dispatchPending();
+
+        assertThat(email.getStatus()).isEqualTo(EmailStatus.FAILED);
+        assertThat(email.getAttempts()).isEqualTo(2);
+        assertThat(email.getLastError()).isEqualTo("sem destinatário");
+        verify(repository).save(email);
+    }
+}
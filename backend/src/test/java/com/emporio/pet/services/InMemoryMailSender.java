@@ -0,0 +1,52 @@
+package com.emporio.pet.services;
+
+import jakarta.mail.internet.MimeMessage;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Substituto do servidor SMTP nos testes (registrado por InMemoryMailConfig):
+ * guarda as mensagens enviadas em memória em vez de abrir conexão.
+ */
+public class InMemoryMailSender extends JavaMailSenderImpl {
+
+    private final List<SimpleMailMessage> sentMessages = new ArrayList<>();
+    private volatile RuntimeException failure;
+
+    @Override
+    protected void doSend(MimeMessage[] mimeMessages, Object[] originalMessages) {
+        RuntimeException current = failure;
+        if (current != null) {
+            throw current;
+        }
+        synchronized (sentMessages) {
+            for (Object original : originalMessages) {
+                if (original instanceof SimpleMailMessage message) {
+                    sentMessages.add(new SimpleMailMessage(message));
+                }
+            }
+        }
+    }
+
+    public List<SimpleMailMessage> getSentMessages() {
+        synchronized (sentMessages) {
+            return List.copyOf(sentMessages);
+        }
+    }
+
+    /**
+     * Faz os próximos envios falharem com a exceção informada (null volta ao normal).
+     */
+    public void setFailure(RuntimeException failure) {
+        this.failure = failure;
+    }
+
+    public void clear() {
+        synchronized (sentMessages) {
+            sentMessages.clear();
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.emporio.pet.services.scheduling;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Rodízio em ordem de id, inclusive com designações simultâneas.
+ */
+class RoundRobinAssignmentStrategyTest {
+
+    private final List<EmployeeLoad> candidates = List.of(load(3L), load(1L), load(2L));
+
+    @Test
+    void selectShouldRotateByIdAndWrapAround() {
+        RoundRobinAssignmentStrategy strategy = new RoundRobinAssignmentStrategy();
+
+        List<Long> chosen = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            chosen.add(strategy.select(candidates, 0, 60).getEmployeeId());
+        }
+
+        assertThat(chosen).containsExactly(1L, 2L, 3L, 1L, 2L);
+        assertThat(strategy.select(List.of(), 0, 60)).isNull();
+    }
+
+    @Test
+    void concurrentSelectionsShouldSplitAssignmentsEvenly() throws InterruptedException {
+        RoundRobinAssignmentStrategy strategy = new RoundRobinAssignmentStrategy();
+        int threads = 4;
+        int perThread = 30_000;
+        Map<Long, AtomicInteger> counts = new ConcurrentHashMap<>();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            Thread worker = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                for (int i = 0; i < perThread; i++) {
+                    long id = strategy.select(candidates, 0, 60).getEmployeeId();
+                    counts.computeIfAbsent(id, key -> new AtomicInteger()).incrementAndGet();
+                }
+            });
+            worker.start();
+            workers.add(worker);
+        }
+        start.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+
+        // Cada designação avança o rodízio exatamente uma vez: nenhum funcionário é escolhido duas vezes seguidas
+        int expected = threads * perThread / candidates.size();
+        assertThat(counts).containsOnlyKeys(1L, 2L, 3L);
+        assertThat(counts.values()).allSatisfy(count -> assertThat(count.get()).isEqualTo(expected));
+    }
+
+    private static EmployeeLoad load(Long employeeId) {
+        return new EmployeeLoad(employeeId, null, null);
+    }
+}
@@ -0,0 +1,149 @@
+package com.emporio.pet.services.search;
+
+import com.emporio.pet.services.search.CustomerSuggestIndex.Suggestion;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Ordenação, atualizações, intercalação e reconstrução da base e leitura concorrente do índice de autocompletar.
+ */
+class CustomerSuggestIndexTest {
+
+    @Test
+    void suggestShouldListLeadingMatchesBeforeWordStartsEachInAlphabeticalOrder() {
+        CustomerSuggestIndex index = new CustomerSuggestIndex();
+        index.load(() -> List.of(
+                customer(1L, "Ana Souza"),
+                customer(2L, "Souza Lima"),
+                customer(3L, "Carla Souto"),
+                customer(4L, "Sousa Neto"),
+                customer(5L, "Bruno Alves")));
+
+        assertThat(ids(index, "sou")).containsExactly(4L, 2L, 3L, 1L);
+        assertThat(ids(index, "souz")).containsExactly(2L, 1L);
+        assertThat(ids(index, "souza l")).containsExactly(2L);
+        assertThat(ids(index, "xyz")).isEmpty();
+        assertThat(ids(index, " ")).isEmpty();
+    }
+
+    @Test
+    void suggestShouldMatchCpfAndPhoneByDigitsAndRespectTheLimit() {
+        CustomerSuggestIndex index = new CustomerSuggestIndex();
+        index.put(new Suggestion(1L, "José", "111.222.333-44", "(71) 99999-0000"));
+        index.put(new Suggestion(2L, "Joana", "111.999.000-11", "(71) 98888-1111"));
+
+        assertThat(ids(index, "111")).containsExactly(1L, 2L);
+        assertThat(ids(index, "111.222")).containsExactly(1L);
+        assertThat(ids(index, "7198888")).containsExactly(2L);
+        assertThat(ids(index, "jose")).containsExactly(1L);
+        assertThat(index.suggest("jo", 1)).extracting(Suggestion::id).containsExactly(2L);
+    }
+
+    @Test
+    void putShouldReplaceThePreviousVersionOfACustomer() {
+        CustomerSuggestIndex index = new CustomerSuggestIndex();
+        index.load(() -> List.of(customer(1L, "Pedro Alves"), customer(2L, "Paula Alves")));
+
+        index.put(customer(1L, "Pedro Santos"));
+        index.put(customer(2L, "Paula Souza"));
+        index.put(customer(2L, "Paula Castro"));
+
+        assertThat(ids(index, "alves")).isEmpty();
+        assertThat(ids(index, "souza")).isEmpty();
+        assertThat(ids(index, "santos")).containsExactly(1L);
+        assertThat(index.suggest("paula", 10)).extracting(Suggestion::name).containsExactly("Paula Castro");
+        assertThat(ids(index, "p")).containsExactly(2L, 1L);
+        assertThat(index.size()).isEqualTo(2);
+    }
+
+    @Test
+    void mergesAndRebuildsShouldKeepOnlyTheCurrentVersions() {
+        CustomerSuggestIndex index = new CustomerSuggestIndex(8);
+        index.load(() -> List.of(customer(1000L, "Fixo")));
+
+        for (int round = 0; round < 20; round++) {
+            for (long id = 1; id <= 50; id++) {
+                index.put(customer(id, "Cliente " + id + " Rodada " + round));
+            }
+            // A camada é intercalada a cada poucas escritas; as versões substituídas acabam forçando reconstruções
+            assertThat(index.overlaySize()).isLessThan(8 * 3);
+        }
+
+        assertThat(index.size()).isEqualTo(51);
+        assertThat(index.suggest("rodada 19", 100)).hasSize(50);
+        assertThat(ids(index, "rodada 18")).isEmpty();
+        assertThat(ids(index, "cliente 7 ")).containsExactly(7L);
+        assertThat(ids(index, "fixo")).containsExactly(1000L);
+    }
+
+    @Test
+    void loadShouldReapplyWritesThatArriveWhileTheSourceIsRead() {
+        CustomerSuggestIndex index = new CustomerSuggestIndex();
+        index.put(customer(9L, "Antigo"));
+
+        index.load(() -> {
+            // Escrita confirmada enquanto a carga ainda lê o banco: a linha lida abaixo já está desatualizada
+            index.put(customer(1L, "Maria Nova"));
+            return List.of(customer(1L, "Maria Velha"), customer(2L, "Joao"));
+        });
+
+        assertThat(ids(index, "nova")).containsExactly(1L);
+        assertThat(ids(index, "velha")).isEmpty();
+        assertThat(ids(index, "antigo")).isEmpty();
+        assertThat(ids(index, "joao")).containsExactly(2L);
+        assertThat(index.size()).isEqualTo(2);
+    }
+
+    @Test
+    void readersShouldSeeEveryStableCustomerWhileWritesMergeAndReload() throws InterruptedException {
+        CustomerSuggestIndex index = new CustomerSuggestIndex(16);
+        List<Suggestion> stable = new ArrayList<>();
+        for (long id = 1; id <= 200; id++) {
+            stable.add(customer(id, "Estavel " + id));
+        }
+        index.load(List::of);
+        stable.forEach(index::put);
+
+        AtomicBoolean running = new AtomicBoolean(true);
+        AtomicReference<String> failure = new AtomicReference<>();
+        Thread reader = new Thread(() -> {
+            while (running.get() && failure.get() == null) {
+                int found = index.suggest("estavel", 500).size();
+                if (found != stable.size()) {
+                    failure.set("encontrados " + found);
+                }
+            }
+        });
+        reader.start();
+        try {
+            for (int round = 0; round < 200; round++) {
+                for (long id = 1001; id <= 1020; id++) {
+                    index.put(customer(id, "Rotativo " + id + " " + round));
+                }
+                if (round % 50 == 49) {
+                    index.load(() -> stable);
+                }
+            }
+        } finally {
+            running.set(false);
+            reader.join();
+        }
+
+        assertThat(failure.get()).isNull();
+        assertThat(index.suggest("estavel", 500)).hasSize(stable.size());
+    }
+
+    private static Suggestion customer(Long id, String name) {
+        return new Suggestion(id, name, null, null);
+    }
+
+    private static List<Long> ids(CustomerSuggestIndex index, String term) {
+        return index.suggest(term, 50).stream().map(Suggestion::id).toList();
+    }
+}
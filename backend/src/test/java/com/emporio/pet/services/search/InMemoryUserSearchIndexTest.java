@@ -0,0 +1,150 @@
+package com.emporio.pet.services.search;
+
+import com.emporio.pet.dto.UserSearchRow;
+import com.emporio.pet.entities.enums.UserStatus;
+import com.emporio.pet.repositories.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Ranking, filtros, paginação e manutenção (atualizações, recompactação e rebuild) do índice de trigramas.
+ */
+class InMemoryUserSearchIndexTest {
+
+    private static final Set<String> CLIENT = Set.of("ROLE_CLIENT");
+    private static final Set<String> EMPLOYEE = Set.of("ROLE_EMPLOYEE");
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final InMemoryUserSearchIndex index = new InMemoryUserSearchIndex(userRepository, new SimpleMeterRegistry());
+
+    @Test
+    void searchShouldRankKeyPrefixThenWordStartThenAnyPosition() {
+        put(1L, "ANA MARIANA", CLIENT);
+        put(2L, "MARIA SOUZA", CLIENT);
+        put(3L, "JOSE MARTINS", CLIENT);
+        put(4L, "MARIANA LIMA", CLIENT);
+        put(5L, "CAMARGO", CLIENT);
+
+        // Prefixo, início de palavra e qualquer posição; dentro da faixa, chave mais curta primeiro
+        assertThat(ids("mar")).containsExactly(2L, 4L, 1L, 3L, 5L);
+    }
+
+    @Test
+    void searchShouldIgnoreAccentsAndMatchDocumentsByDigits() {
+        put(1L, SearchText.key("José Antônio", "111.222.333-44", "(71) 99999-0000"), CLIENT);
+        put(2L, SearchText.key("Maria", "555.666.777-88", "(71) 98888-1111"), CLIENT);
+
+        assertThat(ids("ANTONIO")).containsExactly(1L);
+        assertThat(ids("222.333")).containsExactly(1L);
+        assertThat(ids("98888")).containsExactly(2L);
+        assertThat(ids("xyz")).isEmpty();
+    }
+
+    @Test
+    void termsShorterThanThreeCharactersShouldScanAllKeys() {
+        put(1L, "BIANCA", CLIENT);
+        put(2L, "ANA", CLIENT);
+        put(3L, "JOAO", CLIENT);
+        put(4L, "LUANA", CLIENT);
+
+        assertThat(ids("an")).containsExactly(2L, 4L, 1L);
+        assertThat(ids("a")).containsExactly(2L, 3L, 4L, 1L);
+    }
+
+    @Test
+    void searchShouldFilterByRoleAndStatus() {
+        put(1L, "CARLA", CLIENT);
+        put(2L, "CARLOS", EMPLOYEE);
+        index.put(new UserSearchEntry(3L, "CARLOTA", UserStatus.BLOCKED, CLIENT));
+
+        assertThat(index.search("carl", "ROLE_CLIENT", null, PageRequest.of(0, 10)).getContent()).containsExactly(1L, 3L);
+        assertThat(index.search("carl", "ROLE_EMPLOYEE", null, PageRequest.of(0, 10)).getContent()).containsExactly(2L);
+        assertThat(index.search("carl", "ROLE_CLIENT", UserStatus.BLOCKED, PageRequest.of(0, 10)).getContent()).containsExactly(3L);
+        assertThat(index.search("carl", null, null, PageRequest.of(0, 10)).getContent()).containsExactly(1L, 2L, 3L);
+    }
+
+    @Test
+    void pagesShouldCoverEveryMatchWithTheFullTotal() {
+        List<Long> expected = new ArrayList<>();
+        for (long id = 1; id <= 450; id++) {
+            put(id, "SILVA " + String.format("%04d", id), CLIENT);
+            expected.add(id);
+        }
+        put(1000L, "SOUZA", CLIENT);
+
+        List<Long> walked = new ArrayList<>();
+        for (int page = 0; page < 23; page++) {
+            Page<Long> result = index.search("silva", "ROLE_CLIENT", null, PageRequest.of(page, 20));
+            assertThat(result.getTotalElements()).isEqualTo(450);
+            walked.addAll(result.getContent());
+        }
+        assertThat(walked).isEqualTo(expected);
+        assertThat(index.search("silva", "ROLE_CLIENT", null, PageRequest.of(23, 20)).getContent()).isEmpty();
+    }
+
+    @Test
+    void updateShouldReplaceThePreviousKey() {
+        put(1L, "PEDRO ALVES", CLIENT);
+        put(1L, "PEDRO SANTOS", CLIENT);
+        index.put(new UserSearchEntry(2L, "PEDRO LIMA", UserStatus.NON_BLOCKED, CLIENT));
+        index.put(new UserSearchEntry(2L, "PEDRO LIMA", UserStatus.BLOCKED, CLIENT));
+
+        assertThat(ids("alves")).isEmpty();
+        assertThat(ids("santos")).containsExactly(1L);
+        assertThat(index.search("pedro", "ROLE_CLIENT", UserStatus.NON_BLOCKED, PageRequest.of(0, 10)).getContent()).containsExactly(1L);
+        assertThat(index.size()).isEqualTo(2);
+    }
+
+    @Test
+    void manyUpdatesShouldCompactWithoutLosingOrDuplicatingEntries() {
+        for (int round = 0; round < 500; round++) {
+            for (long id = 1; id <= 10; id++) {
+                put(id, "CLIENTE " + id + " RODADA " + round, CLIENT);
+            }
+        }
+
+        assertThat(index.size()).isEqualTo(10);
+        assertThat(index.search("rodada 499", "ROLE_CLIENT", null, PageRequest.of(0, 20)).getTotalElements()).isEqualTo(10);
+        assertThat(ids("rodada 498")).isEmpty();
+        assertThat(ids("cliente 7 ")).containsExactly(7L);
+    }
+
+    @Test
+    void rebuildShouldLoadRowsAndKeepWritesThatArriveDuringTheLoad() {
+        put(9L, "ANTIGO", CLIENT);
+        when(userRepository.findSearchRows()).thenAnswer(invocation -> {
+            // Escrita confirmada enquanto o rebuild ainda lê o banco: a linha lida abaixo já está desatualizada
+            put(1L, "MARIA NOVA", CLIENT);
+            return List.of(
+                    new UserSearchRow(1L, "MARIA VELHA", UserStatus.NON_BLOCKED, "ROLE_CLIENT"),
+                    new UserSearchRow(2L, "JOAO", UserStatus.NON_BLOCKED, "ROLE_CLIENT"),
+                    new UserSearchRow(2L, "JOAO", UserStatus.NON_BLOCKED, "ROLE_EMPLOYEE"));
+        });
+
+        index.rebuild();
+
+        assertThat(ids("nova")).containsExactly(1L);
+        assertThat(ids("velha")).isEmpty();
+        assertThat(ids("antigo")).isEmpty();
+        assertThat(index.search("joao", "ROLE_EMPLOYEE", null, PageRequest.of(0, 10)).getContent()).containsExactly(2L);
+        assertThat(index.size()).isEqualTo(2);
+    }
+
+    private void put(Long id, String searchKey, Set<String> roles) {
+        index.put(new UserSearchEntry(id, searchKey, UserStatus.NON_BLOCKED, roles));
+    }
+
+    private List<Long> ids(String term) {
+        return index.search(term, "ROLE_CLIENT", null, PageRequest.of(0, 50)).getContent();
+    }
+}
@@ -12,7 +12,7 @@ export interface Appointment {
   status: AppointmentStatus;
   pet: Pet;
   service: Service;
-  employee: User;
+  employee: Pick<User, 'id' | 'name' | 'jobTitle'>;
   review?: Review;
   invoiceId?: number;
   invoiceStatus?: InvoiceStatus;